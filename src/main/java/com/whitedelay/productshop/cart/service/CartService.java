@@ -6,10 +6,13 @@ import com.whitedelay.productshop.cart.dto.CartRequestDto;
 import com.whitedelay.productshop.cart.entity.Cart;
 import com.whitedelay.productshop.cart.repository.CartRepository;
 import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.product.dto.ProductPricingRequestDto;
+import com.whitedelay.productshop.product.dto.ProductPricingResponseDto;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductOption;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
+import com.whitedelay.productshop.product.service.ProductPricingService;
 import com.whitedelay.productshop.util.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +31,7 @@ public class CartService {
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
     private final ProductOptionRepository productOptionRepository;
+    private final ProductPricingService productPricingService;
 
     @Transactional
     public CartInfoResponseDto createCart(Member member, Long productId, Long productOptionId, int quantity) {
@@ -72,18 +76,21 @@ public class CartService {
     public CartAllInfoResponseDto getCartAllInfo(Member member) {
         List<Cart> cartList = cartRepository.findByMemberMemberId(member.getMemberId());
 
-        List<CartInfoResponseDto> cartInfoResponseDtoList = cartList.stream().map(cart -> {
-            Product product = cart.getProduct();
-            ProductOption productOption = productOptionRepository.findById(cart.getCartProductOptionId())
-                        .orElseThrow(() -> new IllegalArgumentException("찾는 상품 옵션이 없습니다."));
+        // 장바구니 상품의 상품/옵션을 한 번에 조회해 가격 계산(프록시의 상품 아이디는 지연 로딩 없이 읽음)
+        ProductPricingResponseDto pricing = productPricingService.price(cartList.stream()
+                .map(cart -> new ProductPricingRequestDto(cart.getProduct().getProductId(), cart.getCartProductOptionId(), cart.getCartProductQuantity()))
+                .toList());
 
-            int productTotalPrice = (product.getProductPrice() + productOption.getProductOptionPrice()) * cart.getCartProductQuantity();
-            return CartInfoResponseDto.from(product.getProductId(), product.getProductTitle(), product.getProductPrice(), cart.getCartProductQuantity(), productOption, productTotalPrice);
-        }).collect(Collectors.toList());
-
-        int totalPrice = cartInfoResponseDtoList.stream()
-                .mapToInt(CartInfoResponseDto::getProductTotalPrice)
-                .sum();
+        List<CartInfoResponseDto> cartInfoResponseDtoList = pricing.getPricedProducts().stream()
+                .map(priced -> CartInfoResponseDto.from(
+                        priced.getProduct().getProductId(),
+                        priced.getProduct().getProductTitle(),
+                        priced.getProduct().getProductPrice(),
+                        priced.getQuantity(),
+                        priced.getProductOption(),
+                        priced.getProductTotalPrice()))
+                .collect(Collectors.toList());
+        int totalPrice = pricing.getProductTotalPrice();
 
         return CartAllInfoResponseDto.from(cartInfoResponseDtoList, totalPrice);
     }
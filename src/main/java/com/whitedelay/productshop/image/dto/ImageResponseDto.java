@@ -3,9 +3,11 @@ package com.whitedelay.productshop.image.dto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Builder
 @Getter
+@NoArgsConstructor
 @AllArgsConstructor
 public class ImageResponseDto {
     String uploadImageUrl;
@@ -12,6 +12,9 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_image_table_id", columnList = "image_table, image_table_id")
+})
 public class Image extends Timestamped {
 
     @Id
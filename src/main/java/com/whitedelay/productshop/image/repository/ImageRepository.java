@@ -4,7 +4,10 @@ import com.whitedelay.productshop.image.entity.Image;
 import com.whitedelay.productshop.image.entity.ImageTableEnum;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,12 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
     Optional<Image> findFirstByImageTableAndImageTableId(ImageTableEnum imageTable,
                                                          Long imageTableId, PageRequest pageRequest);
 
+    // 대상별 대표 이미지(가장 먼저 등록된 이미지)를 한 번에 조회
+    @Query("SELECT i FROM Image i WHERE i.imageId IN (" +
+            "SELECT MIN(i2.imageId) FROM Image i2 " +
+            "WHERE i2.imageTable = :imageTable AND i2.imageTableId IN :imageTableIds " +
+            "GROUP BY i2.imageTableId)")
+    List<Image> findFirstImagesByImageTableIds(@Param("imageTable") ImageTableEnum imageTable,
+                                            @Param("imageTableIds") Collection<Long> imageTableIds);
+
 }
@@ -3,12 +3,15 @@ package com.whitedelay.productshop.image.service;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.whitedelay.productshop.image.dto.ImageRequestDto;
 import com.whitedelay.productshop.image.dto.ImageResponseDto;
 import com.whitedelay.productshop.image.dto.ImageInfoRequestDto;
 import com.whitedelay.productshop.image.entity.Image;
 import com.whitedelay.productshop.image.entity.ImageTableEnum;
 import com.whitedelay.productshop.image.repository.ImageRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,8 +23,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,6 +38,24 @@ public class ImageService {
     @Value("${AWS_S3_BUCKET}")
     private String bucket;
 
+    @Value("${IMAGE_CACHE_MAX_SIZE:10000}")
+    private long imageCacheMaxSize;
+
+    @Value("${IMAGE_CACHE_TTL_SECONDS:600}")
+    private long imageCacheTtlSeconds;
+
+    // 대표 이미지 캐시("이미지 테이블:대상 아이디" → 대표 이미지)
+    // 대표 이미지는 가장 먼저 등록된 이미지라 이미지를 추가해도 바뀌지 않으며, 이미지가 없는 대상은 캐시하지 않음
+    private Cache<String, ImageResponseDto> firstImageCache;
+
+    @PostConstruct
+    public void initCache() {
+        firstImageCache = Caffeine.newBuilder()
+                .maximumSize(imageCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(imageCacheTtlSeconds))
+                .build();
+    }
+
     @Transactional
     public ImageResponseDto uploadSingleImage(ImageInfoRequestDto imageInfoRequestDto, MultipartFile multipartFile) throws IOException {
         String originalFileName = multipartFile.getOriginalFilename(); // 파일 이름에서 공백 제거한 새로운 파일이름 생성
@@ -110,11 +131,56 @@ public class ImageService {
     }
 
     public ImageResponseDto findImageResponse(ImageTableEnum imageTableEnum, Long productId) {
-        return imageRepository.findFirstByImageTableAndImageTableId(imageTableEnum, productId, PageRequest.of(0, 1))
-                .map(image -> ImageResponseDto.builder()
-                        .uploadImageUrl(image.getImageUrl())
-                        .fileName(image.getImageFileName())
-                        .build())
+        ImageResponseDto cached = firstImageCache.getIfPresent(getFirstImageCacheKey(imageTableEnum, productId));
+        if (cached != null) {
+            return cached;
+        }
+        ImageResponseDto imageResponse = imageRepository.findFirstByImageTableAndImageTableId(imageTableEnum, productId, PageRequest.of(0, 1))
+                .map(this::toImageResponse)
                 .orElseThrow(() -> new IllegalArgumentException("이미지를 찾을 수 없습니다."));
+        firstImageCache.put(getFirstImageCacheKey(imageTableEnum, productId), imageResponse);
+        return imageResponse;
+    }
+
+    /**
+     * 여러 대상의 대표 이미지 조회(목록 조회용)
+     * 캐시에 없는 대상만 IN 쿼리 한 번으로 조회하므로, 대상 수와 관계없이 쿼리는 최대 한 번
+     * @return 대상 아이디별 대표 이미지
+     */
+    public Map<Long, ImageResponseDto> findImageResponses(ImageTableEnum imageTableEnum, Collection<Long> imageTableIds) {
+        Map<Long, ImageResponseDto> imageResponses = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long imageTableId : imageTableIds) {
+            ImageResponseDto cached = firstImageCache.getIfPresent(getFirstImageCacheKey(imageTableEnum, imageTableId));
+            if (cached != null) {
+                imageResponses.put(imageTableId, cached);
+            } else {
+                missingIds.add(imageTableId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            for (Image image : imageRepository.findFirstImagesByImageTableIds(imageTableEnum, missingIds)) {
+                ImageResponseDto imageResponse = toImageResponse(image);
+                firstImageCache.put(getFirstImageCacheKey(imageTableEnum, image.getImageTableId()), imageResponse);
+                imageResponses.put(image.getImageTableId(), imageResponse);
+            }
+        }
+
+        if (!imageResponses.keySet().containsAll(imageTableIds)) {
+            throw new IllegalArgumentException("이미지를 찾을 수 없습니다.");
+        }
+        return imageResponses;
+    }
+
+    private String getFirstImageCacheKey(ImageTableEnum imageTableEnum, Long imageTableId) {
+        return imageTableEnum.name() + ":" + imageTableId;
+    }
+
+    private ImageResponseDto toImageResponse(Image image) {
+        return ImageResponseDto.builder()
+                .uploadImageUrl(image.getImageUrl())
+                .fileName(image.getImageFileName())
+                .build();
     }
 }
@@ -0,0 +1,42 @@
+package com.whitedelay.productshop.order.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문/주문 상품 채번 테이블 초기화
+ * 기존 AUTO_INCREMENT로 발급된 ID와 겹치지 않도록 채번 값을 현재 최대 ID 이후로 맞춤
+ * (스키마 생성이 끝난 뒤 실행되도록 entityManagerFactory 이후에 초기화)
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class OrderIdGeneratorInitializer {
+
+    // Order, OrderProduct의 @TableGenerator allocationSize와 같아야 함
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_generator (id_name VARCHAR(255) NOT NULL PRIMARY KEY, next_val BIGINT)");
+        seed("order", "`order`", "order_id");
+        seed("order_product", "order_product", "order_product_id");
+    }
+
+    private void seed(String idName, String tableName, String idColumn) {
+        // 이미 채번 값이 더 크면 유지(여러 노드가 동시에 실행해도 값이 줄어들지 않음)
+        jdbcTemplate.update(
+                "INSERT INTO id_generator (id_name, next_val) " +
+                "SELECT ?, COALESCE(MAX(" + idColumn + "), 0) + 1 + ? FROM " + tableName + " " +
+                "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                idName, ALLOCATION_SIZE);
+        log.info("채번 테이블 초기화: {}", idName);
+    }
+}
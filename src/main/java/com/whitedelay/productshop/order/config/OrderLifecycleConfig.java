@@ -0,0 +1,18 @@
+package com.whitedelay.productshop.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class OrderLifecycleConfig {
+
+    // 주문 상태 일괄 전이의 파티션 병렬 처리용 스레드 풀(전이마다 새로 만들지 않고 공유, 종료 시 shutdown)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService orderLifecycleExecutor(@Value("${ORDER_LIFECYCLE_PARTITIONS:4}") int partitions) {
+        return Executors.newFixedThreadPool(Math.max(1, partitions));
+    }
+}
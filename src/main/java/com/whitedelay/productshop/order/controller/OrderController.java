@@ -8,6 +8,7 @@ import com.whitedelay.productshop.order.dto.OrderProductAllInfoRequestDto;
 import com.whitedelay.productshop.order.dto.OrderProductAllInfoResponseDto;
 import com.whitedelay.productshop.order.dto.OrderProductPayRequestDto;
 import com.whitedelay.productshop.order.dto.OrderProductPayResponseDto;
+import com.whitedelay.productshop.order.dto.OrderTicketResponseDto;
 import com.whitedelay.productshop.order.service.OrderService;
 import com.whitedelay.productshop.security.UserDetails.UserDetailsImpl;
 import com.whitedelay.productshop.util.ApiResponse;
@@ -39,21 +40,52 @@ public class OrderController {
         return ApiResponse.createSuccess(orderService.getOrderProductAllInfo(userDetails.getMember(), orderProductAllInfoRequestDto));
     }
 
+    /**
+     * POST
+     * 결제확인 및 결제 전까지 재고 보류
+     * @param userDetails security의 회원 정보
+     * @param orderProductAllInfoRequestDto 주문 상품 요청 객체
+     * @return 회원의 상품 주문 정보 객체 DTO(응답의 holdId로 결제)
+     */
+    @PostMapping(BASE_ORDER + "/hold")
+    public ApiResponse<OrderProductAllInfoResponseDto> createOrderProductHold(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestBody OrderProductAllInfoRequestDto orderProductAllInfoRequestDto
+        ) {
+        return ApiResponse.createSuccess(orderService.getOrderProductAllInfo(userDetails.getMember(), orderProductAllInfoRequestDto, true));
+    }
+
     /**
      * POST
      * 상품 주문
      * @param userDetails security의 회원 정보
      * @param orderProductPayRequestDto 주문 객체
+     * @param idempotencyKey 재시도 시 같은 값을 보내면 처음 요청의 결과를 반환(선택)
      * @return 결제 성공/실패 결과 객체 DTO
      */
     @PostMapping(BASE_ORDER + "/pay")
     public ApiResponse<OrderProductPayResponseDto> createOrderProductPay(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
-            @RequestBody OrderProductPayRequestDto orderProductPayRequestDto
+            @RequestBody OrderProductPayRequestDto orderProductPayRequestDto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
         ) {
-        return ApiResponse.createSuccess(orderService.createOrderProductPay(userDetails.getMember(), orderProductPayRequestDto));
+        return ApiResponse.createSuccess(orderService.createOrderProductPay(userDetails.getMember(), orderProductPayRequestDto, idempotencyKey));
     }
 
+    /**
+     * GET
+     * 주문 접수 결과 조회
+     * @param userDetails security의 회원 정보
+     * @param ticketId 결제 응답의 주문 접수 티켓 아이디
+     * @return 주문 저장 상태(PENDING/PERSISTED/FAILED)와 주문 아이디 DTO
+     */
+    @GetMapping(BASE_ORDER + "/ticket/{ticketId}")
+    public ApiResponse<OrderTicketResponseDto> getOrderTicket(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String ticketId
+        ) {
+        return ApiResponse.createSuccess(orderService.getOrderTicket(userDetails.getMember(), ticketId));
+    }
 
     /**
      * GET
@@ -10,4 +10,12 @@ public class DetuctedProductInfo {
     private Long productId;
     private Long productOptionId;
     private int productOptionStock;
+
+    public static DetuctedProductInfo from(OrderProductResponseDto orderProduct) {
+        return DetuctedProductInfo.builder()
+                .productId(orderProduct.getProductId())
+                .productOptionId(orderProduct.getProductOptionId())
+                .productOptionStock(orderProduct.getQuantity())
+                .build();
+    }
 }
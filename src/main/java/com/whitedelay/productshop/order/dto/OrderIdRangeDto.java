@@ -0,0 +1,12 @@
+package com.whitedelay.productshop.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 상태 전이 대상 주문의 ID 범위(파티션 분할에 사용, 대상이 없으면 둘 다 null)
+@Getter
+@AllArgsConstructor
+public class OrderIdRangeDto {
+    private Long minOrderId;
+    private Long maxOrderId;
+}
@@ -0,0 +1,26 @@
+package com.whitedelay.productshop.order.dto;
+
+import com.whitedelay.productshop.member.entity.Member;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 주문 저장 스트림에 적재되는 주문 메시지
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIngestMessageDto {
+    private Long memberId;
+    private OrderProductPayRequestDto orderProductPayRequestDto;
+    private String ticketId; // 주문 접수 티켓(저장 결과 기록용)
+
+    public static OrderIngestMessageDto from(Member member, OrderProductPayRequestDto orderProductPayRequestDto, String ticketId) {
+        return OrderIngestMessageDto.builder()
+                .memberId(member.getId())
+                .orderProductPayRequestDto(orderProductPayRequestDto)
+                .ticketId(ticketId)
+                .build();
+    }
+}
@@ -13,4 +13,6 @@ import java.util.List;
 public class OrderProductAllInfoRequestDto {
     private List<OrderProductInfoRequestDto> orderProducts;
 
+    // 판매 대기열 상품의 재고를 보류할 때 필요한 입장 토큰
+    private String admissionToken;
 }
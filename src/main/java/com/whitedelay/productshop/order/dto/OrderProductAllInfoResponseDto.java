@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -28,13 +29,18 @@ public class OrderProductAllInfoResponseDto {
     private int orderShippingFee;
     private int orderPrice; // 총금액
 
+    // 재고 보류(보류 요청 시에만 값이 있음)
+    private String holdId;
+    private LocalDateTime holdExpiresAt;
+
     public static OrderProductAllInfoResponseDto from(
             Member member,
             AES256Encoder aes256Encoder,
             List<OrderProductResponseDto> orderProducts,
             int productTotalPrice,
             int orderShippingFee,
-            int orderPrice
+            int orderPrice,
+            StockHoldDto stockHold
             ) {
         return OrderProductAllInfoResponseDto.builder()
                 .orderMemberName(aes256Encoder.decodeString(member.getMemberName()))
@@ -45,6 +51,8 @@ public class OrderProductAllInfoResponseDto {
                 .productTotalPrice(productTotalPrice)
                 .orderShippingFee(orderShippingFee)
                 .orderPrice(orderPrice)
+                .holdId(stockHold == null ? null : stockHold.getHoldId())
+                .holdExpiresAt(stockHold == null ? null : stockHold.getHoldExpiresAt())
                 .build();
     }
 }
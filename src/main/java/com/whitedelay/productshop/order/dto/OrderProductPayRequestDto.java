@@ -29,4 +29,10 @@ public class OrderProductPayRequestDto {
     private int productTotalPrice;
     private int orderShippingFee;
     private int orderPrice; // 총금액
+
+    // 주문 정보 조회 시 재고를 보류했다면 보류 아이디(재고를 다시 차감하지 않음)
+    private String holdId;
+
+    // 판매 대기열 상품이면 대기열에서 발급받은 입장 토큰
+    private String admissionToken;
 }
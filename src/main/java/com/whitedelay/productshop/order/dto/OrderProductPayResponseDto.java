@@ -1,28 +1,35 @@
 package com.whitedelay.productshop.order.dto;
 
 import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrderProductPayResponseDto {
     private int productTotalPrice;
     private int orderShippingFee;
     private int orderPrice;
     private OrderStatusEnum paymentStatus; // 결제 상태 추가
+    private String ticketId; // 주문 접수 티켓(/order/ticket/{ticketId}로 주문 저장 결과 확인)
 
     public static OrderProductPayResponseDto from(
             int productTotalPrice,
             int orderShippingFee,
             int orderPrice,
-            OrderStatusEnum paymentStatus
+            OrderStatusEnum paymentStatus,
+            String ticketId
     ) {
         return OrderProductPayResponseDto.builder()
                 .productTotalPrice(productTotalPrice)
                 .orderShippingFee(orderShippingFee)
                 .orderPrice(orderPrice)
                 .paymentStatus(paymentStatus)
+                .ticketId(ticketId)
                 .build();
     }
 }
@@ -0,0 +1,13 @@
+package com.whitedelay.productshop.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 여러 주문의 주문 상품 수량을 상품 옵션별로 합산한 결과(반품 재고 복원에 사용)
+@Getter
+@AllArgsConstructor
+public class OrderProductQuantityDto {
+    private Long productId;
+    private Long productOptionId;
+    private Long quantity;
+}
@@ -0,0 +1,13 @@
+package com.whitedelay.productshop.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 주문 목록 조회용 주문별 대표 상품명과 주문 상품 수
+@Getter
+@AllArgsConstructor
+public class OrderProductSummaryDto {
+    private Long orderId;
+    private String productTitle;
+    private Long orderProductCount;
+}
@@ -31,6 +31,8 @@ public class OrderRequestDto {
 
     private Member member;
 
+    private String orderTicketId; // 주문 접수 티켓(중복 저장 방지)
+
     public static OrderRequestDto from(
         OrderProductPayRequestDto requestDto,
         OrderStatusEnum orderStatus,
@@ -0,0 +1,14 @@
+package com.whitedelay.productshop.order.dto;
+
+import com.whitedelay.productshop.order.entity.OrderTicketStatusEnum;
+import lombok.Builder;
+import lombok.Getter;
+
+// 주문 접수 티켓 상태
+@Getter
+@Builder
+public class OrderTicketResponseDto {
+    private String ticketId;
+    private OrderTicketStatusEnum status;
+    private Long orderId; // 주문 저장 완료 전에는 null
+}
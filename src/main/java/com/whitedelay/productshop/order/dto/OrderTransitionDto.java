@@ -0,0 +1,16 @@
+package com.whitedelay.productshop.order.dto;
+
+import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 주문 상태 전이 예약에 필요한 주문 정보
+@Getter
+@AllArgsConstructor
+public class OrderTransitionDto {
+    private Long orderId;
+    private OrderStatusEnum orderStatus;
+    private LocalDateTime orderDate;
+}
@@ -0,0 +1,14 @@
+package com.whitedelay.productshop.order.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 결제 전 재고 보류 정보
+@Getter
+@Builder
+public class StockHoldDto {
+    private String holdId;
+    private LocalDateTime holdExpiresAt;
+}
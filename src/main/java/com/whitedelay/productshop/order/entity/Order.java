@@ -12,12 +12,27 @@ import java.time.LocalDateTime;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "`order`")
+@Table(name = "`order`", indexes = {
+        // 주문 상태 전이(OrderStatusUpdateService)에서 상태별 기간 조회에 사용
+        @Index(name = "idx_order_status_date", columnList = "order_status, order_date")
+}, uniqueConstraints = {
+        // 주문 저장 스트림에서 같은 메시지를 다시 처리해도 주문이 한 번만 저장되도록 함
+        @UniqueConstraint(name = "uk_order_ticket_id", columnNames = "order_ticket_id")
+})
 public class Order extends Timestamped {
 
     // Order시 처음에 백엔드에서 넣어줘야 하는 값
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼지므로 테이블 기반 pooled 채번 사용
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+    @TableGenerator(
+            name = "order_id_generator",
+            table = "id_generator",
+            pkColumnName = "id_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "order",
+            allocationSize = 50
+    )
     private Long orderId;
 
     @Column(nullable = false)
@@ -54,6 +69,9 @@ public class Order extends Timestamped {
     @Column(nullable = false)
     private String orderReq;
 
+    // 주문 접수 티켓 아이디(주문 저장 스트림으로 저장된 주문만 있음)
+    private String orderTicketId;
+
     // 결제한 아이디
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="member_id", nullable = false)
@@ -71,6 +89,7 @@ public class Order extends Timestamped {
                 .orderAddress(order.getOrderAddress())
                 .orderPhone(order.getOrderPhone())
                 .orderReq(order.getOrderReq())
+                .orderTicketId(order.getOrderTicketId())
                 .member(order.getMember())
                 .build();
     }
@@ -14,7 +14,16 @@ import lombok.*;
 public class OrderProduct extends Timestamped {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼지므로 테이블 기반 pooled 채번 사용
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_product_id_generator")
+    @TableGenerator(
+            name = "order_product_id_generator",
+            table = "id_generator",
+            pkColumnName = "id_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "order_product",
+            allocationSize = 50
+    )
     private Long orderProductId;
 
     @Column(nullable = false)
@@ -0,0 +1,8 @@
+package com.whitedelay.productshop.order.entity;
+
+// 주문 접수 티켓 상태(Redis에만 저장)
+public enum OrderTicketStatusEnum {
+    PENDING, // 주문 저장 대기
+    PERSISTED, // 주문 저장 완료(orderId 확인 가능)
+    FAILED // 주문 저장 최종 실패(차감했던 재고는 복원됨)
+}
@@ -1,10 +1,13 @@
 package com.whitedelay.productshop.order.repository;
 
+import com.whitedelay.productshop.order.dto.OrderProductQuantityDto;
+import com.whitedelay.productshop.order.dto.OrderProductSummaryDto;
 import com.whitedelay.productshop.order.entity.OrderProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
@@ -12,4 +15,21 @@ public interface OrderProductRepository extends JpaRepository<OrderProduct, Long
     @Query("SELECT op FROM OrderProduct op WHERE op.order.orderId = :orderId")
     List<OrderProduct> findByOrderOrderId(@Param("orderId") Long orderId);
 
+    // 주문 상품과 상품을 조인 한 번으로 함께 조회
+    @Query("SELECT op FROM OrderProduct op JOIN FETCH op.product WHERE op.order.orderId = :orderId")
+    List<OrderProduct> findWithProductByOrderOrderId(@Param("orderId") Long orderId);
+
+    // 여러 주문의 주문 상품 수량을 상품 옵션별로 합산
+    @Query("SELECT new com.whitedelay.productshop.order.dto.OrderProductQuantityDto(op.product.productId, op.orderProductOptionId, SUM(op.orderProductQuantity)) " +
+            "FROM OrderProduct op WHERE op.order.orderId IN :orderIds GROUP BY op.product.productId, op.orderProductOptionId")
+    List<OrderProductQuantityDto> sumQuantitiesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // 여러 주문의 대표 상품명(가장 먼저 저장된 주문 상품의 상품명)과 주문 상품 수를 한 번에 조회
+    @Query("SELECT new com.whitedelay.productshop.order.dto.OrderProductSummaryDto(op.order.orderId, p.productTitle, " +
+            "(SELECT COUNT(op2) FROM OrderProduct op2 WHERE op2.order.orderId = op.order.orderId)) " +
+            "FROM OrderProduct op JOIN op.product p " +
+            "WHERE op.order.orderId IN :orderIds AND op.orderProductId = " +
+            "(SELECT MIN(op3.orderProductId) FROM OrderProduct op3 WHERE op3.order.orderId = op.order.orderId)")
+    List<OrderProductSummaryDto> findSummariesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
 }
@@ -1,10 +1,21 @@
 package com.whitedelay.productshop.order.repository;
 
+import com.whitedelay.productshop.order.dto.OrderIdRangeDto;
+import com.whitedelay.productshop.order.dto.OrderTransitionDto;
 import com.whitedelay.productshop.order.entity.Order;
+import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -20,4 +31,44 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByMemberMemberId(String memberId, Pageable pageable);
 
     Optional<Order> findByMemberMemberIdAndOrderId(String memberId, Long orderId);
+
+    Optional<Order> findByOrderTicketId(String orderTicketId);
+
+    // 아래 상태 전이 쿼리는 (order_status, order_date) 인덱스를 사용
+    @Query("SELECT new com.whitedelay.productshop.order.dto.OrderIdRangeDto(MIN(o.orderId), MAX(o.orderId)) " +
+            "FROM Order o WHERE o.orderStatus = :orderStatus AND o.orderDate < :orderDate")
+    OrderIdRangeDto findIdRangeByOrderStatusAndOrderDateBefore(@Param("orderStatus") OrderStatusEnum orderStatus, @Param("orderDate") LocalDateTime orderDate);
+
+    // 주문 ID 범위 안에서 키셋 페이지 조회(lastOrderId 초과, maxOrderId 이하)
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderStatus = :orderStatus AND o.orderDate < :orderDate " +
+            "AND o.orderId > :lastOrderId AND o.orderId <= :maxOrderId ORDER BY o.orderId")
+    List<Long> findIdsByOrderStatusAndOrderDateBefore(
+            @Param("orderStatus") OrderStatusEnum orderStatus,
+            @Param("orderDate") LocalDateTime orderDate,
+            @Param("lastOrderId") Long lastOrderId,
+            @Param("maxOrderId") Long maxOrderId,
+            Pageable pageable);
+
+    // 아직 해당 상태인 주문만 잠금(재고 복원과 상태 변경 대상을 맞추기 위해 사용)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderId IN :orderIds AND o.orderStatus = :orderStatus")
+    List<Long> findIdsForUpdate(@Param("orderIds") Collection<Long> orderIds, @Param("orderStatus") OrderStatusEnum orderStatus);
+
+    // 상태 전이 예약 적재(backfill)용 키셋 페이지 조회
+    @Query("SELECT new com.whitedelay.productshop.order.dto.OrderTransitionDto(o.orderId, o.orderStatus, o.orderDate) " +
+            "FROM Order o WHERE o.orderStatus IN :orderStatuses AND o.orderId > :lastOrderId ORDER BY o.orderId")
+    List<OrderTransitionDto> findTransitionsAfter(
+            @Param("orderStatuses") Collection<OrderStatusEnum> orderStatuses,
+            @Param("lastOrderId") Long lastOrderId,
+            Pageable pageable);
+
+    // 벌크 UPDATE는 Auditing이 적용되지 않으므로 updatedAt(반품 가능 기간 기준)을 직접 갱신
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :toStatus, o.updatedAt = :updatedAt " +
+            "WHERE o.orderId IN :orderIds AND o.orderStatus = :fromStatus")
+    int updateOrderStatus(
+            @Param("orderIds") Collection<Long> orderIds,
+            @Param("fromStatus") OrderStatusEnum fromStatus,
+            @Param("toStatus") OrderStatusEnum toStatus,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,160 @@
+package com.whitedelay.productshop.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.OrderProductPayRequestDto;
+import com.whitedelay.productshop.order.dto.OrderProductPayResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+/**
+ * 결제 요청 멱등성 처리(Idempotency-Key)
+ * 같은 회원의 같은 키로 들어온 결제 요청은 처음 한 번만 실행하고, 결과를 Redis에 TTL과 함께 저장해 재시도 요청에 그대로 반환함
+ * 처리 중인 요청과 같은 키로 동시에 들어온 요청은 처음 요청의 결과를 기다리며, 처음 요청이 실패하면 키를 지워 재시도할 수 있게 함
+ * 저장 값은 "요청 해시|PENDING" 또는 "요청 해시|응답 JSON" 형태이며, 같은 키로 다른 요청이 들어오면 거절함
+ * 처리 중 표시는 결제가 끝날 때까지 유지 시간의 1/3마다 연장하므로 결제가 오래 걸려도 만료되지 않고,
+ * 처리하던 노드가 종료된 경우에만 유지 시간(IDEMPOTENCY_PENDING_TTL_SECONDS) 뒤 만료되어 재시도할 수 있게 됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIdempotencyService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${IDEMPOTENCY_TTL_SECONDS:86400}")
+    private long resultTtlSeconds;
+
+    @Value("${IDEMPOTENCY_PENDING_TTL_SECONDS:30}")
+    private long pendingTtlSeconds;
+
+    @Value("${IDEMPOTENCY_WAIT_MS:5000}")
+    private long waitMs;
+
+    private static final String PENDING = "PENDING";
+    private static final long POLL_INTERVAL_MS = 50;
+
+    // 처리 중 표시가 그대로일 때만 연장(결과 저장 후나 실패로 키를 지운 뒤에는 연장하지 않음)
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(new ClassPathResource("redis/renew-idempotency.lua"), Long.class);
+
+    private String getIdempotencyKey(Member member, String idempotencyKey) {
+        return productNamespace + ":idempotency:" + member.getId() + ":" + idempotencyKey;
+    }
+
+    /**
+     * 멱등성 키 기준으로 결제 실행
+     * @param idempotencyKey 클라이언트가 보낸 Idempotency-Key(없으면 그냥 실행)
+     * @param payment 실제 결제 처리
+     * @return 처음 요청의 결제 결과
+     */
+    public OrderProductPayResponseDto execute(Member member, String idempotencyKey, OrderProductPayRequestDto orderProductPayRequestDto, Supplier<OrderProductPayResponseDto> payment) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return payment.get();
+        }
+
+        String key = getIdempotencyKey(member, idempotencyKey);
+        String requestHash = hash(orderProductPayRequestDto);
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (true) {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, requestHash + "|" + PENDING, Duration.ofSeconds(pendingTtlSeconds));
+            if (Boolean.TRUE.equals(acquired)) {
+                return executeFirst(key, requestHash, payment);
+            }
+
+            String stored = redisTemplate.opsForValue().get(key);
+            if (stored != null) {
+                int separator = stored.indexOf('|');
+                if (!requestHash.equals(stored.substring(0, separator))) {
+                    throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "같은 멱등성 키로 다른 주문 요청을 보낼 수 없습니다.");
+                }
+                String result = stored.substring(separator + 1);
+                if (!PENDING.equals(result)) {
+                    return readResponse(result);
+                }
+            }
+            // 처음 요청이 처리 중이면 결과를 기다리고, 실패해서 키가 지워졌다면 다시 실행을 시도함
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 주문 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 주문 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+        }
+    }
+
+    private OrderProductPayResponseDto executeFirst(String key, String requestHash, Supplier<OrderProductPayResponseDto> payment) {
+        // 결제하는 동안 처리 중 표시가 만료되어 같은 키의 재시도가 다시 결제하지 않도록 주기적으로 연장
+        long pendingTtlMs = Duration.ofSeconds(pendingTtlSeconds).toMillis();
+        ScheduledFuture<?> renewal = taskScheduler.scheduleAtFixedRate(
+                () -> renewPending(key, requestHash + "|" + PENDING, pendingTtlMs),
+                Duration.ofMillis(Math.max(pendingTtlMs / 3, 1L)));
+
+        OrderProductPayResponseDto response;
+        try {
+            response = payment.get();
+        } catch (RuntimeException e) {
+            // 실패한 요청은 결과를 저장하지 않고 키를 지워 재시도할 수 있게 함
+            redisTemplate.delete(key);
+            throw e;
+        } finally {
+            renewal.cancel(false);
+        }
+
+        try {
+            redisTemplate.opsForValue().set(key, requestHash + "|" + objectMapper.writeValueAsString(response), Duration.ofSeconds(resultTtlSeconds));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 결제는 이미 끝났으므로 결과 저장 실패는 응답에 영향을 주지 않음(처리 중 표시는 TTL 후 만료됨)
+            log.error("결제 결과 저장 실패: key={}, e={}", key, e.toString());
+        }
+        return response;
+    }
+
+    private void renewPending(String key, String pending, long pendingTtlMs) {
+        try {
+            redisTemplate.execute(RENEW_SCRIPT, List.of(key), pending, String.valueOf(pendingTtlMs));
+        } catch (RuntimeException e) {
+            log.error("결제 처리 중 표시 연장 실패: key={}, e={}", key, e.toString());
+        }
+    }
+
+    private OrderProductPayResponseDto readResponse(String result) {
+        try {
+            return objectMapper.readValue(result, OrderProductPayResponseDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 결제 결과를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String hash(OrderProductPayRequestDto orderProductPayRequestDto) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsString(orderProductPayRequestDto).getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 정보를 처리할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.whitedelay.productshop.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.order.dto.OrderIngestMessageDto;
+import com.whitedelay.productshop.order.dto.OrderProductPayRequestDto;
+import com.whitedelay.productshop.order.entity.Order;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import com.whitedelay.productshop.redis.service.RedisService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 주문 저장 스트림
+ * 결제 요청은 Redis 재고 차감 후 Redis Streams에 주문 메시지로 적재되고, 컨슈머 그룹의 워커가 MySQL에 저장함
+ * 저장에 실패한 메시지는 재시도하며, 최대 재시도 횟수를 넘기면 dead-letter 스트림으로 옮기고 차감했던 Redis 재고를 복원함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIngestService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisService redisService;
+    private final OrderProductService orderProductService;
+    private final ObjectMapper objectMapper;
+    private final NodeIdentity nodeIdentity;
+    private final OrderTicketService orderTicketService;
+    private final OrderTransitionService orderTransitionService;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${ORDER_INGEST_BATCH_SIZE:50}")
+    private int batchSize;
+
+    @Value("${ORDER_INGEST_MAX_RETRIES:5}")
+    private int maxRetries;
+
+    @Value("${ORDER_INGEST_RETRY_IDLE_MS:10000}")
+    private long retryIdleMs;
+
+    private static final String GROUP = "order-workers";
+    private static final String PAYLOAD = "payload";
+
+    private static final RedisScript<Long> ACK_ORDERS_SCRIPT = RedisScript.of(new ClassPathResource("redis/ack-orders.lua"), Long.class);
+
+    public String getStreamKey() {
+        return productNamespace + ":order-stream";
+    }
+
+    public String getDeadLetterKey() {
+        return productNamespace + ":order-stream-dlq";
+    }
+
+    // 컨슈머 그룹 생성(스트림이 없으면 함께 생성, 이미 그룹이 있으면 무시)
+    @PostConstruct
+    public void createGroup() {
+        try {
+            redisTemplate.execute((RedisConnection connection) -> connection.streamCommands()
+                    .xGroupCreate(getStreamKey().getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true));
+        } catch (Exception e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 주문 메시지를 스트림에 적재
+     * 적재에 실패하면 예외를 던져 호출 측에서 재고를 복원하도록 함
+     * @return 주문 저장 결과를 조회할 주문 접수 티켓 아이디
+     */
+    public String enqueue(Member member, OrderProductPayRequestDto orderProductPayRequestDto) {
+        // 워커가 저장 결과를 기록할 수 있도록 티켓을 먼저 생성
+        String ticketId = orderTicketService.createTicket(member);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(OrderIngestMessageDto.from(member, orderProductPayRequestDto, ticketId));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 정보를 처리할 수 없습니다.", e);
+        }
+
+        // 저장 대기 재고로 먼저 기록해 재고 정합성 확인 시 처리 중인 주문으로 계산되도록 함
+        List<DetuctedProductInfo> stockList = toStockList(orderProductPayRequestDto);
+        redisService.reserveStocks(stockList);
+        RecordId recordId = null;
+        try {
+            recordId = redisTemplate.opsForStream().add(
+                    StreamRecords.newRecord().in(getStreamKey()).ofMap(Map.of(PAYLOAD, payload)));
+        } catch (RuntimeException e) {
+            log.warn("주문 접수 실패: e={}", e.toString());
+        }
+        if (recordId == null) {
+            redisService.releaseReservedStocks(stockList);
+            orderTicketService.markFailed(ticketId);
+            throw new IllegalStateException("주문 접수에 실패했습니다.");
+        }
+        return ticketId;
+    }
+
+    /**
+     * 새 주문 메시지를 읽어 저장
+     * 폴링 주기 동안 쌓인 주문을 최대 batchSize건까지 모아 한 트랜잭션으로 저장하고(그룹 커밋),
+     * 묶음 저장이 실패하면 주문별로 다시 저장해 실패한 주문만 pending 상태로 남김(retryPending에서 재시도)
+     */
+    @Scheduled(fixedDelayString = "${ORDER_INGEST_POLL_MS:100}")
+    public void consume() {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                Consumer.from(GROUP, nodeIdentity.getNodeId()),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(getStreamKey(), ReadOffset.lastConsumed()));
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+        if (records.size() == 1) {
+            process(records.getFirst());
+            return;
+        }
+
+        // 커밋 전 단계(메시지 읽기와 묶음 저장)만 주문별 저장으로 전환하고, 커밋 후 후처리가 실패해도 다시 저장하지 않음
+        List<OrderIngestMessageDto> messageList = new ArrayList<>();
+        List<Order> orders;
+        try {
+            for (MapRecord<String, Object, Object> record : records) {
+                messageList.add(readMessage(record));
+            }
+            orders = orderProductService.createOrderProductPayBatch(messageList);
+        } catch (Exception e) {
+            log.warn("주문 묶음 저장 실패, 주문별 저장으로 전환: size={}, e={}", records.size(), e.toString());
+            records.forEach(this::process);
+            return;
+        }
+        completePersisted(records, messageList, orders);
+    }
+
+    /**
+     * 일정 시간 이상 처리되지 않은 pending 메시지 재시도
+     * 다른 노드가 읽고 죽은 메시지도 claim으로 가져와 처리하며, 최대 재시도 횟수를 넘긴 메시지는 dead-letter로 옮김
+     */
+    @Scheduled(fixedDelayString = "${ORDER_INGEST_RETRY_MS:5000}")
+    public void retryPending() {
+        PendingMessages pendingMessages = redisTemplate.opsForStream().pending(getStreamKey(), GROUP, Range.unbounded(), batchSize);
+        if (pendingMessages == null) {
+            return;
+        }
+
+        for (PendingMessage pendingMessage : pendingMessages) {
+            if (pendingMessage.getElapsedTimeSinceLastDelivery().toMillis() < retryIdleMs) {
+                continue;
+            }
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    getStreamKey(), GROUP, nodeIdentity.getNodeId(), Duration.ofMillis(retryIdleMs), pendingMessage.getId());
+            if (claimed == null || claimed.isEmpty()) {
+                // 다른 노드가 먼저 가져감
+                continue;
+            }
+
+            MapRecord<String, Object, Object> record = claimed.getFirst();
+            if (pendingMessage.getTotalDeliveryCount() >= maxRetries) {
+                deadLetterIfNotPersisted(record);
+            } else {
+                process(record);
+            }
+        }
+    }
+
+    // 저장은 됐지만 ack되지 않은 메시지는 dead-letter로 옮기지 않고(재고를 복원하면 초과 판매됨) 후처리만 다시 함
+    private void deadLetterIfNotPersisted(MapRecord<String, Object, Object> record) {
+        OrderIngestMessageDto message;
+        Optional<Order> order;
+        try {
+            message = readMessage(record);
+            order = message.getTicketId() == null ? Optional.empty() : orderProductService.findOrderByTicketId(message.getTicketId());
+        } catch (JsonProcessingException e) {
+            deadLetter(record);
+            return;
+        } catch (RuntimeException e) {
+            log.warn("주문 저장 여부 확인 실패(재시도 예정): recordId={}, e={}", record.getId(), e.toString());
+            return;
+        }
+
+        if (order.isPresent()) {
+            completePersisted(List.of(record), List.of(message), List.of(order.get()));
+        } else {
+            deadLetter(record);
+        }
+    }
+
+    private void process(MapRecord<String, Object, Object> record) {
+        OrderIngestMessageDto message;
+        Order order;
+        try {
+            message = readMessage(record);
+            order = persist(message);
+        } catch (Exception e) {
+            log.warn("주문 저장 실패(재시도 예정): recordId={}, e={}", record.getId(), e.toString());
+            return;
+        }
+        completePersisted(List.of(record), List.of(message), List.of(order));
+    }
+
+    /**
+     * 주문 저장
+     * 저장 후 ack 전에 노드가 죽거나 ack가 실패한 메시지는 다시 처리되는데, 티켓 아이디 유니크 제약으로 주문이 한 번 더 저장되지 않으며
+     * 이미 저장된 주문을 반환해 ack 등 후처리만 다시 함
+     */
+    private Order persist(OrderIngestMessageDto message) {
+        try {
+            return orderProductService.createOrderProductPay(message);
+        } catch (DataIntegrityViolationException e) {
+            if (message.getTicketId() == null) {
+                throw e;
+            }
+            Order order = orderProductService.findOrderByTicketId(message.getTicketId()).orElseThrow(() -> e);
+            log.info("이미 저장된 주문: ticketId={}, orderId={}", message.getTicketId(), order.getOrderId());
+            return order;
+        }
+    }
+
+    /**
+     * 저장된 주문의 후처리(ack와 저장 대기 재고 해제, 티켓 기록, 상태 전이 예약)
+     * 주문은 이미 커밋됐으므로 후처리가 실패해도 다시 저장하지 않고 기록만 남김
+     * ack되지 않은 메시지는 retryPending에서 다시 처리되며, 이미 저장된 주문으로 확인돼 후처리만 다시 함
+     */
+    private void completePersisted(List<MapRecord<String, Object, Object>> records, List<OrderIngestMessageDto> messageList, List<Order> orders) {
+        try {
+            acknowledgePersisted(records, messageList);
+        } catch (RuntimeException e) {
+            log.error("주문 저장 후 ack 실패(재처리 예정): records={}, e={}", records.size(), e.toString());
+        }
+
+        Map<String, Long> orderIds = new HashMap<>();
+        for (int i = 0; i < messageList.size(); i++) {
+            if (messageList.get(i).getTicketId() != null) {
+                orderIds.put(messageList.get(i).getTicketId(), orders.get(i).getOrderId());
+            }
+        }
+        try {
+            orderTicketService.markPersisted(orderIds);
+        } catch (RuntimeException e) {
+            log.error("주문 접수 티켓 기록 실패: tickets={}, e={}", orderIds.size(), e.toString());
+        }
+        orderTransitionService.scheduleOrders(orders);
+    }
+
+    // ack와 저장 대기 재고 해제를 스크립트 한 번으로 처리(이미 ack된 메시지는 재고를 다시 해제하지 않음)
+    private void acknowledgePersisted(List<MapRecord<String, Object, Object>> records, List<OrderIngestMessageDto> messageList) {
+        List<String> args = new ArrayList<>();
+        args.add(GROUP);
+        for (int i = 0; i < records.size(); i++) {
+            StringBuilder arg = new StringBuilder(records.get(i).getId().getValue());
+            for (DetuctedProductInfo stock : toStockList(messageList.get(i).getOrderProductPayRequestDto())) {
+                arg.append(' ').append(redisService.getStockKey(stock.getProductId(), stock.getProductOptionId()))
+                        .append(' ').append(stock.getProductOptionStock());
+            }
+            args.add(arg.toString());
+        }
+        redisTemplate.execute(ACK_ORDERS_SCRIPT, List.of(getStreamKey(), redisService.getReservedStockKey()), args.toArray());
+    }
+
+    // 최종 실패한 주문을 dead-letter 스트림으로 옮기고 차감했던 Redis 재고를 복원
+    private void deadLetter(MapRecord<String, Object, Object> record) {
+        String payload = (String) record.getValue().get(PAYLOAD);
+        redisTemplate.opsForStream().add(StreamRecords.newRecord().in(getDeadLetterKey()).ofMap(Map.of(
+                PAYLOAD, payload == null ? "" : payload,
+                "sourceId", record.getId().getValue(),
+                "failedAt", LocalDateTime.now().toString()
+        )));
+        acknowledge(record.getId());
+
+        try {
+            OrderIngestMessageDto message = readMessage(record);
+            List<DetuctedProductInfo> stockList = toStockList(message.getOrderProductPayRequestDto());
+            redisService.deductRollbackStocks(stockList);
+            redisService.releaseReservedStocks(stockList);
+            if (message.getTicketId() != null) {
+                orderTicketService.markFailed(message.getTicketId());
+            }
+            log.error("주문 저장 최종 실패, 재고 복원: recordId={}, memberId={}", record.getId(), message.getMemberId());
+        } catch (Exception e) {
+            log.error("주문 저장 최종 실패, 재고 복원 불가: recordId={}, e={}", record.getId(), e.toString());
+        }
+    }
+
+    private OrderIngestMessageDto readMessage(MapRecord<String, Object, Object> record) throws JsonProcessingException {
+        return objectMapper.readValue((String) record.getValue().get(PAYLOAD), OrderIngestMessageDto.class);
+    }
+
+    private List<DetuctedProductInfo> toStockList(OrderProductPayRequestDto orderProductPayRequestDto) {
+        return orderProductPayRequestDto.getOrderProductList().stream()
+                .map(DetuctedProductInfo::from)
+                .toList();
+    }
+
+    private void acknowledge(RecordId... recordIds) {
+        redisTemplate.opsForStream().acknowledge(getStreamKey(), GROUP, recordIds);
+        redisTemplate.opsForStream().delete(getStreamKey(), recordIds);
+    }
+}
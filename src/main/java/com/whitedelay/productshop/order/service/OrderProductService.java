@@ -2,7 +2,9 @@ package com.whitedelay.productshop.order.service;
 
 import com.whitedelay.productshop.member.entity.Member;
 import com.whitedelay.productshop.member.repository.MemberRepository;
+import com.whitedelay.productshop.order.dto.OrderIngestMessageDto;
 import com.whitedelay.productshop.order.dto.OrderProductPayRequestDto;
+import com.whitedelay.productshop.order.dto.OrderProductResponseDto;
 import com.whitedelay.productshop.order.dto.OrderProductRequestDto;
 import com.whitedelay.productshop.order.dto.OrderRequestDto;
 import com.whitedelay.productshop.order.entity.Order;
@@ -16,12 +18,12 @@ import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
 import com.whitedelay.productshop.util.AES256Encoder;
 import lombok.AllArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -33,36 +35,89 @@ public class OrderProductService {
     private final ProductOptionRepository productOptionRepository;
     private final AES256Encoder aes256Encoder;
 
-    @Async
+    // 주문 저장 스트림(OrderIngestService)의 워커에서 호출됨
     @Transactional
-    public void createOrderProductPay(Member member, OrderProductPayRequestDto orderProductPayRequestDto) {
-        try {
-            member = memberRepository.findById(member.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("사용자 정보가 없습니다."));
+    public Order createOrderProductPay(OrderIngestMessageDto message) {
+        return createOrderProductPayBatch(List.of(message)).getFirst();
+    }
 
-            List<OrderProduct> orderProductList = new ArrayList<>();
-            orderProductPayRequestDto.getOrderProductList().forEach(orderProduct -> {
-                ProductOption productOption = productOptionRepository.findByIdForUpdate(orderProduct.getProductOptionId())
-                        .orElseThrow(() -> new IllegalArgumentException("찾는 상품 옵션이 없습니다."));
-                if (productOption.getProductOptionStock() < orderProduct.getQuantity()) {
-                    throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다.");
-                }
-                productOptionRepository.updateStock(orderProduct.getProductOptionId(), productOption.getProductOptionStock() - orderProduct.getQuantity());
+    // 티켓으로 이미 저장된 주문 조회(같은 메시지를 다시 처리할 때 사용)
+    @Transactional(readOnly = true)
+    public Optional<Order> findOrderByTicketId(String ticketId) {
+        return orderRepository.findByOrderTicketId(ticketId);
+    }
+
+    /**
+     * 여러 주문을 한 트랜잭션으로 저장(그룹 커밋)
+     * 재고는 상품 옵션별로 합산해 조건부 UPDATE로 한 번씩 차감하고, 주문/주문 상품은 JDBC 배치 INSERT로 저장함
+     * 하나라도 실패하면 전체가 롤백되므로 호출 측에서 주문별 저장으로 재시도해야 함
+     * @return 요청 순서와 같은 순서의 저장된 주문
+     */
+    @Transactional
+    public List<Order> createOrderProductPayBatch(List<OrderIngestMessageDto> messageList) {
+        Map<Long, Member> members = memberRepository.findAllById(messageList.stream()
+                        .map(OrderIngestMessageDto::getMemberId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
 
-                Product product = productRepository.findByProductId(orderProduct.getProductId())
-                        .orElseThrow(() -> new IllegalArgumentException("찾는 상품이 없습니다."));
+        List<OrderProductResponseDto> orderProductItems = messageList.stream()
+                .flatMap(message -> message.getOrderProductPayRequestDto().getOrderProductList().stream())
+                .toList();
+        Map<Long, Product> products = productRepository.findAllById(orderProductItems.stream()
+                        .map(OrderProductResponseDto::getProductId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
 
-                orderProductList.add(OrderProduct.from(OrderProductRequestDto.from(product, orderProduct.getQuantity(), productOption)));
+        // 상품 옵션별 차감 수량 합산
+        Map<Long, Integer> quantities = new HashMap<>();
+        orderProductItems.forEach(orderProduct ->
+                quantities.merge(orderProduct.getProductOptionId(), orderProduct.getQuantity(), Integer::sum));
+        Map<Long, ProductOption> productOptions = productOptionRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(ProductOption::getProductOptionId, Function.identity()));
+        if (productOptions.size() != quantities.size()) {
+            throw new IllegalArgumentException("찾는 상품 옵션이 없습니다.");
+        }
+        deductStocks(quantities);
+
+        List<Order> orderList = new ArrayList<>();
+        List<OrderProduct> orderProductList = new ArrayList<>();
+        messageList.forEach(message -> {
+            Member member = members.get(message.getMemberId());
+            if (member == null) {
+                throw new IllegalArgumentException("사용자 정보가 없습니다.");
+            }
+            OrderProductPayRequestDto orderProductPayRequestDto = message.getOrderProductPayRequestDto();
+            OrderRequestDto orderRequestDto = OrderRequestDto.from(orderProductPayRequestDto, OrderStatusEnum.PAYMENT_COMPLETED, aes256Encoder, member);
+            // 같은 티켓의 주문이 이미 있으면 유니크 제약 위반으로 전체가 롤백됨
+            orderRequestDto.setOrderTicketId(message.getTicketId());
+            Order order = Order.from(orderRequestDto);
+            orderList.add(order);
+
+            orderProductPayRequestDto.getOrderProductList().forEach(orderProduct -> {
+                Product product = products.get(orderProduct.getProductId());
+                if (product == null) {
+                    throw new IllegalArgumentException("찾는 상품이 없습니다.");
+                }
+                OrderProduct newOrderProduct = OrderProduct.from(OrderProductRequestDto.from(product, orderProduct.getQuantity(), productOptions.get(orderProduct.getProductOptionId())));
+                newOrderProduct.setOrder(order);
+                orderProductList.add(newOrderProduct);
             });
+        });
 
-            Order order = Order.from(OrderRequestDto.from(orderProductPayRequestDto, OrderStatusEnum.PAYMENT_COMPLETED, aes256Encoder, member));
-            orderRepository.save(order);
-            orderProductList.forEach(orderProduct -> orderProduct.setOrder(order));
+        orderRepository.saveAll(orderList);
+        orderProductRepository.saveAll(orderProductList);
+        return orderList;
+    }
 
-            orderProductRepository.saveAll(orderProductList);
-    } catch (Exception e) {
-        System.out.println("e = " + e);
-        throw e;
+    private void deductStocks(Map<Long, Integer> quantities) {
+        if (quantities.size() > 1) {
+            productOptionRepository.deductStocks(quantities);
+            return;
         }
+        quantities.forEach((productOptionId, quantity) -> {
+            if (productOptionRepository.deductStock(productOptionId, quantity) == 0) {
+                throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다.");
+            }
+        });
     }
 }
@@ -8,25 +8,39 @@ import com.whitedelay.productshop.order.entity.OrderProduct;
 import com.whitedelay.productshop.order.entity.OrderStatusEnum;
 import com.whitedelay.productshop.order.repository.OrderProductRepository;
 import com.whitedelay.productshop.order.repository.OrderRepository;
+import com.whitedelay.productshop.product.dto.ProductOptionPriceDto;
+import com.whitedelay.productshop.product.dto.ProductOptionTitleDto;
+import com.whitedelay.productshop.product.dto.ProductPricingRequestDto;
+import com.whitedelay.productshop.product.dto.ProductPricingResponseDto;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductOption;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
+import com.whitedelay.productshop.product.service.ProductPriceTableService;
+import com.whitedelay.productshop.product.service.ProductPricingService;
+import com.whitedelay.productshop.queue.service.AdmissionQueueService;
 import com.whitedelay.productshop.redis.service.RedisService;
+import com.whitedelay.productshop.redis.service.SoldOutCacheService;
+import com.whitedelay.productshop.redis.service.StockLeaseService;
 import com.whitedelay.productshop.util.AES256Encoder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
@@ -36,94 +50,222 @@ public class OrderService {
     private final OrderProductRepository orderProductRepository;
     private final ProductRepository productRepository;
     private final ProductOptionRepository productOptionRepository;
+    private final ProductPricingService productPricingService;
+    private final ProductPriceTableService productPriceTableService;
     private final AES256Encoder aes256Encoder;
     private final RedisService redisService;
-    private final OrderProductService orderProductService;
+    private final StockLeaseService stockLeaseService;
+    private final OrderIngestService orderIngestService;
+    private final StockHoldService stockHoldService;
+    private final AdmissionQueueService admissionQueueService;
+    private final SoldOutCacheService soldOutCacheService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderTicketService orderTicketService;
+    private final OrderTransitionService orderTransitionService;
 
     @Transactional(readOnly = true)
     public OrderProductAllInfoResponseDto getOrderProductAllInfo(Member member, OrderProductAllInfoRequestDto orderProductAllInfoRequestDto) {
+        return getOrderProductAllInfo(member, orderProductAllInfoRequestDto, false);
+    }
+
+    /**
+     * 주문 상품 정보 조회
+     * @param hold 결제 전까지 재고를 보류할지 여부(보류하면 결제 시 holdId로 재고 차감 없이 주문)
+     */
+    @Transactional(readOnly = true)
+    public OrderProductAllInfoResponseDto getOrderProductAllInfo(Member member, OrderProductAllInfoRequestDto orderProductAllInfoRequestDto, boolean hold) {
         member = memberRepository.findByMemberId(member.getMemberId())
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보가 없습니다."));
-        List<OrderProductResponseDto> orderProducts = orderProductAllInfoRequestDto.getOrderProducts().stream().map(orderProduct -> {
-            Product product = productRepository.findById(orderProduct.getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException("찾는 상품이 없습니다."));
-
-            int productPrice = product.getProductPrice();
-
-            ProductOption productOption = productOptionRepository.findByProductOptionId(orderProduct.getProductOptionId())
-                        .orElseThrow(() -> new IllegalArgumentException("찾는 상품 옵션이 없습니다."));
-            int productOptionPrice = productOption.getProductOptionPrice();
-
-
-            int productTotalPrice = (productPrice + productOptionPrice) * orderProduct.getQuantity();
-
-            return OrderProductResponseDto.from(product, orderProduct.getQuantity(), productOption, productPrice, productTotalPrice);
-        }).collect(Collectors.toList());
+        // 주문할 상품의 상품/옵션을 한 번에 조회해 금액과 배송비 계산
+        ProductPricingResponseDto pricing = productPricingService.price(orderProductAllInfoRequestDto.getOrderProducts().stream()
+                .map(orderProduct -> new ProductPricingRequestDto(orderProduct.getProductId(), orderProduct.getProductOptionId(), orderProduct.getQuantity()))
+                .toList());
+        List<OrderProductResponseDto> orderProducts = pricing.getPricedProducts().stream()
+                .map(priced -> OrderProductResponseDto.from(priced.getProduct(), priced.getQuantity(), priced.getProductOption(),
+                        priced.getProduct().getProductPrice(), priced.getProductTotalPrice()))
+                .collect(Collectors.toList());
+
+        // 총 결제 금액
+        int productTotalPrice = pricing.getProductTotalPrice();
+        int orderShippingFee = pricing.getShippingFee();
+        int orderPrice = pricing.getOrderPrice();
+
+        StockHoldDto stockHold = null;
+        if (hold) {
+            // 판매 대기열 상품은 입장한 회원만 재고 보류 가능
+            admissionQueueService.checkAdmission(
+                    member,
+                    orderProducts.stream().map(OrderProductResponseDto::getProductId).toList(),
+                    orderProductAllInfoRequestDto.getAdmissionToken()
+            );
+            stockHold = stockHoldService.placeHold(member, orderProducts);
+        }
 
-        // 총 결제 금액 계산
-        int productTotalPrice = orderProducts.stream().mapToInt(OrderProductResponseDto::getProductTotalPrice).sum();
-        int orderShippingFee = productTotalPrice >= 30000 ? 0 : 3000;
-        int orderPrice = productTotalPrice + orderShippingFee;
+        return OrderProductAllInfoResponseDto.from(member ,aes256Encoder, orderProducts, productTotalPrice, orderShippingFee, orderPrice, stockHold);
+    }
 
-        return OrderProductAllInfoResponseDto.from(member ,aes256Encoder, orderProducts, productTotalPrice, orderShippingFee, orderPrice);
+    /**
+     * 멱등성 키가 있는 결제 요청
+     * 같은 키의 재시도는 재고 차감과 주문 접수 없이 처음 요청의 결과를 반환함
+     * 결제는 Redis 재고 차감과 주문 스트림 적재만 하고 JPA 쓰기가 없으므로 트랜잭션 없이 실행함(주문 저장은 워커가 트랜잭션으로 처리)
+     * @param idempotencyKey Idempotency-Key 헤더 값(없으면 매번 결제)
+     */
+    public OrderProductPayResponseDto createOrderProductPay(Member member, OrderProductPayRequestDto orderProductPayRequestDto, String idempotencyKey) {
+        return orderIdempotencyService.execute(member, idempotencyKey, orderProductPayRequestDto,
+                () -> createOrderProductPay(member, orderProductPayRequestDto));
     }
 
-    @Transactional
-    public OrderProductPayResponseDto createOrderProductPay(Member member, OrderProductPayRequestDto orderProductPayRequestDto) {
+    private OrderProductPayResponseDto createOrderProductPay(Member member, OrderProductPayRequestDto orderProductPayRequestDto) {
+        List<DetuctedProductInfo> leasedProductInfoList = new ArrayList<>();
         List<DetuctedProductInfo> detuctedProductInfoList = new ArrayList<>();
 
+        // 클라이언트가 보낸 결제 금액을 가격표 기준으로 다시 계산해 확인
+        verifyOrderPrice(orderProductPayRequestDto);
+
+        // 판매 대기열 상품은 입장 토큰이 있어야 재고 차감 가능
+        List<Long> productIds = orderProductPayRequestDto.getOrderProductList().stream().map(OrderProductResponseDto::getProductId).toList();
+        String admissionToken = orderProductPayRequestDto.getAdmissionToken();
+        admissionQueueService.checkAdmission(member, productIds, admissionToken);
+
+        Optional<Long> admittedProductId = Optional.empty();
         try {
-            orderProductPayRequestDto.getOrderProductList().forEach(orderProduct -> {
-                if (!redisService.deductStock(orderProduct.getProductId(), orderProduct.getProductOptionId(), orderProduct.getQuantity())) {
-                    throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다.");
-                }
-                detuctedProductInfoList.add(
-                        DetuctedProductInfo.builder()
-                                .productId(orderProduct.getProductId())
-                                .productOptionId(orderProduct.getProductOptionId())
-                                .productOptionStock(orderProduct.getQuantity())
-                                .build()
-                );
-            });
-            orderProductService.createOrderProductPay(member, orderProductPayRequestDto);
+            if (orderProductPayRequestDto.getHoldId() != null) {
+                // 주문 정보 조회 시 보류한 재고 사용(이미 차감돼 있음)
+                detuctedProductInfoList.addAll(stockHoldService.consumeHold(member, orderProductPayRequestDto.getHoldId(), orderProductPayRequestDto.getOrderProductList()));
+            } else {
+                deductOrderStocks(orderProductPayRequestDto.getOrderProductList(), leasedProductInfoList, detuctedProductInfoList);
+            }
+            // 재고 차감에 성공한 뒤에 입장 토큰 사용(동시에 같은 토큰으로 결제하면 한 요청만 성공하고 나머지는 재고 복원)
+            admittedProductId = admissionQueueService.consumeAdmission(member, productIds, admissionToken);
+            // 주문 저장은 스트림에 적재 후 워커가 처리(적재 실패 시 재고 복원)
+            String ticketId = orderIngestService.enqueue(member, orderProductPayRequestDto);
             return OrderProductPayResponseDto.from(
                     orderProductPayRequestDto.getProductTotalPrice(),
                     orderProductPayRequestDto.getOrderShippingFee(),
                     orderProductPayRequestDto.getOrderPrice(),
-                    OrderStatusEnum.PAYMENT_COMPLETED
+                    OrderStatusEnum.PAYMENT_COMPLETED,
+                    ticketId
             );
 
         } catch (Exception e) {
-            detuctedProductInfoList.forEach(stock -> redisService.deductRollbackStock(
-                    stock.getProductId(),
-                    stock.getProductOptionId(),
-                    stock.getProductOptionStock()
-            ));
-            System.out.println("e = " + e);
             // 이전까지 차감했던 값 다시 증가시키기
+            stockLeaseService.restoreStocks(leasedProductInfoList);
+            redisService.deductRollbackStocks(detuctedProductInfoList);
+            // 사용한 입장 토큰은 다시 결제할 수 있도록 복원
+            admittedProductId.ifPresent(productId -> admissionQueueService.restoreAdmission(member, productId, admissionToken));
+            System.out.println("e = " + e);
             throw e;
         }
     }
 
+    /**
+     * 결제 금액 검증
+     * 가격표(상품 가격 + 옵션 가격)로 상품 금액 합계, 배송비, 총 결제 금액을 계산해 요청 값과 다르면 거절함
+     * 가격표에 있는 옵션은 DB를 조회하지 않으므로 주문 정보 조회(/order/info) 없이 결제해도 비용이 같음
+     */
+    private void verifyOrderPrice(OrderProductPayRequestDto orderProductPayRequestDto) {
+        List<OrderProductResponseDto> orderProductList = orderProductPayRequestDto.getOrderProductList();
+        if (orderProductList == null || orderProductList.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "주문할 상품이 없습니다.");
+        }
+
+        Map<Long, ProductOptionPriceDto> prices = productPriceTableService.getPrices(
+                orderProductList.stream().map(OrderProductResponseDto::getProductOptionId).distinct().toList());
+        int productTotalPrice = 0;
+        for (OrderProductResponseDto orderProduct : orderProductList) {
+            if (orderProduct.getQuantity() <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "주문 수량은 1개 이상이어야 합니다.");
+            }
+            ProductOptionPriceDto price = prices.get(orderProduct.getProductOptionId());
+            if (price == null || !price.getProductId().equals(orderProduct.getProductId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "찾는 상품 옵션이 없습니다.");
+            }
+            productTotalPrice += (price.getProductPrice() + price.getProductOptionPrice()) * orderProduct.getQuantity();
+        }
+
+        int orderShippingFee = ProductPricingService.getShippingFee(productTotalPrice);
+        if (orderProductPayRequestDto.getProductTotalPrice() != productTotalPrice
+                || orderProductPayRequestDto.getOrderShippingFee() != orderShippingFee
+                || orderProductPayRequestDto.getOrderPrice() != productTotalPrice + orderShippingFee) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "결제 금액이 일치하지 않습니다. 주문 정보를 다시 조회해주세요.");
+        }
+    }
+
+    // 주문 상품 재고 차감(차감한 재고는 실패 시 복원할 수 있도록 리스/Redis 목록에 각각 기록)
+    private void deductOrderStocks(List<OrderProductResponseDto> orderProductList, List<DetuctedProductInfo> leasedProductInfoList, List<DetuctedProductInfo> detuctedProductInfoList) {
+        Map<Boolean, List<OrderProductResponseDto>> leaseEnabledOrderProducts = orderProductList.stream()
+                .collect(Collectors.partitioningBy(orderProduct -> stockLeaseService.isLeaseEnabled(orderProduct.getProductId(), orderProduct.getProductOptionId())));
+        List<OrderProductResponseDto> redisOrderProductList = leaseEnabledOrderProducts.get(false);
+
+        // 품절로 기록된 옵션이 있으면 Redis 호출 없이 거절(리스 모드 옵션은 노드가 보유한 리스가 있을 수 있어 확인하지 않음)
+        String soldOutOptionIds = redisOrderProductList.stream()
+                .filter(orderProduct -> soldOutCacheService.isSoldOut(redisService.getStockKey(orderProduct.getProductId(), orderProduct.getProductOptionId())))
+                .map(orderProduct -> String.valueOf(orderProduct.getProductOptionId()))
+                .collect(Collectors.joining(", "));
+        if (!soldOutOptionIds.isEmpty()) {
+            throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다. (상품 옵션: " + soldOutOptionIds + ")");
+        }
+
+        for (OrderProductResponseDto orderProduct : leaseEnabledOrderProducts.get(true)) {
+            // 리스 모드 옵션은 노드가 미리 가져온 재고에서 차감
+            if (!stockLeaseService.deductStock(orderProduct.getProductId(), orderProduct.getProductOptionId(), orderProduct.getQuantity())) {
+                throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다.");
+            }
+            leasedProductInfoList.add(DetuctedProductInfo.from(orderProduct));
+        }
+
+        if (redisOrderProductList.size() > 1) {
+            // 다건 주문은 Redis 스크립트 한 번으로 전체 재고를 차감(하나라도 부족하면 아무것도 차감되지 않음)
+            detuctedProductInfoList.addAll(deductStocks(redisOrderProductList));
+        } else {
+            redisOrderProductList.forEach(orderProduct -> {
+                if (!redisService.deductStock(orderProduct.getProductId(), orderProduct.getProductOptionId(), orderProduct.getQuantity())) {
+                    throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다.");
+                }
+                detuctedProductInfoList.add(DetuctedProductInfo.from(orderProduct));
+            });
+        }
+    }
+
+    private List<DetuctedProductInfo> deductStocks(List<OrderProductResponseDto> orderProductList) {
+        List<DetuctedProductInfo> stockList = orderProductList.stream()
+                .map(DetuctedProductInfo::from)
+                .toList();
+
+        List<Boolean> results = redisService.deductStocks(stockList);
+        if (results.contains(false)) {
+            String soldOutOptionIds = IntStream.range(0, stockList.size())
+                    .filter(i -> !results.get(i))
+                    .mapToObj(i -> String.valueOf(stockList.get(i).getProductOptionId()))
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다. (상품 옵션: " + soldOutOptionIds + ")");
+        }
+        return stockList;
+    }
+
+    // 주문 접수 티켓 조회(Redis만 조회)
+    public OrderTicketResponseDto getOrderTicket(Member member, String ticketId) {
+        return orderTicketService.getTicket(member, ticketId);
+    }
+
     @Transactional(readOnly = true)
     public Page<OrderListResponseDto> getOrderList(Member member, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Order> orders = orderRepository.findByMemberMemberId(member.getMemberId(), pageable);
 
-        return orders.map(order -> {
-            List<OrderProduct> orderProducts = orderProductRepository.findByOrderOrderId(order.getOrderId());
+        // 페이지의 주문별 대표 상품명과 주문 상품 수를 쿼리 한 번으로 조회(주문 상품 수와 관계없이 쿼리 수 일정)
+        List<Long> orderIds = orders.getContent().stream().map(Order::getOrderId).toList();
+        Map<Long, OrderProductSummaryDto> summaries = orderIds.isEmpty() ? Map.of() : orderProductRepository.findSummariesByOrderIds(orderIds).stream()
+                .collect(Collectors.toMap(OrderProductSummaryDto::getOrderId, summary -> summary));
 
-            if (orderProducts.isEmpty()) {
+        return orders.map(order -> {
+            OrderProductSummaryDto summary = summaries.get(order.getOrderId());
+            if (summary == null) {
                 throw new IllegalArgumentException("해당 주문에 대한 상품이 없습니다.");
             }
 
             // 묶음 상품에 대해서 대표 상품에 대한 정보만 출력함
-            Product product = productRepository.findById(orderProducts.getFirst().getProduct().getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException("찾는 상품이 없습니다."));
-            String productTitle = product.getProductTitle();
-            int orderProductCount = orderProducts.size(); // 총 orderProduct 수
-
-            return OrderListResponseDto.from(order, productTitle, orderProductCount);
+            return OrderListResponseDto.from(order, summary.getProductTitle(), summary.getOrderProductCount().intValue());
         });
     }
 
@@ -132,19 +274,20 @@ public class OrderService {
         Order order = orderRepository.findByMemberMemberIdAndOrderId(member.getMemberId(), orderId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 주문이 없습니다."));
 
-        List<OrderProduct> orderProducts = orderProductRepository.findByOrderOrderId(orderId);
+        // 주문 상품(상품 조인)과 옵션명을 쿼리 두 번으로 조회해 메모리에서 조립(주문 상품 수와 관계없이 쿼리 수 일정)
+        List<OrderProduct> orderProducts = orderProductRepository.findWithProductByOrderOrderId(orderId);
         if (orderProducts.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "잘못된 주문이 존재:" + orderId);
         }
-        List<OrderProductDetailResponseDto> orderProductDetailResponseDto = orderProducts.stream()
-                .map(orderProduct -> {
-                    Product product = productRepository.findById(orderProduct.getProduct().getProductId())
-                            .orElseThrow(() -> new IllegalArgumentException("찾는 상품이 없습니다."));
-
-                    String productOptionTitle = productOptionRepository.findProductOptionTitleById(orderProduct.getOrderProductOptionId());
+        Map<Long, String> productOptionTitles = productOptionRepository.findProductOptionTitlesByIds(
+                        orderProducts.stream().map(OrderProduct::getOrderProductOptionId).distinct().toList()).stream()
+                .collect(Collectors.toMap(ProductOptionTitleDto::getProductOptionId, ProductOptionTitleDto::getProductOptionTitle));
 
-                    return OrderProductDetailResponseDto.from(orderProduct, product.getProductTitle(), productOptionTitle);
-                }).collect(Collectors.toList());
+        List<OrderProductDetailResponseDto> orderProductDetailResponseDto = orderProducts.stream()
+                .map(orderProduct -> OrderProductDetailResponseDto.from(orderProduct,
+                        orderProduct.getProduct().getProductTitle(),
+                        productOptionTitles.get(orderProduct.getOrderProductOptionId())))
+                .collect(Collectors.toList());
 
         return OrderDetailResponseDto.from(order, orderProductDetailResponseDto, aes256Encoder);
     }
@@ -161,16 +304,37 @@ public class OrderService {
 
         order.setOrderStatus(OrderStatusEnum.ORDER_CANCELLED);
 
-        List<OrderProduct> orderProducts = orderProductRepository.findByOrderOrderId(orderId);
-        for (OrderProduct orderProduct : orderProducts) {
-            ProductOption productOption = productOptionRepository.findById(orderProduct.getOrderProductOptionId())
-                    .orElseThrow(() -> new IllegalArgumentException("찾는 상품 옵션이 없습니다."));
-            productOption.setProductOptionStock(productOption.getProductOptionStock() + orderProduct.getOrderProductQuantity());
-            productOptionRepository.save(productOption);
+        // 주문 상품의 재고를 옵션별로 합산해 한 번에 복원
+        Map<Long, Integer> quantities = new HashMap<>();
+        Map<Long, Long> productIds = new HashMap<>();
+        orderProductRepository.findByOrderOrderId(orderId).forEach(orderProduct -> {
+            quantities.merge(orderProduct.getOrderProductOptionId(), orderProduct.getOrderProductQuantity(), Integer::sum);
+            productIds.put(orderProduct.getOrderProductOptionId(), orderProduct.getProduct().getProductId());
+        });
+        if (quantities.size() > 1) {
+            productOptionRepository.addStocks(quantities);
+        } else {
+            quantities.forEach(productOptionRepository::addStock);
         }
 
         orderRepository.save(order);
 
+        // MySQL 커밋 후 Redis 재고에도 같은 수량을 반영(실패하면 재고 정합성 확인에서 차이로 기록됨)
+        List<DetuctedProductInfo> restoredStocks = quantities.entrySet().stream()
+                .map(quantity -> DetuctedProductInfo.builder()
+                        .productId(productIds.get(quantity.getKey()))
+                        .productOptionId(quantity.getKey())
+                        .productOptionStock(quantity.getValue())
+                        .build())
+                .toList();
+        runAfterCommit(() -> {
+            try {
+                redisService.deductRollbackStocks(restoredStocks);
+            } catch (RuntimeException e) {
+                log.error("주문 취소 재고 Redis 반영 실패: orderId={}, e={}", orderId, e.toString());
+            }
+        });
+
         return OrderCancelResponseDto.from(order);
     }
 
@@ -191,8 +355,23 @@ public class OrderService {
 
         order.setOrderStatus(OrderStatusEnum.RETURN_REQUESTED);
         orderRepository.save(order);
+        // 반품 완료(재고 반영) 전이 예약(커밋 전에 꺼내지면 상태 조건 UPDATE가 실패해 전이가 사라지므로 커밋 후 예약)
+        runAfterCommit(() -> orderTransitionService.scheduleOrders(List.of(order)));
 
         return OrderReturnResponseDto.from(order);
     }
 
+    // 트랜잭션 안에서 호출되면 커밋 후에 실행(롤백되면 실행하지 않음)
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
 }
@@ -1,22 +1,42 @@
 package com.whitedelay.productshop.order.service;
 
-import com.whitedelay.productshop.order.entity.Order;
-import com.whitedelay.productshop.order.entity.OrderProduct;
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.order.dto.OrderIdRangeDto;
+import com.whitedelay.productshop.order.dto.OrderProductQuantityDto;
 import com.whitedelay.productshop.order.entity.OrderStatusEnum;
 import com.whitedelay.productshop.order.repository.OrderProductRepository;
 import com.whitedelay.productshop.order.repository.OrderRepository;
-import com.whitedelay.productshop.product.entity.Product;
-import com.whitedelay.productshop.product.entity.ProductOption;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
-import com.whitedelay.productshop.product.repository.ProductRepository;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+/**
+ * 주문 상태 전이
+ * 주문별 전이는 OrderTransitionService가 예정 시각에 transitionOrders를 호출해 처리하며,
+ * 아래 일괄 전이(sweep)는 누락된 주문을 한 번에 처리해야 할 때만 ORDER_LIFECYCLE_SWEEP_CRON으로 켜서 사용함
+ * 전이(결제완료 → 배송중 → 배송완료, 반품신청 → 반품완료)마다 (order_status, order_date) 인덱스로 대상 주문의 ID 범위를 구하고,
+ * 범위를 파티션으로 나눠 병렬로 처리함. 파티션은 키셋으로 일정 수량씩 읽어 청크마다 한 트랜잭션에서 벌크 UPDATE 한 번으로 상태를 바꿈
+ * 반품 완료 청크는 주문 상품 수량을 옵션별로 합산해 MySQL은 JDBC 배치 한 번, Redis는 파이프라인 한 번으로 재고를 복원함
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderStatusUpdateService {
@@ -24,35 +44,140 @@ public class OrderStatusUpdateService {
     private final OrderRepository orderRepository;
     private final OrderProductRepository orderProductRepository;
     private final ProductOptionRepository productOptionRepository;
+    private final RedisService redisService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    // 파티션 병렬 처리용 공유 스레드 풀(OrderLifecycleConfig)
+    private final ExecutorService orderLifecycleExecutor;
 
-    @Scheduled(cron = "0 0 0 * * ?") // 자정(00시)마다 스케줄 실행
-    @Transactional
+    @Value("${ORDER_LIFECYCLE_CHUNK_SIZE:1000}")
+    private int chunkSize;
+
+    @Value("${ORDER_LIFECYCLE_PARTITIONS:4}")
+    private int partitions;
+
+    @Scheduled(cron = "${ORDER_LIFECYCLE_SWEEP_CRON:-}") // 기본값 "-"는 스케줄 비활성화
     public void updateOrderStatuses() {
-        List<Order> orders = orderRepository.findAll();
         LocalDateTime now = LocalDateTime.now();
 
-        for (Order order : orders) {
-            // 배송 상태 업데이트
-            if (order.getOrderDate().plusDays(1).isBefore(now) && order.getOrderStatus() == OrderStatusEnum.PAYMENT_COMPLETED) {
-                order.setOrderStatus(OrderStatusEnum.SHIPPING);
-            } else if (order.getOrderDate().plusDays(2).isBefore(now) && order.getOrderStatus() == OrderStatusEnum.SHIPPING) {
-                order.setOrderStatus(OrderStatusEnum.DELIVERY_COMPLETED);
+        // 한 번 실행에 주문이 한 단계만 이동하도록 뒤 단계부터 전이
+        transition(OrderStatusEnum.SHIPPING, OrderStatusEnum.DELIVERY_COMPLETED, now.minusDays(2), now);
+        transition(OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, now.minusDays(1), now);
+
+        // 반품 처리
+        // 반품한 상품은 반품 신청 후 D+1에 재고에 반영 됨. 재고에 반영된후 상태는 반품완료로 변경됨
+        transition(OrderStatusEnum.RETURN_REQUESTED, OrderStatusEnum.RETURN_COMPLETED, now.minusDays(3), now);
+    }
+
+    /**
+     * 한 상태 전이 실행
+     * @param orderDateBefore 이 시각 이전에 주문된 주문만 전이
+     * @return 전이한 주문 수
+     */
+    public long transition(OrderStatusEnum fromStatus, OrderStatusEnum toStatus, LocalDateTime orderDateBefore, LocalDateTime now) {
+        long startedAt = System.nanoTime();
+        OrderIdRangeDto range = orderRepository.findIdRangeByOrderStatusAndOrderDateBefore(fromStatus, orderDateBefore);
+        long transitioned = 0;
+        if (range != null && range.getMinOrderId() != null) {
+            transitioned = runPartitions(fromStatus, toStatus, orderDateBefore, now, range);
+        }
+
+        long elapsed = System.nanoTime() - startedAt;
+        Counter.builder("order.lifecycle.transitioned")
+                .description("상태를 전이한 주문 수")
+                .tag("from", fromStatus.name())
+                .tag("to", toStatus.name())
+                .register(meterRegistry)
+                .increment(transitioned);
+        Timer.builder("order.lifecycle.duration")
+                .description("주문 상태 전이 소요 시간")
+                .tag("from", fromStatus.name())
+                .tag("to", toStatus.name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsed));
+        log.info("주문 상태 전이 완료: {} -> {}, orders={}, elapsed={}ms", fromStatus, toStatus, transitioned, elapsed / 1_000_000);
+        return transitioned;
+    }
+
+    // ID 범위를 파티션 수만큼 나눠 병렬 처리(파티션끼리 같은 주문을 다루지 않음)
+    private long runPartitions(OrderStatusEnum fromStatus, OrderStatusEnum toStatus, LocalDateTime orderDateBefore, LocalDateTime now, OrderIdRangeDto range) {
+        long minOrderId = range.getMinOrderId();
+        long maxOrderId = range.getMaxOrderId();
+        int partitionCount = (int) Math.max(1, Math.min(partitions, maxOrderId - minOrderId + 1));
+        long partitionSize = (maxOrderId - minOrderId) / partitionCount + 1;
+
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            long from = minOrderId + i * partitionSize - 1;
+            long to = Math.min(maxOrderId, from + partitionSize);
+            results.add(orderLifecycleExecutor.submit(() -> runPartition(fromStatus, toStatus, orderDateBefore, now, from, to)));
+        }
+
+        long transitioned = 0;
+        for (Future<Long> result : results) {
+            try {
+                transitioned += result.get();
+            } catch (Exception e) {
+                // 실패한 파티션의 남은 주문은 다음 실행에서 다시 처리됨
+                log.error("주문 상태 전이 파티션 실패: {} -> {}, e={}", fromStatus, toStatus, e.toString());
             }
+        }
+        return transitioned;
+    }
 
-            // 반품 처리
-            // 반품한 상품은 반품 신청 후 D+1에 재고에 반영 됨. 재고에 반영된후 상태는 반품완료로 변경됨
-            if (order.getOrderStatus() == OrderStatusEnum.RETURN_REQUESTED && order.getOrderDate().plusDays(3).isBefore(now)) {
-                List<OrderProduct> orderProducts = orderProductRepository.findByOrderOrderId(order.getOrderId());
-                for (OrderProduct orderProduct : orderProducts) {
-                    ProductOption productOption = productOptionRepository.findById(orderProduct.getOrderProductOptionId())
-                            .orElseThrow(() -> new RuntimeException("상품 옵션을 찾지 못했습니다."));
-                    productOption.setProductOptionStock(productOption.getProductOptionStock() + orderProduct.getOrderProductQuantity());
-                    productOptionRepository.save(productOption);
-                }
-                order.setOrderStatus(OrderStatusEnum.RETURN_COMPLETED);
+    private long runPartition(OrderStatusEnum fromStatus, OrderStatusEnum toStatus, LocalDateTime orderDateBefore, LocalDateTime now, long lastOrderId, long maxOrderId) {
+        long transitioned = 0;
+        while (true) {
+            List<Long> orderIds = orderRepository.findIdsByOrderStatusAndOrderDateBefore(
+                    fromStatus, orderDateBefore, lastOrderId, maxOrderId, PageRequest.of(0, chunkSize));
+            if (orderIds.isEmpty()) {
+                return transitioned;
             }
+            transitioned += transitionOrders(orderIds, fromStatus, toStatus, now);
+            lastOrderId = orderIds.getLast();
+        }
+    }
+
+    /**
+     * 주문 묶음의 상태를 한 트랜잭션에서 전이(아직 fromStatus인 주문만 바뀜)
+     * @return 전이한 주문 수
+     */
+    public int transitionOrders(List<Long> orderIds, OrderStatusEnum fromStatus, OrderStatusEnum toStatus, LocalDateTime now) {
+        if (toStatus == OrderStatusEnum.RETURN_COMPLETED) {
+            return completeReturns(orderIds, now);
         }
+        Integer updated = transactionTemplate.execute(status -> orderRepository.updateOrderStatus(orderIds, fromStatus, toStatus, now));
+        return updated == null ? 0 : updated;
+    }
 
-        orderRepository.saveAll(orders);
+    // 반품 완료 청크: 상태를 바꾼 주문의 재고만 옵션별로 합산해 복원
+    private int completeReturns(List<Long> orderIds, LocalDateTime now) {
+        List<DetuctedProductInfo> restoredStocks = new ArrayList<>();
+        Integer completed = transactionTemplate.execute(status -> {
+            List<Long> lockedOrderIds = orderRepository.findIdsForUpdate(orderIds, OrderStatusEnum.RETURN_REQUESTED);
+            if (lockedOrderIds.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (OrderProductQuantityDto orderProductQuantity : orderProductRepository.sumQuantitiesByOrderIds(lockedOrderIds)) {
+                quantities.put(orderProductQuantity.getProductOptionId(), orderProductQuantity.getQuantity().intValue());
+                restoredStocks.add(DetuctedProductInfo.builder()
+                        .productId(orderProductQuantity.getProductId())
+                        .productOptionId(orderProductQuantity.getProductOptionId())
+                        .productOptionStock(orderProductQuantity.getQuantity().intValue())
+                        .build());
+            }
+            productOptionRepository.addStocks(quantities);
+            return orderRepository.updateOrderStatus(lockedOrderIds, OrderStatusEnum.RETURN_REQUESTED, OrderStatusEnum.RETURN_COMPLETED, now);
+        });
+
+        // MySQL 커밋 후 Redis 재고에도 반영(실패하면 재고 정합성 확인에서 차이로 기록됨)
+        try {
+            redisService.deductRollbackStocks(restoredStocks);
+        } catch (RuntimeException e) {
+            log.error("반품 재고 Redis 반영 실패: options={}, e={}", restoredStocks.size(), e.toString());
+        }
+        return completed == null ? 0 : completed;
     }
 }
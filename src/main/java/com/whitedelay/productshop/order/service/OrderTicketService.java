@@ -0,0 +1,110 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.OrderTicketResponseDto;
+import com.whitedelay.productshop.order.entity.OrderTicketStatusEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 주문 접수 티켓
+ * 결제 요청은 주문 저장 전에 응답하므로, 티켓(Redis 해시)으로 주문 저장 결과(PENDING/PERSISTED/FAILED)와 주문 아이디를 조회할 수 있게 함
+ * 주문 저장 워커가 티켓 상태를 갱신하며, 티켓은 일정 시간(ORDER_TICKET_TTL_SECONDS) 뒤 만료됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTicketService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${ORDER_TICKET_TTL_SECONDS:86400}")
+    private long ticketTtlSeconds;
+
+    private static final String MEMBER_ID = "memberId";
+    private static final String STATUS = "status";
+    private static final String ORDER_ID = "orderId";
+
+    // 만료된 티켓에 상태를 기록하면 TTL 없는 키가 생기므로 티켓이 있을 때만 갱신하는 스크립트 사용
+    private static final RedisScript<Long> UPDATE_TICKETS_SCRIPT = RedisScript.of(new ClassPathResource("redis/update-tickets.lua"), Long.class);
+
+    private String getTicketKey(String ticketId) {
+        return productNamespace + ":order-ticket:" + ticketId;
+    }
+
+    /**
+     * 주문 접수 티켓 생성(PENDING)
+     * @return 티켓 아이디
+     */
+    public String createTicket(Member member) {
+        String ticketId = UUID.randomUUID().toString();
+        byte[] ticketKey = getTicketKey(ticketId).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(ticketKey, Map.of(
+                    MEMBER_ID.getBytes(StandardCharsets.UTF_8), String.valueOf(member.getId()).getBytes(StandardCharsets.UTF_8),
+                    STATUS.getBytes(StandardCharsets.UTF_8), OrderTicketStatusEnum.PENDING.name().getBytes(StandardCharsets.UTF_8)
+            ));
+            connection.keyCommands().expire(ticketKey, ticketTtlSeconds);
+            return null;
+        });
+        return ticketId;
+    }
+
+    /**
+     * 저장된 주문을 티켓에 기록(묶음 저장은 스크립트 한 번으로 기록)
+     * 이미 만료된 티켓은 기록하지 않음
+     * @param orderIds 티켓 아이디별 저장된 주문 아이디
+     */
+    public void markPersisted(Map<String, Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<String> ticketKeys = new ArrayList<>(orderIds.size());
+        List<String> args = new ArrayList<>(orderIds.size() + 1);
+        args.add(OrderTicketStatusEnum.PERSISTED.name());
+        orderIds.forEach((ticketId, orderId) -> {
+            ticketKeys.add(getTicketKey(ticketId));
+            args.add(String.valueOf(orderId));
+        });
+        redisTemplate.execute(UPDATE_TICKETS_SCRIPT, ticketKeys, args.toArray());
+    }
+
+    public void markFailed(String ticketId) {
+        redisTemplate.execute(UPDATE_TICKETS_SCRIPT, List.of(getTicketKey(ticketId)), OrderTicketStatusEnum.FAILED.name());
+    }
+
+    /**
+     * 티켓 조회(본인 티켓만 조회 가능)
+     * @return 주문 저장 상태와 저장된 주문 아이디
+     */
+    public OrderTicketResponseDto getTicket(Member member, String ticketId) {
+        Map<Object, Object> ticket = redisTemplate.opsForHash().entries(getTicketKey(ticketId));
+        if (ticket.isEmpty() || !String.valueOf(member.getId()).equals(ticket.get(MEMBER_ID))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "주문 접수 정보가 없습니다.");
+        }
+
+        String orderId = (String) ticket.get(ORDER_ID);
+        return OrderTicketResponseDto.builder()
+                .ticketId(ticketId)
+                .status(OrderTicketStatusEnum.valueOf((String) ticket.get(STATUS)))
+                .orderId(orderId == null ? null : Long.parseLong(orderId))
+                .build();
+    }
+}
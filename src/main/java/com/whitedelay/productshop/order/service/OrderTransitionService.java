@@ -0,0 +1,254 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.order.dto.OrderTransitionDto;
+import com.whitedelay.productshop.order.entity.Order;
+import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import com.whitedelay.productshop.order.repository.OrderRepository;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 주문별 상태 전이 예약
+ * 주문이 저장되거나 상태가 바뀌면 다음 전이 예정 시각을 Redis ZSET에 넣고, 워커가 예정 시각이 지난 항목을 조금씩 꺼내 전이함
+ * 자정에 한 번에 몰리던 전이가 하루 동안 나눠지고, 주문마다 정해진 시각에 전이됨
+ * 전이 UPDATE는 현재 상태를 조건으로 하므로 취소 등으로 상태가 바뀐 주문의 예약은 아무것도 바꾸지 않음
+ * 꺼낸 항목은 처리 기한과 함께 처리 중 ZSET으로 옮기고 처리가 끝나면 지움. 처리 중 노드가 종료되면 기한이 지난 뒤 다시 꺼내짐
+ * 그 밖에 빠진 예약(예약 실패 등)은 서버 시작 시 DB의 진행 중 주문으로 다시 채움(backfill)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTransitionService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final OrderRepository orderRepository;
+    private final OrderStatusUpdateService orderStatusUpdateService;
+    private final NodeIdentity nodeIdentity;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${ORDER_TRANSITION_BATCH_SIZE:200}")
+    private int batchSize;
+
+    @Value("${ORDER_TRANSITION_RETRY_MS:60000}")
+    private long retryMs;
+
+    @Value("${ORDER_TRANSITION_VISIBILITY_MS:300000}")
+    private long visibilityMs;
+
+    @Value("${ORDER_TRANSITION_BACKFILL_ON_STARTUP:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${ORDER_TRANSITION_BACKFILL_PAGE_SIZE:5000}")
+    private int backfillPageSize;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POP_DUE_TRANSITIONS_SCRIPT = RedisScript.of(new ClassPathResource("redis/pop-due-transitions.lua"), List.class);
+
+    // 현재 상태 → 다음 상태
+    private static final Map<OrderStatusEnum, OrderStatusEnum> NEXT_STATUS = Map.of(
+            OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING,
+            OrderStatusEnum.SHIPPING, OrderStatusEnum.DELIVERY_COMPLETED,
+            OrderStatusEnum.RETURN_REQUESTED, OrderStatusEnum.RETURN_COMPLETED
+    );
+
+    // 다음 상태로 전이하는 시각(주문 시각 기준)
+    // 배송중: 주문 D+1, 배송완료: 주문 D+2, 반품완료: 주문 D+3(반품 신청 후 D+1에 재고 반영)
+    private static final Map<OrderStatusEnum, Duration> TRANSITION_DELAY = Map.of(
+            OrderStatusEnum.PAYMENT_COMPLETED, Duration.ofDays(1),
+            OrderStatusEnum.SHIPPING, Duration.ofDays(2),
+            OrderStatusEnum.RETURN_REQUESTED, Duration.ofDays(3)
+    );
+
+    private Counter transitionedCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("order.transition.scheduled", this, OrderTransitionService::countScheduled)
+                .description("예약된 주문 상태 전이 수")
+                .register(meterRegistry);
+        transitionedCounter = Counter.builder("order.transition.transitioned")
+                .description("예약 시각에 상태를 전이한 주문 수")
+                .register(meterRegistry);
+    }
+
+    private String getTransitionKey() {
+        return productNamespace + ":order-transitions";
+    }
+
+    private String getProcessingKey() {
+        return productNamespace + ":order-transitions-processing";
+    }
+
+    private String getBackfillLockKey() {
+        return productNamespace + ":order-transition-backfill-lock";
+    }
+
+    private long countScheduled() {
+        Long count = redisTemplate.opsForZSet().zCard(getTransitionKey());
+        return count == null ? 0 : count;
+    }
+
+    // 저장되거나 상태가 바뀐 주문의 다음 전이 예약(실패해도 주문 처리는 계속하며, 빠진 예약은 backfill로 채움)
+    public void scheduleOrders(List<Order> orders) {
+        try {
+            schedule(orders.stream()
+                    .map(order -> new OrderTransitionDto(order.getOrderId(), order.getOrderStatus(), order.getOrderDate()))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.error("주문 상태 전이 예약 실패: orders={}, e={}", orders.size(), e.toString());
+        }
+    }
+
+    private void schedule(List<OrderTransitionDto> transitions) {
+        List<OrderTransitionDto> scheduled = transitions.stream()
+                .filter(transition -> NEXT_STATUS.containsKey(transition.getOrderStatus()))
+                .toList();
+        if (scheduled.isEmpty()) {
+            return;
+        }
+        byte[] transitionKey = getTransitionKey().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OrderTransitionDto transition : scheduled) {
+                long dueAt = toEpochMilli(transition.getOrderDate()) + TRANSITION_DELAY.get(transition.getOrderStatus()).toMillis();
+                connection.zSetCommands().zAdd(transitionKey, dueAt, toMember(transition));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 예정 시각이 지난 전이 처리
+     * 꺼낸 항목을 현재 상태별로 묶어 한 번에 전이하고, 전이 후 상태에 다음 전이가 있으면 이어서 예약함
+     */
+    @Scheduled(fixedDelayString = "${ORDER_TRANSITION_POLL_MS:1000}")
+    @SuppressWarnings("unchecked")
+    public void transitionDueOrders() {
+        List<String> dueTransitions;
+        do {
+            long now = System.currentTimeMillis();
+            dueTransitions = redisTemplate.execute(POP_DUE_TRANSITIONS_SCRIPT, List.of(getTransitionKey(), getProcessingKey()),
+                    String.valueOf(now), String.valueOf(batchSize), String.valueOf(now + visibilityMs));
+            if (dueTransitions == null || dueTransitions.isEmpty()) {
+                return;
+            }
+
+            Map<OrderStatusEnum, List<OrderTransitionDto>> transitionsByStatus = new EnumMap<>(OrderStatusEnum.class);
+            for (String dueTransition : dueTransitions) {
+                OrderTransitionDto transition = parse(dueTransition);
+                transitionsByStatus.computeIfAbsent(transition.getOrderStatus(), status -> new ArrayList<>()).add(transition);
+            }
+            transitionsByStatus.forEach(this::transition);
+        } while (dueTransitions.size() >= batchSize);
+    }
+
+    private void transition(OrderStatusEnum fromStatus, List<OrderTransitionDto> transitions) {
+        OrderStatusEnum toStatus = NEXT_STATUS.get(fromStatus);
+        List<Long> orderIds = transitions.stream().map(OrderTransitionDto::getOrderId).toList();
+        try {
+            int transitioned = orderStatusUpdateService.transitionOrders(orderIds, fromStatus, toStatus, LocalDateTime.now());
+            transitionedCounter.increment(transitioned);
+            // 상태 조건으로 전이되지 않은 주문의 다음 예약도 함께 들어가지만, 그 전이 역시 상태 조건 때문에 아무것도 바꾸지 않음
+            schedule(transitions.stream()
+                    .map(transition -> new OrderTransitionDto(transition.getOrderId(), toStatus, transition.getOrderDate()))
+                    .toList());
+        } catch (RuntimeException e) {
+            // 실패한 묶음은 일정 시간 뒤 다시 시도
+            log.error("주문 상태 전이 실패(재시도 예정): {} -> {}, orders={}, e={}", fromStatus, toStatus, orderIds.size(), e.toString());
+            byte[] transitionKey = getTransitionKey().getBytes(StandardCharsets.UTF_8);
+            long retryAt = System.currentTimeMillis() + retryMs;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (OrderTransitionDto transition : transitions) {
+                    connection.zSetCommands().zAdd(transitionKey, retryAt, toMember(transition));
+                }
+                return null;
+            });
+        }
+        acknowledge(transitions);
+    }
+
+    // 처리가 끝난(전이했거나 재시도를 예약한) 항목을 처리 중 ZSET에서 삭제(실패하면 처리 기한 뒤 다시 꺼내져 한 번 더 전이되지만 상태 조건으로 바뀌지 않음)
+    private void acknowledge(List<OrderTransitionDto> transitions) {
+        redisTemplate.opsForZSet().remove(getProcessingKey(), transitions.stream().map(this::toMemberString).toArray());
+    }
+
+    /**
+     * 서버 시작 시 진행 중인 주문의 전이 예약을 DB 기준으로 다시 채움
+     * 이미 있는 예약은 같은 항목으로 덮어쓰므로 중복되지 않으며, 여러 노드 중 락을 잡은 한 노드만 실행함
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(getBackfillLockKey(), nodeIdentity.getNodeId(), Duration.ofMinutes(10));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+
+        try {
+            long startedAt = System.currentTimeMillis();
+            long scheduled = 0;
+            Long lastOrderId = 0L;
+            while (true) {
+                List<OrderTransitionDto> page = orderRepository.findTransitionsAfter(NEXT_STATUS.keySet(), lastOrderId, PageRequest.of(0, backfillPageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                schedule(page);
+                scheduled += page.size();
+                lastOrderId = page.getLast().getOrderId();
+            }
+            log.info("주문 상태 전이 예약 적재 완료: orders={}, elapsed={}ms", scheduled, System.currentTimeMillis() - startedAt);
+        } finally {
+            redisTemplate.delete(getBackfillLockKey());
+        }
+    }
+
+    // ZSET 항목: "주문아이디:현재상태:주문시각(ms)"
+    private byte[] toMember(OrderTransitionDto transition) {
+        return toMemberString(transition).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String toMemberString(OrderTransitionDto transition) {
+        return transition.getOrderId() + ":" + transition.getOrderStatus().name() + ":" + toEpochMilli(transition.getOrderDate());
+    }
+
+    private OrderTransitionDto parse(String transition) {
+        String[] fields = transition.split(":");
+        return new OrderTransitionDto(
+                Long.parseLong(fields[0]),
+                OrderStatusEnum.valueOf(fields[1]),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(fields[2])), ZoneId.systemDefault()));
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
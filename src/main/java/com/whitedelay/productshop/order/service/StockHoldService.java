@@ -0,0 +1,249 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.order.dto.OrderProductResponseDto;
+import com.whitedelay.productshop.order.dto.StockHoldDto;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 결제 전 재고 보류
+ * 주문 정보 조회 시 재고를 미리 차감해 두고, 결제 시 보류를 사용해 재고 차감 없이 주문함
+ * 보류는 Redis 해시(상품 목록)와 만료 시각 ZSET으로 관리하며, 만료된 보류는 주기적으로 한 번에 꺼내 재고를 복원함
+ * 회원당 상품 옵션별로 유지 중인 보류는 하나만 허용함(보류 자리 키, 보류와 같은 시간 뒤 만료)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockHoldService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisService redisService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${STOCK_HOLD_TTL_SECONDS:300}")
+    private long holdTtlSeconds;
+
+    @Value("${STOCK_HOLD_RELEASE_BATCH_SIZE:500}")
+    private int releaseBatchSize;
+
+    private static final RedisScript<String> CONSUME_HOLD_SCRIPT = RedisScript.of(new ClassPathResource("redis/consume-hold.lua"), String.class);
+
+    private static final RedisScript<Long> CLAIM_HOLD_SLOTS_SCRIPT = RedisScript.of(new ClassPathResource("redis/claim-hold-slots.lua"), Long.class);
+
+    private static final RedisScript<Long> RELEASE_HOLD_SLOTS_SCRIPT = RedisScript.of(new ClassPathResource("redis/release-hold-slots.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POP_EXPIRED_HOLDS_SCRIPT = RedisScript.of(new ClassPathResource("redis/pop-expired-holds.lua"), List.class);
+
+    private Counter placedCounter;
+    private Counter consumedCounter;
+    private Counter expiredCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("stock.hold.active", this, StockHoldService::countActiveHolds)
+                .description("현재 유지 중인 재고 보류 수")
+                .register(meterRegistry);
+        placedCounter = Counter.builder("stock.hold.placed").description("생성한 재고 보류 수").register(meterRegistry);
+        consumedCounter = Counter.builder("stock.hold.consumed").description("결제에 사용한 재고 보류 수").register(meterRegistry);
+        expiredCounter = Counter.builder("stock.hold.expired").description("만료로 복원한 재고 보류 수").register(meterRegistry);
+    }
+
+    private String getHoldKeyPrefix() {
+        return productNamespace + ":hold:";
+    }
+
+    private String getHoldExpiryKey() {
+        return productNamespace + ":holds";
+    }
+
+    private String getHoldSlotKey(Long memberId, Long productOptionId) {
+        return productNamespace + ":hold-slot:" + memberId + ":" + productOptionId;
+    }
+
+    private long countActiveHolds() {
+        Long count = redisTemplate.opsForZSet().zCard(getHoldExpiryKey());
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 재고 보류 생성
+     * 회원의 보류 자리를 먼저 확보한 뒤 주문 상품 재고를 Redis에서 차감(전부 성공 또는 전부 실패)하고 보류 만료 시각과 함께 기록함
+     * @return 보류 아이디와 만료 시각
+     */
+    public StockHoldDto placeHold(Member member, List<OrderProductResponseDto> orderProductList) {
+        List<DetuctedProductInfo> stockList = orderProductList.stream()
+                .map(DetuctedProductInfo::from)
+                .toList();
+
+        String holdId = UUID.randomUUID().toString();
+        List<String> slotKeys = getHoldSlotKeys(member.getId(), stockList);
+        Long claimed = redisTemplate.execute(CLAIM_HOLD_SLOTS_SCRIPT, slotKeys, holdId, String.valueOf(holdTtlSeconds * 1000));
+        if (claimed == null || claimed != 1L) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 재고 보류 중인 상품 옵션이 있습니다.");
+        }
+
+        List<Boolean> results;
+        try {
+            results = stockList.size() > 1
+                    ? redisService.deductStocks(stockList)
+                    : List.of(redisService.deductStock(stockList.getFirst().getProductId(), stockList.getFirst().getProductOptionId(), stockList.getFirst().getProductOptionStock()));
+        } catch (RuntimeException e) {
+            releaseHoldSlots(holdId, slotKeys);
+            throw e;
+        }
+        if (results.contains(false)) {
+            releaseHoldSlots(holdId, slotKeys);
+            String soldOutOptionIds = IntStream.range(0, stockList.size())
+                    .filter(i -> !results.get(i))
+                    .mapToObj(i -> String.valueOf(stockList.get(i).getProductOptionId()))
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다. (상품 옵션: " + soldOutOptionIds + ")");
+        }
+
+        long expiresAt = System.currentTimeMillis() + holdTtlSeconds * 1000;
+        try {
+            byte[] holdKey = (getHoldKeyPrefix() + holdId).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hMSet(holdKey, Map.of(
+                        "memberId".getBytes(StandardCharsets.UTF_8), String.valueOf(member.getId()).getBytes(StandardCharsets.UTF_8),
+                        "items".getBytes(StandardCharsets.UTF_8), encodeItems(stockList).getBytes(StandardCharsets.UTF_8)
+                ));
+                connection.zSetCommands().zAdd(getHoldExpiryKey().getBytes(StandardCharsets.UTF_8), expiresAt, holdId.getBytes(StandardCharsets.UTF_8));
+                return null;
+            });
+            // 보류한 재고는 MySQL에 반영되지 않았으므로 저장 대기 재고로 기록
+            redisService.reserveStocks(stockList);
+        } catch (RuntimeException e) {
+            redisService.deductRollbackStocks(stockList);
+            releaseHoldSlots(holdId, slotKeys);
+            throw e;
+        }
+
+        placedCounter.increment();
+        return StockHoldDto.builder()
+                .holdId(holdId)
+                .holdExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * 결제 시 재고 보류 사용
+     * 보류한 상품과 주문 상품이 다르면 보류를 해제(재고 복원)하고 예외를 던짐
+     * @return 보류로 차감돼 있던 재고 목록(주문 접수 실패 시 복원에 사용)
+     */
+    public List<DetuctedProductInfo> consumeHold(Member member, String holdId, List<OrderProductResponseDto> orderProductList) {
+        String items = redisTemplate.execute(CONSUME_HOLD_SCRIPT,
+                List.of(getHoldKeyPrefix() + holdId, getHoldExpiryKey()),
+                holdId, String.valueOf(member.getId()), String.valueOf(System.currentTimeMillis()));
+        if (items == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "재고 보류가 없거나 만료되었습니다.");
+        }
+
+        List<DetuctedProductInfo> heldStockList = decodeItems(items);
+        // 보류 재고는 이제 주문 접수 시 다시 저장 대기 재고로 기록됨
+        redisService.releaseReservedStocks(heldStockList);
+        releaseHoldSlots(holdId, getHoldSlotKeys(member.getId(), heldStockList));
+
+        List<DetuctedProductInfo> orderStockList = orderProductList.stream()
+                .map(DetuctedProductInfo::from)
+                .toList();
+        if (!toQuantityMap(heldStockList).equals(toQuantityMap(orderStockList))) {
+            redisService.deductRollbackStocks(heldStockList);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "재고 보류한 상품과 주문 상품이 다릅니다.");
+        }
+
+        consumedCounter.increment();
+        return heldStockList;
+    }
+
+    // 만료된 보류를 한 번에 꺼내 재고 복원
+    @Scheduled(fixedDelayString = "${STOCK_HOLD_RELEASE_MS:1000}")
+    @SuppressWarnings("unchecked")
+    public void releaseExpiredHolds() {
+        List<String> expiredItems;
+        do {
+            expiredItems = redisTemplate.execute(POP_EXPIRED_HOLDS_SCRIPT, List.of(getHoldExpiryKey()),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(releaseBatchSize), getHoldKeyPrefix());
+            if (expiredItems == null || expiredItems.isEmpty()) {
+                return;
+            }
+
+            List<DetuctedProductInfo> stockList = expiredItems.stream()
+                    .flatMap(items -> decodeItems(items).stream())
+                    .toList();
+            redisService.deductRollbackStocks(stockList);
+            redisService.releaseReservedStocks(stockList);
+            expiredCounter.increment(expiredItems.size());
+            log.info("만료된 재고 보류 복원: holds={}", expiredItems.size());
+        } while (expiredItems.size() >= releaseBatchSize);
+    }
+
+    private List<String> getHoldSlotKeys(Long memberId, List<DetuctedProductInfo> stockList) {
+        return stockList.stream()
+                .map(DetuctedProductInfo::getProductOptionId)
+                .distinct()
+                .map(productOptionId -> getHoldSlotKey(memberId, productOptionId))
+                .toList();
+    }
+
+    // 보류 자리 해제(실패해도 보류 유지 시간 뒤 만료되므로 기록만 남김)
+    private void releaseHoldSlots(String holdId, List<String> slotKeys) {
+        try {
+            redisTemplate.execute(RELEASE_HOLD_SLOTS_SCRIPT, slotKeys, holdId);
+        } catch (RuntimeException e) {
+            log.warn("재고 보류 자리 해제 실패: holdId={}, e={}", holdId, e.toString());
+        }
+    }
+
+    // 상품 목록을 "상품아이디:옵션아이디:수량;..." 형태로 저장
+    private String encodeItems(List<DetuctedProductInfo> stockList) {
+        return stockList.stream()
+                .map(stock -> stock.getProductId() + ":" + stock.getProductOptionId() + ":" + stock.getProductOptionStock())
+                .collect(Collectors.joining(";"));
+    }
+
+    private List<DetuctedProductInfo> decodeItems(String items) {
+        return Arrays.stream(items.split(";"))
+                .map(item -> item.split(":"))
+                .map(item -> DetuctedProductInfo.builder()
+                        .productId(Long.parseLong(item[0]))
+                        .productOptionId(Long.parseLong(item[1]))
+                        .productOptionStock(Integer.parseInt(item[2]))
+                        .build())
+                .toList();
+    }
+
+    private Map<Long, Integer> toQuantityMap(List<DetuctedProductInfo> stockList) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        stockList.forEach(stock -> quantities.merge(stock.getProductOptionId(), stock.getProductOptionStock(), Integer::sum));
+        return quantities;
+    }
+}
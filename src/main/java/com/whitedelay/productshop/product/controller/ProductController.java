@@ -2,6 +2,7 @@ package com.whitedelay.productshop.product.controller;
 
 import com.whitedelay.productshop.product.dto.*;
 import com.whitedelay.productshop.product.service.ProductService;
+import com.whitedelay.productshop.product.service.StockWarmupService;
 import com.whitedelay.productshop.util.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -14,6 +15,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final StockWarmupService stockWarmupService;
 
     private static final String BASE_PRODUCT = "/products";
 
@@ -34,6 +36,23 @@ public class ProductController {
         return ApiResponse.createSuccess(productService.getAllProductList(page, size, productTitle));
     }
 
+    /**
+     * GET
+     * 상품 정보 리스트 및 상품명 검색(커서 방식, 최신 상품부터)
+     * @param cursor 이전 응답의 다음 커서(첫 페이지는 생략)
+     * @param size 한 번에 띄울 수
+     * @param productTitle 상품명
+     * @return 상품 정보 리스트와 다음 커서 DTO
+     */
+    @GetMapping(BASE_PRODUCT + "/cursor")
+    public ApiResponse<ProductCursorResponseDto> getProductListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam int size,
+            @RequestParam(required = false) String productTitle
+    ) {
+        return ApiResponse.createSuccess(productService.getProductListByCursor(cursor, size, productTitle));
+    }
+
     /**
      * GET
      * 상품 정보 상세
@@ -93,4 +112,31 @@ public class ProductController {
     ) {
         return ApiResponse.createSuccess(productService.updateProductOptionStock(productId, productOptionId, productOptionStockRequestDto));
     }
+
+    /**
+     * PATCH
+     * 상품 옵션 재고 리스 모드 설정(관리자)
+     * @param productId 상품 아이디
+     * @param productOptionId 상품 옵션 아이디
+     * @param productOptionLeaseRequestDto 노드별 리스 크기(0이면 해제)
+     * @return 리스 모드 설정 여부(T/F)
+     */
+    @PatchMapping(BASE_PRODUCT + "/{productId}/{productOptionId}/lease")
+    public ApiResponse<Boolean> updateProductOptionLease(
+        @PathVariable Long productId,
+        @PathVariable Long productOptionId,
+        @RequestBody ProductOptionLeaseRequestDto productOptionLeaseRequestDto
+    ) {
+        return ApiResponse.createSuccess(productService.updateProductOptionLease(productId, productOptionId, productOptionLeaseRequestDto));
+    }
+
+    /**
+     * POST
+     * Redis 재고 적재(관리자, Redis 재고 키가 없는 상품 옵션만 MySQL 재고로 채움)
+     * @return 새로 적재한 재고 키 수
+     */
+    @PostMapping(BASE_PRODUCT + "/stock/warmup")
+    public ApiResponse<Long> warmupStock() {
+        return ApiResponse.createSuccess(stockWarmupService.warmup());
+    }
 }
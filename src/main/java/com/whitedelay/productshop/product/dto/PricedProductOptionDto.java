@@ -0,0 +1,16 @@
+package com.whitedelay.productshop.product.dto;
+
+import com.whitedelay.productshop.product.entity.Product;
+import com.whitedelay.productshop.product.entity.ProductOption;
+import lombok.Builder;
+import lombok.Getter;
+
+// 가격을 계산한 주문/장바구니 상품
+@Getter
+@Builder
+public class PricedProductOptionDto {
+    private Product product;
+    private ProductOption productOption;
+    private int quantity;
+    private int productTotalPrice; // (상품 가격 + 옵션 가격) * 수량
+}
@@ -0,0 +1,22 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ProductCursorResponseDto {
+    private List<ProductListResponseDto> productList;
+    private String nextCursor; // 다음 페이지 요청에 그대로 전달(마지막 페이지면 null)
+    private boolean hasNext;
+
+    public static ProductCursorResponseDto from(List<ProductListResponseDto> productList, String nextCursor) {
+        return ProductCursorResponseDto.builder()
+                .productList(productList)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+}
@@ -2,13 +2,17 @@ package com.whitedelay.productshop.product.dto;
 
 import com.whitedelay.productshop.image.dto.ImageResponseDto;
 import com.whitedelay.productshop.product.entity.Product;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductDetailResponseDto {
     private Long productId;
     private String productTitle;
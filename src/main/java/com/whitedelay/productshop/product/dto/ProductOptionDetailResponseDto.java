@@ -1,13 +1,17 @@
 package com.whitedelay.productshop.product.dto;
 
 import com.whitedelay.productshop.product.entity.ProductOption;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductOptionDetailResponseDto {
     private Long productOptionId;
     private String productOptionTitle;
@@ -0,0 +1,8 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.Getter;
+
+@Getter
+public class ProductOptionLeaseRequestDto {
+    private int leaseSize; // 노드가 한 번에 가져올 재고 수량(0이면 리스 모드 해제)
+}
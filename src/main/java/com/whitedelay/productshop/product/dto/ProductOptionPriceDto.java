@@ -0,0 +1,14 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 가격표에 사용하는 상품 옵션별 상품 가격/옵션 가격 조회 결과
+@Getter
+@AllArgsConstructor
+public class ProductOptionPriceDto {
+    private Long productOptionId;
+    private Long productId;
+    private int productPrice;
+    private int productOptionPrice;
+}
@@ -0,0 +1,13 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 재고 정합성 확인/재고 적재에 사용하는 상품 옵션 재고 조회 결과
+@Getter
+@AllArgsConstructor
+public class ProductOptionStockDto {
+    private Long productOptionId;
+    private Long productId;
+    private int productOptionStock;
+}
@@ -0,0 +1,12 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 주문 상세 조회에 사용하는 상품 옵션명 조회 결과
+@Getter
+@AllArgsConstructor
+public class ProductOptionTitleDto {
+    private Long productOptionId;
+    private String productOptionTitle;
+}
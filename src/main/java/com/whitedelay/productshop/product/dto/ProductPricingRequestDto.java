@@ -0,0 +1,13 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 가격 계산 대상(상품, 상품 옵션, 수량)
+@Getter
+@AllArgsConstructor
+public class ProductPricingRequestDto {
+    private Long productId;
+    private Long productOptionId;
+    private int quantity;
+}
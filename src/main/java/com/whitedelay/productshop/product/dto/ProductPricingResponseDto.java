@@ -0,0 +1,16 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 가격 계산 결과(요청 순서와 같은 순서의 상품 목록과 합계)
+@Getter
+@Builder
+public class ProductPricingResponseDto {
+    private List<PricedProductOptionDto> pricedProducts;
+    private int productTotalPrice; // 상품 금액 합계
+    private int shippingFee;
+    private int orderPrice; // 상품 금액 합계 + 배송비
+}
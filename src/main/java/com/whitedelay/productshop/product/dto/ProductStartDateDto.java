@@ -0,0 +1,14 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 판매 시작 예약 적재에 사용하는 상품 판매 시작 시각 조회 결과
+@Getter
+@AllArgsConstructor
+public class ProductStartDateDto {
+    private Long productId;
+    private LocalDateTime productStartDate;
+}
@@ -0,0 +1,12 @@
+package com.whitedelay.productshop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 상품명 검색 색인 적재에 사용하는 상품명 조회 결과
+@Getter
+@AllArgsConstructor
+public class ProductTitleDto {
+    private Long productId;
+    private String productTitle;
+}
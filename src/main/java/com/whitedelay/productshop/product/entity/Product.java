@@ -14,7 +14,9 @@ import java.util.List;
 //@NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "product")
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_status_start_date", columnList = "product_status, product_start_date")
+})
 public class Product extends Timestamped {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
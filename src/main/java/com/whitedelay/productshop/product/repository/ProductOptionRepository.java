@@ -1,8 +1,12 @@
 package com.whitedelay.productshop.product.repository;
 
+import com.whitedelay.productshop.product.dto.ProductOptionPriceDto;
+import com.whitedelay.productshop.product.dto.ProductOptionStockDto;
+import com.whitedelay.productshop.product.dto.ProductOptionTitleDto;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductOption;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -13,7 +17,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductOptionRepository extends JpaRepository<ProductOption, Long> {
+public interface ProductOptionRepository extends JpaRepository<ProductOption, Long>, ProductOptionRepositoryCustom {
 //    Optional<ProductOption> findByProductOptionId(Long orderProductOptionId);
 
     List<ProductOption> findByProduct(Product product);
@@ -28,9 +32,44 @@ public interface ProductOptionRepository extends JpaRepository<ProductOption, Lo
     @Query("UPDATE ProductOption po SET po.productOptionStock = :quantity WHERE po.productOptionId = :productOptionId")
     int updateStock(@Param("productOptionId") Long productOptionId, @Param("quantity") int quantity);
 
+    // 재고가 충분할 때만 차감(행 잠금 없이 한 번의 UPDATE로 확인과 차감을 같이 처리), 차감되지 않으면 0 반환
+    @Modifying
+    @Query("UPDATE ProductOption po SET po.productOptionStock = po.productOptionStock - :quantity WHERE po.productOptionId = :productOptionId AND po.productOptionStock >= :quantity")
+    int deductStock(@Param("productOptionId") Long productOptionId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE ProductOption po SET po.productOptionStock = po.productOptionStock + :quantity WHERE po.productOptionId = :productOptionId")
+    int addStock(@Param("productOptionId") Long productOptionId, @Param("quantity") int quantity);
+
+    // 상품에 속한 옵션일 때만 재고 증가(다른 상품의 옵션이면 0 반환)
+    @Modifying
+    @Query("UPDATE ProductOption po SET po.productOptionStock = po.productOptionStock + :quantity WHERE po.productOptionId = :productOptionId AND po.product.productId = :productId")
+    int addStockOfProduct(@Param("productId") Long productId, @Param("productOptionId") Long productOptionId, @Param("quantity") int quantity);
+
+    @Query("SELECT po.productOptionStock FROM ProductOption po WHERE po.productOptionId = :productOptionId AND po.product.productId = :productId")
+    Optional<Integer> findStockByProductIdAndProductOptionId(@Param("productId") Long productId, @Param("productOptionId") Long productOptionId);
+
+    // 상품 옵션 ID 기준 키셋 페이지 조회(OFFSET 없이 마지막 ID 다음부터 조회)
+    @Query("SELECT new com.whitedelay.productshop.product.dto.ProductOptionStockDto(po.productOptionId, po.product.productId, po.productOptionStock) " +
+            "FROM ProductOption po WHERE po.productOptionId > :lastProductOptionId ORDER BY po.productOptionId")
+    List<ProductOptionStockDto> findStocksAfter(@Param("lastProductOptionId") Long lastProductOptionId, Pageable pageable);
+
+    // 가격표 적재용 키셋 페이지 조회
+    @Query("SELECT new com.whitedelay.productshop.product.dto.ProductOptionPriceDto(po.productOptionId, p.productId, p.productPrice, po.productOptionPrice) " +
+            "FROM ProductOption po JOIN po.product p WHERE po.productOptionId > :lastProductOptionId ORDER BY po.productOptionId")
+    List<ProductOptionPriceDto> findPricesAfter(@Param("lastProductOptionId") Long lastProductOptionId, Pageable pageable);
+
+    @Query("SELECT new com.whitedelay.productshop.product.dto.ProductOptionPriceDto(po.productOptionId, p.productId, p.productPrice, po.productOptionPrice) " +
+            "FROM ProductOption po JOIN po.product p WHERE po.productOptionId IN :productOptionIds")
+    List<ProductOptionPriceDto> findPricesByProductOptionIdIn(@Param("productOptionIds") Collection<Long> productOptionIds);
+
     @Query("SELECT po.productOptionTitle FROM ProductOption po WHERE po.productOptionId = :orderProductOptionId")
     String findProductOptionTitleById(@Param("orderProductOptionId") Long orderProductOptionId);
 
+    @Query("SELECT new com.whitedelay.productshop.product.dto.ProductOptionTitleDto(po.productOptionId, po.productOptionTitle) " +
+            "FROM ProductOption po WHERE po.productOptionId IN :productOptionIds")
+    List<ProductOptionTitleDto> findProductOptionTitlesByIds(@Param("productOptionIds") Collection<Long> productOptionIds);
+
 //    return jpaQueryFactory.select(
 //            new QMemberDto(
 //            member.userId,
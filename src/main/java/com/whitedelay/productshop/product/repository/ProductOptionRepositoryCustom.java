@@ -0,0 +1,12 @@
+package com.whitedelay.productshop.product.repository;
+
+import java.util.Map;
+
+public interface ProductOptionRepositoryCustom {
+
+    // 상품 옵션별 수량을 한 번의 JDBC 배치로 차감(하나라도 재고가 부족하면 예외 발생, 호출 측 트랜잭션이 롤백됨)
+    void deductStocks(Map<Long, Integer> quantities);
+
+    // 상품 옵션별 수량을 한 번의 JDBC 배치로 증가
+    void addStocks(Map<Long, Integer> quantities);
+}
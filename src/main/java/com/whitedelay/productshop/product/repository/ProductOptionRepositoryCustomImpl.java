@@ -0,0 +1,48 @@
+package com.whitedelay.productshop.product.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 상품 옵션 재고 일괄 갱신
+ * 행 잠금 없이 조건부 UPDATE로 차감하고, 옵션 ID 순서로 갱신해 트랜잭션 간 잠금 순서를 맞춤
+ */
+@RequiredArgsConstructor
+public class ProductOptionRepositoryCustomImpl implements ProductOptionRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void deductStocks(Map<Long, Integer> quantities) {
+        List<Object[]> args = toBatchArgs(quantities);
+        int[] results = jdbcTemplate.batchUpdate(
+                "UPDATE product_option SET product_option_stock = product_option_stock - ? " +
+                "WHERE product_option_id = ? AND product_option_stock >= ?",
+                args.stream().map(arg -> new Object[]{arg[0], arg[1], arg[0]}).toList());
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == 0) {
+                throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다. (상품 옵션: " + args.get(i)[1] + ")");
+            }
+        }
+    }
+
+    @Override
+    public void addStocks(Map<Long, Integer> quantities) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE product_option SET product_option_stock = product_option_stock + ? WHERE product_option_id = ?",
+                toBatchArgs(quantities));
+    }
+
+    // 옵션 ID 오름차순으로 [수량, 옵션 ID] 목록 생성
+    private List<Object[]> toBatchArgs(Map<Long, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>();
+        new TreeMap<>(quantities).forEach((productOptionId, quantity) -> args.add(new Object[]{quantity, productOptionId}));
+        return args;
+    }
+}
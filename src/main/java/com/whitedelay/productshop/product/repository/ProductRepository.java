@@ -1,29 +1,51 @@
 package com.whitedelay.productshop.product.repository;
 
+import com.whitedelay.productshop.product.dto.ProductStartDateDto;
+import com.whitedelay.productshop.product.dto.ProductTitleDto;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductStatusEnum;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
         Page<Product> findByProductTitleContaining(String productTitle, Pageable pageable);
         Optional<Product> findByProductId(Long productId);
 
-        List<Product> findByProductStatusAndProductStartDateBefore(ProductStatusEnum productStatusEnum, LocalDateTime now);
+        // 키셋 페이지 조회(상품 아이디 내림차순, COUNT 쿼리 없음)
+        List<Product> findByProductIdLessThanOrderByProductIdDesc(Long productId, Pageable pageable);
+        List<Product> findByProductTitleContainingAndProductIdLessThanOrderByProductIdDesc(String productTitle, Long productId, Pageable pageable);
 
-        @Lock(LockModeType.PESSIMISTIC_WRITE)
-        @Query("SELECT p FROM Product p WHERE p.productId = :productId")
-        Optional<Product> findByIdForUpdate(@Param("productId") Long productId);
+        @Query("SELECT new com.whitedelay.productshop.product.dto.ProductStartDateDto(p.productId, p.productStartDate) " +
+                "FROM Product p WHERE p.productStatus = :productStatus")
+        List<ProductStartDateDto> findStartDatesByProductStatus(@Param("productStatus") ProductStatusEnum productStatus);
+
+        // 벌크 UPDATE는 Auditing이 적용되지 않으므로 updatedAt을 직접 갱신
+        @Modifying
+        @Query("UPDATE Product p SET p.productStatus = :toStatus, p.updatedAt = :updatedAt " +
+                "WHERE p.productId IN :productIds AND p.productStatus = :fromStatus")
+        int updateProductStatus(
+                @Param("productIds") Collection<Long> productIds,
+                @Param("fromStatus") ProductStatusEnum fromStatus,
+                @Param("toStatus") ProductStatusEnum toStatus,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+        // 검색 색인 적재용 상품명 키셋 조회
+        @Query("SELECT new com.whitedelay.productshop.product.dto.ProductTitleDto(p.productId, p.productTitle) " +
+                "FROM Product p WHERE p.productId > :lastProductId ORDER BY p.productId")
+        List<ProductTitleDto> findTitlesAfter(@Param("lastProductId") Long lastProductId, Pageable pageable);
+
+        @Query("SELECT new com.whitedelay.productshop.product.dto.ProductTitleDto(p.productId, p.productTitle) " +
+                "FROM Product p WHERE p.productId IN :productIds")
+        List<ProductTitleDto> findTitlesByProductIdIn(@Param("productIds") Collection<Long> productIds);
 
 //        @Modifying
 //        @Query("UPDATE Product p SET p.productStock = :quantity WHERE p.productId = :productId")
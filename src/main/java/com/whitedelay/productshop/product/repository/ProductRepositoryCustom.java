@@ -0,0 +1,15 @@
+package com.whitedelay.productshop.product.repository;
+
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+
+    // 상품별 위시리스트 수 변화량을 한 번의 JDBC 배치로 반영
+    void addWishlistCounts(Map<Long, Integer> deltas);
+
+    // 상품 아이디 범위(lastProductId 초과 ~ maxProductId 이하)의 위시리스트 수를 위시리스트 테이블 기준으로 다시 계산
+    int recomputeWishlistCounts(long lastProductId, long maxProductId);
+
+    // 가장 큰 상품 아이디(상품이 없으면 0)
+    long findMaxProductId();
+}
@@ -0,0 +1,45 @@
+package com.whitedelay.productshop.product.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 상품 위시리스트 수 일괄 갱신
+ * 상품 ID 순서로 갱신해 트랜잭션 간 잠금 순서를 맞춤
+ */
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addWishlistCounts(Map<Long, Integer> deltas) {
+        List<Object[]> args = new ArrayList<>();
+        new TreeMap<>(deltas).forEach((productId, delta) -> args.add(new Object[]{delta, productId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE product SET product_wishlist_count = GREATEST(product_wishlist_count + ?, 0) WHERE product_id = ?",
+                args);
+    }
+
+    @Override
+    public int recomputeWishlistCounts(long lastProductId, long maxProductId) {
+        return jdbcTemplate.update(
+                "UPDATE product p " +
+                "LEFT JOIN (SELECT product_id, COUNT(*) AS wishlist_count FROM wishlist " +
+                "           WHERE product_id > ? AND product_id <= ? GROUP BY product_id) w ON w.product_id = p.product_id " +
+                "SET p.product_wishlist_count = COALESCE(w.wishlist_count, 0) " +
+                "WHERE p.product_id > ? AND p.product_id <= ? AND p.product_wishlist_count <> COALESCE(w.wishlist_count, 0)",
+                lastProductId, maxProductId, lastProductId, maxProductId);
+    }
+
+    @Override
+    public long findMaxProductId() {
+        Long maxProductId = jdbcTemplate.queryForObject("SELECT MAX(product_id) FROM product", Long.class);
+        return maxProductId == null ? 0 : maxProductId;
+    }
+}
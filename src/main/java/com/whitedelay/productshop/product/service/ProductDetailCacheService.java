@@ -0,0 +1,238 @@
+package com.whitedelay.productshop.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.whitedelay.productshop.product.dto.ProductDetailResponseDto;
+import com.whitedelay.productshop.product.dto.ProductOptionDetailResponseDto;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 상품 상세 캐시(L1 로컬 + L2 Redis)
+ * L1은 노드별 Caffeine 캐시(크기/TTL 제한), L2는 모든 노드가 공유하는 Redis 캐시(JSON)로, 둘 다 없을 때만 MySQL을 조회함
+ * 상품/옵션/이미지가 바뀌면 evict로 L2를 지우고 상품 변경 이벤트를 발행해 모든 노드의 L1을 지움
+ * 무효화(evict, 상품 변경 이벤트)할 때마다 상품의 버전을 올리고, MySQL에서 읽는 동안 버전이 바뀌었으면 읽은 상세를 캐시에 넣지 않아
+ * 무효화 전에 읽은 값이 무효화 후에 L2에 다시 들어가 TTL 동안 남는 일이 없게 함
+ * 버전은 상품 아이디별 구간(stripe)으로 나눠 관리하므로 한 상품의 무효화가 다른 상품의 적재를 버리지 않음
+ * 재고는 캐시 값을 쓰지 않고 조회할 때마다 Redis 재고 키를 MGET 한 번으로 읽어 덮어씀(재고 키가 없으면 캐시 값 사용)
+ * 리스가 켜진 옵션은 노드가 미리 가져간 리스 수량이 Redis 재고 키에 포함되지 않으므로 표시 재고가 실제보다 적을 수 있음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductDetailCacheService implements MessageListener {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final RedisService redisService;
+    private final ProductEventService productEventService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${PRODUCT_DETAIL_L1_MAX_SIZE:10000}")
+    private long localMaxSize;
+
+    @Value("${PRODUCT_DETAIL_L1_TTL_SECONDS:30}")
+    private long localTtlSeconds;
+
+    @Value("${PRODUCT_DETAIL_L2_TTL_SECONDS:600}")
+    private long redisTtlSeconds;
+
+    private Cache<Long, ProductDetailResponseDto> localCache;
+
+    private static final int VERSION_STRIPES = 1024;
+
+    // 상품 아이디 구간별 버전(무효화할 때마다 증가)
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private Counter localHitCounter;
+    private Counter redisHitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(productEventService.getChannel()));
+
+        localHitCounter = Counter.builder("product.detail.cache").tag("result", "l1").description("상품 상세 캐시 조회").register(meterRegistry);
+        redisHitCounter = Counter.builder("product.detail.cache").tag("result", "l2").description("상품 상세 캐시 조회").register(meterRegistry);
+        missCounter = Counter.builder("product.detail.cache").tag("result", "miss").description("상품 상세 캐시 조회").register(meterRegistry);
+    }
+
+    private String getDetailKey(Long productId) {
+        return productNamespace + ":product-detail:" + productId;
+    }
+
+    /**
+     * 상품 상세 조회(L1 → L2 → loader 순서)
+     * @param loader 캐시에 없을 때 MySQL에서 상세를 만드는 함수(예외는 캐시하지 않고 그대로 던짐)
+     * @return 재고를 Redis 현재 재고로 덮어쓴 상세
+     */
+    public ProductDetailResponseDto getProductDetail(Long productId, Supplier<ProductDetailResponseDto> loader) {
+        ProductDetailResponseDto detail = localCache.getIfPresent(productId);
+        if (detail != null) {
+            localHitCounter.increment();
+            return overlayStocks(detail);
+        }
+
+        long loadVersion = getVersion(productId);
+        detail = readRedis(productId);
+        if (detail != null) {
+            redisHitCounter.increment();
+            putIfUnchanged(productId, detail, loadVersion, false);
+        } else {
+            missCounter.increment();
+            detail = loader.get();
+            putIfUnchanged(productId, detail, loadVersion, true);
+        }
+        return overlayStocks(detail);
+    }
+
+    /**
+     * 상품 상세 캐시 무효화(L2 삭제 후 모든 노드에 변경 이벤트 발행)
+     */
+    public void evict(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        invalidateLocal(productIds);
+        try {
+            redisTemplate.delete(productIds.stream().map(this::getDetailKey).toList());
+        } catch (RuntimeException e) {
+            log.error("상품 상세 캐시 삭제 실패: products={}, e={}", productIds, e.toString());
+        }
+        productEventService.publishChanged(productIds);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || !ProductEventService.CHANGED.equals(body.substring(0, separator))) {
+            return;
+        }
+
+        List<Long> productIds = Arrays.stream(body.substring(separator + 1).split(","))
+                .map(Long::parseLong)
+                .toList();
+        invalidateLocal(productIds);
+        log.debug("상품 상세 캐시 무효화: products={}", productIds);
+    }
+
+    // 캐시된 상세는 여러 요청이 공유하므로 재고만 바꾼 복사본을 반환
+    private ProductDetailResponseDto overlayStocks(ProductDetailResponseDto detail) {
+        List<ProductOptionDetailResponseDto> options = detail.getProductOptionList();
+        if (options == null || options.isEmpty()) {
+            return detail;
+        }
+
+        List<Long> stocks;
+        try {
+            stocks = redisService.getStocks(options.stream()
+                    .map(option -> redisService.getStockKey(detail.getProductId(), option.getProductOptionId()))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.error("상품 재고 조회 실패(캐시 재고 사용): productId={}, e={}", detail.getProductId(), e.toString());
+            return detail;
+        }
+
+        List<ProductOptionDetailResponseDto> overlaid = new ArrayList<>(options.size());
+        for (int i = 0; i < options.size(); i++) {
+            ProductOptionDetailResponseDto option = options.get(i);
+            long stock = stocks.get(i);
+            overlaid.add(stock == RedisService.STOCK_KEY_MISSING
+                    ? option
+                    : option.toBuilder().productOptionStock((int) Math.max(stock, 0L)).build());
+        }
+        return detail.toBuilder().productOptionList(overlaid).build();
+    }
+
+    private int getStripe(Long productId) {
+        return (int) Math.floorMod(productId, (long) VERSION_STRIPES);
+    }
+
+    private long getVersion(Long productId) {
+        return versions.get(getStripe(productId));
+    }
+
+    // 버전을 먼저 올린 뒤 L1을 지우므로, 그 사이에 적재가 끝나도 버전 확인에서 걸러짐
+    private void invalidateLocal(Collection<Long> productIds) {
+        productIds.forEach(productId -> versions.incrementAndGet(getStripe(productId)));
+        localCache.invalidateAll(productIds);
+    }
+
+    /**
+     * 읽기 시작한 뒤 무효화가 없었을 때만 캐시에 저장(MySQL에서 읽은 상세는 L2에도 저장)
+     * L1 저장은 같은 키의 무효화와 순서가 보장되는 compute 안에서 버전을 확인하고, L2 저장(네트워크 호출)은 잠금 없이 수행함
+     * L2에 저장하는 동안 무효화되면 저장한 값을 다시 지움
+     */
+    private void putIfUnchanged(Long productId, ProductDetailResponseDto detail, long loadVersion, boolean writeToRedis) {
+        boolean[] unchanged = {false};
+        localCache.asMap().compute(productId, (id, cached) -> {
+            unchanged[0] = getVersion(productId) == loadVersion;
+            return unchanged[0] ? detail : cached;
+        });
+        if (!unchanged[0] || !writeToRedis) {
+            return;
+        }
+
+        writeRedis(productId, detail);
+        if (getVersion(productId) != loadVersion) {
+            deleteRedis(productId);
+        }
+    }
+
+    private ProductDetailResponseDto readRedis(Long productId) {
+        try {
+            String cached = redisTemplate.opsForValue().get(getDetailKey(productId));
+            return cached == null ? null : objectMapper.readValue(cached, ProductDetailResponseDto.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("상품 상세 캐시 조회 실패: productId={}, e={}", productId, e.toString());
+            return null;
+        }
+    }
+
+    private void deleteRedis(Long productId) {
+        try {
+            redisTemplate.delete(getDetailKey(productId));
+        } catch (RuntimeException e) {
+            log.error("상품 상세 캐시 삭제 실패: productId={}, e={}", productId, e.toString());
+        }
+    }
+
+    private void writeRedis(Long productId, ProductDetailResponseDto detail) {
+        try {
+            redisTemplate.opsForValue().set(getDetailKey(productId), objectMapper.writeValueAsString(detail), Duration.ofSeconds(redisTtlSeconds));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("상품 상세 캐시 저장 실패: productId={}, e={}", productId, e.toString());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.whitedelay.productshop.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 변경 이벤트 발행
+ * 상품 상태 등 상품 목록/상세에 보이는 정보가 바뀌면 Redis pub/sub으로 모든 노드에 알려, 상품 캐시가 바로 갱신되게 함
+ * 메시지는 "CHANGED:상품아이디,상품아이디,..." 형태
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductEventService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    public static final String CHANGED = "CHANGED";
+
+    public String getChannel() {
+        return productNamespace + ":product-events";
+    }
+
+    // 발행 실패는 캐시 갱신만 늦어지므로(캐시 TTL 후 갱신) 호출한 쪽의 처리는 계속함
+    public void publishChanged(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(getChannel(), CHANGED + ":" + productIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            log.error("상품 변경 이벤트 발행 실패: products={}, e={}", productIds, e.toString());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductOptionPriceDto;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 옵션 가격표(상품 옵션 아이디 → 상품 가격, 옵션 가격)
+ * 결제 시 서버에서 주문 금액을 다시 계산할 때 사용하며, 가격표에 있는 옵션은 DB를 조회하지 않음
+ * 서버 시작 시 전체 옵션을 키셋으로 나눠 적재하고, 가격표에 없는 옵션은 요청에 포함된 것만 IN 쿼리 한 번으로 읽어 추가함
+ * 상품 변경 이벤트를 받으면 해당 상품의 가격을 지우고 버전을 올림. 버전이 바뀌는 동안 DB에서 읽은 가격은 가격표에 넣지 않아,
+ * 무효화 전에 읽은 값이 무효화 후에 다시 들어가지 않게 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductPriceTableService implements MessageListener {
+
+    private final ProductOptionRepository productOptionRepository;
+    private final ProductEventService productEventService;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRICE_TABLE_LOAD_PAGE_SIZE:5000}")
+    private int loadPageSize;
+
+    private final Map<Long, ProductOptionPriceDto> prices = new ConcurrentHashMap<>();
+
+    // 무효화할 때마다 증가
+    private long version = 0;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(productEventService.getChannel()));
+        Gauge.builder("product.price.table.size", prices, Map::size)
+                .description("가격표에 들어 있는 상품 옵션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버 시작 시 전체 상품 옵션 가격 적재
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        Long lastProductOptionId = 0L;
+        while (true) {
+            long loadVersion = getVersion();
+            List<ProductOptionPriceDto> page = productOptionRepository.findPricesAfter(lastProductOptionId, PageRequest.of(0, loadPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            putAll(page, loadVersion);
+            lastProductOptionId = page.getLast().getProductOptionId();
+        }
+        log.info("가격표 적재 완료: options={}, elapsed={}ms", prices.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 상품 옵션 가격 조회(가격표에 없는 옵션만 한 번에 DB 조회)
+     * @return 상품 옵션 아이디별 가격(DB에도 없는 옵션은 포함되지 않음)
+     */
+    public Map<Long, ProductOptionPriceDto> getPrices(Collection<Long> productOptionIds) {
+        Map<Long, ProductOptionPriceDto> result = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long productOptionId : productOptionIds) {
+            ProductOptionPriceDto price = prices.get(productOptionId);
+            if (price != null) {
+                result.put(productOptionId, price);
+            } else {
+                missingIds.add(productOptionId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            long loadVersion = getVersion();
+            List<ProductOptionPriceDto> loaded = productOptionRepository.findPricesByProductOptionIdIn(missingIds);
+            loaded.forEach(price -> result.put(price.getProductOptionId(), price));
+            putAll(loaded, loadVersion);
+        }
+        return result;
+    }
+
+    // 다른 노드를 포함해 상품이 바뀌면 해당 상품의 가격을 지움(다음 조회 시 DB에서 다시 읽음)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || !ProductEventService.CHANGED.equals(body.substring(0, separator))) {
+            return;
+        }
+
+        Set<Long> productIds = Arrays.stream(body.substring(separator + 1).split(","))
+                .map(Long::parseLong)
+                .collect(Collectors.toSet());
+        synchronized (this) {
+            version++;
+            prices.values().removeIf(price -> productIds.contains(price.getProductId()));
+        }
+    }
+
+    private synchronized long getVersion() {
+        return version;
+    }
+
+    // 읽기 시작한 뒤 무효화가 없었을 때만 가격표에 추가
+    private synchronized void putAll(List<ProductOptionPriceDto> loaded, long loadVersion) {
+        if (version != loadVersion) {
+            return;
+        }
+        loaded.forEach(price -> prices.put(price.getProductOptionId(), price));
+    }
+}
@@ -0,0 +1,77 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.PricedProductOptionDto;
+import com.whitedelay.productshop.product.dto.ProductPricingRequestDto;
+import com.whitedelay.productshop.product.dto.ProductPricingResponseDto;
+import com.whitedelay.productshop.product.entity.Product;
+import com.whitedelay.productshop.product.entity.ProductOption;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 장바구니/주문 상품 가격 계산
+ * 상품과 상품 옵션을 각각 IN 쿼리 한 번으로 조회하고, 상품별 금액과 합계, 배송비를 한 번에 계산함
+ * 장바구니 조회와 주문 전 상품 정보 조회가 함께 사용하므로 상품 수가 늘어도 DB 조회 수는 일정함
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductPricingService {
+
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository productOptionRepository;
+
+    // 상품 금액 합계가 이 금액 이상이면 무료 배송
+    public static final int FREE_SHIPPING_THRESHOLD = 30000;
+    public static final int SHIPPING_FEE = 3000;
+
+    public static int getShippingFee(int productTotalPrice) {
+        return productTotalPrice >= FREE_SHIPPING_THRESHOLD ? 0 : SHIPPING_FEE;
+    }
+
+    public ProductPricingResponseDto price(List<ProductPricingRequestDto> items) {
+        Map<Long, Product> products = productRepository.findAllById(
+                        items.stream().map(ProductPricingRequestDto::getProductId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        Map<Long, ProductOption> productOptions = productOptionRepository.findAllById(
+                        items.stream().map(ProductPricingRequestDto::getProductOptionId).distinct().toList()).stream()
+                .collect(Collectors.toMap(ProductOption::getProductOptionId, Function.identity()));
+
+        List<PricedProductOptionDto> pricedProducts = new ArrayList<>(items.size());
+        int productTotalPrice = 0;
+        for (ProductPricingRequestDto item : items) {
+            Product product = products.get(item.getProductId());
+            if (product == null) {
+                throw new IllegalArgumentException("찾는 상품이 없습니다.");
+            }
+            ProductOption productOption = productOptions.get(item.getProductOptionId());
+            if (productOption == null) {
+                throw new IllegalArgumentException("찾는 상품 옵션이 없습니다.");
+            }
+
+            int itemTotalPrice = (product.getProductPrice() + productOption.getProductOptionPrice()) * item.getQuantity();
+            productTotalPrice += itemTotalPrice;
+            pricedProducts.add(PricedProductOptionDto.builder()
+                    .product(product)
+                    .productOption(productOption)
+                    .quantity(item.getQuantity())
+                    .productTotalPrice(itemTotalPrice)
+                    .build());
+        }
+
+        int shippingFee = getShippingFee(productTotalPrice);
+        return ProductPricingResponseDto.builder()
+                .pricedProducts(pricedProducts)
+                .productTotalPrice(productTotalPrice)
+                .shippingFee(shippingFee)
+                .orderPrice(productTotalPrice + shippingFee)
+                .build();
+    }
+}
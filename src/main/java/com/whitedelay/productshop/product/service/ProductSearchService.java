@@ -0,0 +1,232 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductTitleDto;
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 상품명 검색 색인(n-gram 역색인)
+ * 상품명을 소문자로 바꿔 1글자/2글자 조각(n-gram)으로 나누고, 조각별로 그 조각을 포함한 상품 아이디를 메모리에 둠
+ * 검색어의 조각을 모두 가진 상품만 후보로 골라 상품명에 검색어가 포함되는지 확인하므로, 결과는 LIKE '%검색어%'와 같고 테이블을 읽지 않음
+ * 단어 단위로 나누지 않으므로 띄어쓰기가 없는 한글 상품명도 부분 검색이 됨
+ * 서버 시작 시 상품명을 키셋으로 나눠 읽어 색인을 만들고, 만드는 동안에는 isReady가 F라 DB 검색(LIKE)을 사용함
+ * 상품 등록 시 바로 색인에 추가하며, 상품 변경 이벤트를 받으면 바뀐 상품의 상품명을 DB에서 다시 읽어 색인을 고치고 없어진 상품은 색인에서 뺌
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService implements MessageListener {
+
+    private final ProductRepository productRepository;
+    private final ProductEventService productEventService;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRODUCT_SEARCH_BUILD_PAGE_SIZE:5000}")
+    private int buildPageSize;
+
+    // n-gram → 상품 아이디
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    // 상품 아이디 → 정규화한 상품명(후보 확인과 정렬에 사용)
+    private final Map<Long, String> titles = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(productEventService.getChannel()));
+        Gauge.builder("product.search.indexed", titles, Map::size)
+                .description("검색 색인에 들어 있는 상품 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 서버 시작 시 전체 상품명으로 색인 생성
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long startedAt = System.currentTimeMillis();
+        Long lastProductId = 0L;
+        while (true) {
+            List<ProductTitleDto> page = productRepository.findTitlesAfter(lastProductId, PageRequest.of(0, buildPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(product -> index(product.getProductId(), product.getProductTitle()));
+            lastProductId = page.getLast().getProductId();
+        }
+        ready = true;
+        log.info("상품 검색 색인 생성 완료: products={}, grams={}, elapsed={}ms", titles.size(), postings.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 상품명 색인(이미 색인된 상품의 상품명이 바뀌었으면 이전 상품명에만 있던 조각에서 빼고 다시 색인)
+     */
+    public synchronized void index(Long productId, String productTitle) {
+        String title = normalize(productTitle);
+        String previousTitle = titles.put(productId, title);
+        if (title.equals(previousTitle)) {
+            return;
+        }
+        Set<String> grams = grams(title);
+        if (previousTitle != null) {
+            Set<String> staleGrams = grams(previousTitle);
+            staleGrams.removeAll(grams);
+            unindex(productId, staleGrams);
+        }
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(productId);
+        }
+    }
+
+    // 없어진 상품을 색인에서 뺌
+    public synchronized void remove(Long productId) {
+        String previousTitle = titles.remove(productId);
+        if (previousTitle != null) {
+            unindex(productId, grams(previousTitle));
+        }
+    }
+
+    // 조각별 상품 아이디에서 빼고, 비게 된 조각은 지움
+    private void unindex(Long productId, Set<String> grams) {
+        for (String gram : grams) {
+            postings.computeIfPresent(gram, (key, productIds) -> {
+                productIds.remove(productId);
+                return productIds.isEmpty() ? null : productIds;
+            });
+        }
+    }
+
+    /**
+     * 상품명 검색
+     * 정렬: 상품명이 검색어와 같은 상품 → 검색어로 시작하는 상품 → 검색어가 앞쪽에 있는 상품 → 상품명이 짧은 상품 → 최신 상품
+     * 일치하는 상품 전체를 정렬하지 않고, 요청한 페이지 끝(offset + size)까지의 상위 상품만 크기가 제한된 힙에 남김
+     * @return 요청한 페이지의 상품 아이디 목록과 일치하는 상품 수
+     */
+    public Page<Long> search(String productTitle, Pageable pageable) {
+        String query = normalize(productTitle);
+        if (query.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // 가장 짧은 포스팅 목록을 기준으로 나머지 조각을 모두 가진 상품만 후보로 사용
+        List<Set<Long>> queryPostings = new ArrayList<>();
+        for (String gram : query.length() == 1 ? Set.of(query) : bigrams(query)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Page.empty(pageable);
+            }
+            queryPostings.add(posting);
+        }
+        queryPostings.sort(Comparator.comparingInt(Set::size));
+
+        // 검색 중에 색인에서 빠지는 상품이 있어도 정렬할 수 있게 확인한 상품명을 함께 둠
+        Comparator<Map.Entry<Long, String>> ranking = Comparator
+                .comparing((Map.Entry<Long, String> match) -> !match.getValue().equals(query))
+                .thenComparing(match -> !match.getValue().startsWith(query))
+                .thenComparingInt(match -> match.getValue().indexOf(query))
+                .thenComparingInt(match -> match.getValue().length())
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+        // 순위가 가장 낮은 상품이 맨 앞에 오는 힙에 상위 limit개만 유지
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        PriorityQueue<Map.Entry<Long, String>> top = new PriorityQueue<>(ranking.reversed());
+        long total = 0;
+        for (Long productId : queryPostings.getFirst()) {
+            String title = titles.get(productId);
+            if (title == null || !title.contains(query)
+                    || !queryPostings.stream().allMatch(posting -> posting.contains(productId))) {
+                continue;
+            }
+            total++;
+            Map.Entry<Long, String> match = Map.entry(productId, title);
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (ranking.compare(match, top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        }
+
+        List<Map.Entry<Long, String>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        List<Long> productIds = ranked.subList(from, ranked.size()).stream()
+                .map(Map.Entry::getKey)
+                .toList();
+        return new PageImpl<>(productIds, pageable, total);
+    }
+
+    // 바뀐 상품(다른 노드에서 등록/변경된 상품 포함)의 상품명을 다시 읽어 색인을 고침
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || !ProductEventService.CHANGED.equals(body.substring(0, separator))) {
+            return;
+        }
+
+        Set<Long> productIds = Arrays.stream(body.substring(separator + 1).split(","))
+                .map(Long::parseLong)
+                .collect(Collectors.toSet());
+        try {
+            Set<Long> removedIds = new HashSet<>(productIds);
+            for (ProductTitleDto product : productRepository.findTitlesByProductIdIn(productIds)) {
+                index(product.getProductId(), product.getProductTitle());
+                removedIds.remove(product.getProductId());
+            }
+            removedIds.forEach(this::remove);
+        } catch (RuntimeException e) {
+            log.error("상품 검색 색인 갱신 실패: products={}, e={}", productIds, e.toString());
+        }
+    }
+
+    private String normalize(String productTitle) {
+        return productTitle == null ? "" : productTitle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 색인 조각: 1글자 + 2글자
+    private Set<String> grams(String title) {
+        Set<String> grams = bigrams(title);
+        for (int i = 0; i < title.length(); i++) {
+            grams.add(title.substring(i, i + 1));
+        }
+        return grams;
+    }
+
+    private Set<String> bigrams(String title) {
+        Set<String> bigrams = new HashSet<>();
+        for (int i = 0; i + 2 <= title.length(); i++) {
+            bigrams.add(title.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+}
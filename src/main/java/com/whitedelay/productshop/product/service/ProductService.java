@@ -9,20 +9,31 @@ import com.whitedelay.productshop.image.service.ImageService;
 import com.whitedelay.productshop.product.dto.*;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductOption;
+import com.whitedelay.productshop.product.entity.ProductStatusEnum;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
 import com.whitedelay.productshop.redis.service.RedisService;
+import com.whitedelay.productshop.redis.service.StockLeaseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,8 +42,16 @@ import java.util.stream.Collectors;
 public class ProductService {
     private final ImageService imageService;
     private final RedisService redisService;
+    private final StockLeaseService stockLeaseService;
     private final ProductRepository productRepository;
     private final ProductOptionRepository productOptionRepository;
+    private final ProductStatusUpdateService productStatusUpdateService;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final ProductSearchService productSearchService;
+    private final PlatformTransactionManager transactionManager;
+
+    // 커서 조회 한 번에 조회할 수 있는 최대 상품 수
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     public Page<ProductListResponseDto> getAllProductList(int page, int size, String productTitle) {
         Pageable pageable = PageRequest.of(page, size);
@@ -40,18 +59,93 @@ public class ProductService {
 
         if (productTitle == null || productTitle.isEmpty()) {
             products = productRepository.findAll(pageable);
+        } else if (productSearchService.isReady()) {
+            products = searchProducts(productTitle, pageable);
         } else {
+            // 검색 색인을 만드는 중에는 DB 검색 사용
             products = productRepository.findByProductTitleContaining(productTitle, pageable);
         }
 
-        return products.map(product -> {
-            ImageResponseDto imageResponse = imageService.findImageResponse(ImageTableEnum.PRODUCT, product.getProductId());
-            return ProductListResponseDto.from(product, imageResponse);
-        });
+        // 페이지의 대표 이미지를 한 번에 조회(페이지 크기와 관계없이 쿼리 수 일정)
+        Map<Long, ImageResponseDto> imageResponses = imageService.findImageResponses(ImageTableEnum.PRODUCT,
+                products.getContent().stream().map(Product::getProductId).toList());
+        return products.map(product -> ProductListResponseDto.from(product, imageResponses.get(product.getProductId())));
     }
 
-    @Transactional(readOnly = true)
+    // 검색 색인으로 찾은 요청한 페이지의 상품만 아이디로 조회(검색 순서 유지)
+    private Page<Product> searchProducts(String productTitle, Pageable pageable) {
+        Page<Long> productIds = productSearchService.search(productTitle, pageable);
+        List<Long> pageIds = productIds.getContent();
+
+        Map<Long, Product> products = productRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, product -> product));
+        List<Product> content = pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, productIds.getTotalElements());
+    }
+
+    /**
+     * 상품 리스트 커서 조회(최신 상품부터)
+     * 마지막으로 받은 상품 아이디 다음부터 키셋으로 조회하므로 OFFSET과 COUNT 쿼리가 없고, 뒤 페이지도 첫 페이지와 같은 비용으로 조회됨
+     * @param cursor 이전 응답의 nextCursor(첫 페이지는 null)
+     * @param size 조회 수(최대 MAX_CURSOR_PAGE_SIZE까지만 조회)
+     */
+    public ProductCursorResponseDto getProductListByCursor(String cursor, int size, String productTitle) {
+        if (size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회 수는 1 이상이어야 합니다.");
+        }
+        size = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        Long lastProductId = cursor == null || cursor.isEmpty() ? Long.MAX_VALUE : decodeCursor(cursor);
+        // 다음 페이지 여부를 COUNT 없이 알기 위해 하나 더 조회
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        List<Product> products;
+        if (productTitle == null || productTitle.isEmpty()) {
+            products = productRepository.findByProductIdLessThanOrderByProductIdDesc(lastProductId, pageable);
+        } else {
+            products = productRepository.findByProductTitleContainingAndProductIdLessThanOrderByProductIdDesc(productTitle, lastProductId, pageable);
+        }
+
+        boolean hasNext = products.size() > size;
+        if (hasNext) {
+            products = products.subList(0, size);
+        }
+        Map<Long, ImageResponseDto> imageResponses = imageService.findImageResponses(ImageTableEnum.PRODUCT,
+                products.stream().map(Product::getProductId).toList());
+        List<ProductListResponseDto> productList = products.stream()
+                .map(product -> ProductListResponseDto.from(product, imageResponses.get(product.getProductId())))
+                .toList();
+        return ProductCursorResponseDto.from(productList, hasNext ? encodeCursor(products.getLast().getProductId()) : null);
+    }
+
+    // 커서는 마지막 상품 아이디를 감싼 값으로, 클라이언트는 내용을 해석하지 않고 그대로 전달함
+    private String encodeCursor(Long lastProductId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastProductId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.");
+        }
+    }
+
+    // 캐시에 있으면 DB 커넥션 없이 반환하고, 없을 때만 loader가 읽기 전용 트랜잭션을 열어 조회
     public ProductDetailResponseDto getProductDetail(Long productId) {
+        return productDetailCacheService.getProductDetail(productId, () -> loadProductDetail(productId));
+    }
+
+    // 상품/옵션/이미지를 같은 읽기 전용 트랜잭션에서 조회
+    private ProductDetailResponseDto loadProductDetail(Long productId) {
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        return readOnlyTransactionTemplate.execute(status -> findProductDetail(productId));
+    }
+
+    private ProductDetailResponseDto findProductDetail(Long productId) {
         Product product = productRepository.findByProductId(productId)
                 .orElseThrow(() -> new RuntimeException("상품을 찾을 수 없습니다."));
 
@@ -82,6 +176,13 @@ public class ProductService {
         Product product = Product.from(productRequestDto);
         productRepository.save(product);
 
+        productSearchService.index(product.getProductId(), product.getProductTitle());
+
+        // 판매 시작 전 상품은 판매 시작 시각에 판매 상태로 바뀌도록 예약
+        if (product.getProductStatus() == ProductStatusEnum.COMING_SOON) {
+            productStatusUpdateService.register(product.getProductId(), product.getProductStartDate());
+        }
+
         List<ImageResponseDto> imageResponseDto = imageService.uploadMultiImage(
                 ImageInfoRequestDto.from(ImageTableEnum.PRODUCT, product.getProductId()),
                 imageFileList
@@ -107,6 +208,7 @@ public class ProductService {
         productOptionRepository.saveAll(productOptionList);
 
         saveProductOptionStockToRedis(productId, productOptionList);
+        productDetailCacheService.evict(List.of(productId));
 
         return ProductOptionResponseDto.from(productOptionList);
     }
@@ -119,14 +221,25 @@ public class ProductService {
 
     @Transactional
     public boolean updateProductOptionStock(Long productId, Long productOptionId, ProductOptionStockRequestDto productOptionStockRequestDto) {
-        Product product = productRepository.findByProductId(productId)
-                .orElseThrow(() -> new IllegalArgumentException("상품이 없습니다."));
-        ProductOption productOption = productOptionRepository.findByIdForUpdate(productOptionId)
-                .orElseThrow(() -> new IllegalArgumentException("상품 옵션이 없습니다."));
+        // 상품에 속한 옵션일 때만 증가하므로 다른 상품의 옵션 재고는 바뀌지 않음
+        if (productOptionRepository.addStockOfProduct(productId, productOptionId, productOptionStockRequestDto.getStock()) == 0) {
+            throw new IllegalArgumentException("상품 옵션이 없습니다.");
+        }
 
         redisService.addStock(productId, productOptionId, productOptionStockRequestDto.getStock());
-        productOptionRepository.updateStock(productOptionId, productOption.getProductOptionStock() + productOptionStockRequestDto.getStock());
 
         return true;
     }
+
+    @Transactional(readOnly = true)
+    public boolean updateProductOptionLease(Long productId, Long productOptionId, ProductOptionLeaseRequestDto productOptionLeaseRequestDto) {
+        ProductOption productOption = productOptionRepository.findByProductOptionId(productOptionId)
+                .orElseThrow(() -> new IllegalArgumentException("상품 옵션이 없습니다."));
+        if (!productOption.getProduct().getProductId().equals(productId)) {
+            throw new IllegalArgumentException("상품 옵션이 없습니다.");
+        }
+
+        stockLeaseService.updateLeaseSize(productId, productOptionId, productOptionLeaseRequestDto.getLeaseSize());
+        return true;
+    }
 }
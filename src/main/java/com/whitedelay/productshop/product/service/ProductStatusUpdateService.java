@@ -1,30 +1,158 @@
 package com.whitedelay.productshop.product.service;
 
-import com.whitedelay.productshop.product.entity.Product;
+import com.whitedelay.productshop.product.dto.ProductStartDateDto;
 import com.whitedelay.productshop.product.entity.ProductStatusEnum;
 import com.whitedelay.productshop.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
 
+/**
+ * 상품 판매 시작(COMING_SOON → AVAILABLE)
+ * 판매 시작 전 상품을 판매 시작 시각 순으로 메모리에 두고, 가장 이른 시각에 맞춰 타이머를 걸어 그 시각에 바로 판매 상태로 바꿈
+ * 같은 시각까지 시작하는 상품은 UPDATE 한 번으로 바꾸고, 상품 상세 캐시를 지우고 상품 변경 이벤트를 발행해 목록/상세 캐시가 바로 갱신되게 함
+ * 예약은 서버 시작 시 DB에서 적재하고 상품 등록 시 추가하며, 다른 노드에서 등록된 상품은 주기적인 재적재(PRODUCT_ACTIVATION_RELOAD_MS)로 채움
+ * 여러 노드가 같은 상품을 바꿔도 UPDATE는 상태를 조건으로 하므로 한 번만 바뀌고, 바꾼 노드만 이벤트를 발행함
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductStatusUpdateService {
 
     private final ProductRepository productRepository;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
-    @Scheduled(cron ="0 * * * * *")
-    @Transactional
-    public void updateProductStatus() {
-        List<Product> products = productRepository.findByProductStatusAndProductStartDateBefore(ProductStatusEnum.COMING_SOON, LocalDateTime.now());
-        for(Product product : products) {
-            product.setProductStatus(ProductStatusEnum.AVAILABLE);
-            productRepository.save(product);
+    @Value("${PRODUCT_ACTIVATION_RETRY_MS:5000}")
+    private long retryMs;
+
+    // 판매 시작 시각 → 상품 아이디(가장 이른 시각이 먼저)
+    private final NavigableMap<LocalDateTime, Set<Long>> upcomingProducts = new TreeMap<>();
+
+    // 가장 이른 판매 시작 시각에 걸린 타이머
+    private ScheduledFuture<?> nextActivation;
+    private LocalDateTime nextActivationAt;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("product.activation.scheduled", this, ProductStatusUpdateService::countScheduled)
+                .description("판매 시작을 기다리는 상품 수")
+                .register(meterRegistry);
+    }
+
+    private synchronized long countScheduled() {
+        return upcomingProducts.values().stream().mapToLong(Set::size).sum();
+    }
+
+    /**
+     * 판매 시작 예약 추가
+     * 트랜잭션 안에서 호출되면 커밋 후에 추가해, 커밋 전에 타이머가 실행되어 상품을 바꾸지 못하는 일이 없게 함
+     */
+    public void register(Long productId, LocalDateTime productStartDate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(productId, productStartDate);
+                }
+            });
+            return;
+        }
+        schedule(productId, productStartDate);
+    }
+
+    private synchronized void schedule(Long productId, LocalDateTime productStartDate) {
+        upcomingProducts.computeIfAbsent(productStartDate, startDate -> new HashSet<>()).add(productId);
+        armTimer();
+    }
+
+    // 가장 이른 판매 시작 시각에 타이머를 맞춤(이미 맞춰져 있으면 그대로 둠)
+    private synchronized void armTimer() {
+        if (upcomingProducts.isEmpty()) {
+            return;
+        }
+        LocalDateTime earliest = upcomingProducts.firstKey();
+        if (nextActivation != null && !nextActivation.isDone()) {
+            if (!earliest.isBefore(nextActivationAt)) {
+                return;
+            }
+            nextActivation.cancel(false);
         }
+        nextActivationAt = earliest;
+        nextActivation = taskScheduler.schedule(this::activateDueProducts, toInstant(earliest));
     }
 
+    /**
+     * 판매 시작 시각이 지난 상품을 한 번에 판매 상태로 변경
+     */
+    public void activateDueProducts() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> productIds = new ArrayList<>();
+        synchronized (this) {
+            nextActivation = null;
+            NavigableMap<LocalDateTime, Set<Long>> dueProducts = upcomingProducts.headMap(now, true);
+            dueProducts.values().forEach(productIds::addAll);
+            dueProducts.clear();
+        }
+
+        try {
+            if (!productIds.isEmpty()) {
+                Integer activated = transactionTemplate.execute(status -> productRepository.updateProductStatus(
+                        productIds, ProductStatusEnum.COMING_SOON, ProductStatusEnum.AVAILABLE, now));
+                if (activated != null && activated > 0) {
+                    productDetailCacheService.evict(productIds);
+                }
+                log.info("상품 판매 시작: products={}, activated={}", productIds, activated);
+            }
+        } catch (RuntimeException e) {
+            // 실패한 상품은 일정 시간 뒤 다시 시도
+            log.error("상품 판매 시작 실패(재시도 예정): products={}, e={}", productIds, e.toString());
+            synchronized (this) {
+                upcomingProducts.computeIfAbsent(now.plus(Duration.ofMillis(retryMs)), startDate -> new HashSet<>()).addAll(productIds);
+            }
+        } finally {
+            armTimer();
+        }
+    }
+
+    /**
+     * 판매 시작 전 상품을 DB 기준으로 다시 적재
+     * 서버 시작 시 한 번 실행하고, 다른 노드에서 등록된 상품이나 놓친 예약을 채우기 위해 긴 주기로 다시 실행함
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${PRODUCT_ACTIVATION_RELOAD_MS:600000}", initialDelayString = "${PRODUCT_ACTIVATION_RELOAD_MS:600000}")
+    public void reload() {
+        List<ProductStartDateDto> comingSoonProducts = productRepository.findStartDatesByProductStatus(ProductStatusEnum.COMING_SOON);
+        synchronized (this) {
+            for (ProductStartDateDto product : comingSoonProducts) {
+                upcomingProducts.computeIfAbsent(product.getProductStartDate(), startDate -> new HashSet<>()).add(product.getProductId());
+            }
+            armTimer();
+        }
+        log.info("상품 판매 시작 예약 적재: products={}", comingSoonProducts.size());
+    }
+
+    private Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
 }
@@ -0,0 +1,190 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductOptionStockDto;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import com.whitedelay.productshop.redis.service.RedisService;
+import com.whitedelay.productshop.redis.service.SoldOutCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis ↔ MySQL 재고 정합성 확인
+ * 상품 옵션을 ID 순서로 나눠 읽고, Redis 재고의 기대값(MySQL 재고 - 저장 대기 재고 - 노드 보유 리스)과 실제 Redis 재고를 비교함
+ * 차이(drift)는 상품 옵션별로 Redis 해시와 로그, 메트릭으로 기록하며,
+ * 자동 보정이 켜져 있으면 두 번 연속 같은 차이가 확인된 옵션만 INCRBY로 보정함(진행 중인 차감을 덮어쓰지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReconciliationService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisService redisService;
+    private final ProductOptionRepository productOptionRepository;
+    private final NodeIdentity nodeIdentity;
+    private final SoldOutCacheService soldOutCacheService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${STOCK_RECONCILE_CHUNK_SIZE:500}")
+    private int chunkSize;
+
+    @Value("${STOCK_RECONCILE_AUTO_CORRECT:false}")
+    private boolean autoCorrect;
+
+    @Value("${STOCK_RECONCILE_LOCK_MS:600000}")
+    private long lockMs;
+
+    // 마지막 확인에서 차이가 있던 상품 옵션 수
+    private final AtomicInteger driftedOptions = new AtomicInteger();
+    private Counter correctedCounter;
+    private Timer reconcileTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("stock.reconcile.drifted.options", driftedOptions, AtomicInteger::get)
+                .description("Redis와 MySQL 재고가 다른 상품 옵션 수")
+                .register(meterRegistry);
+        correctedCounter = Counter.builder("stock.reconcile.corrected")
+                .description("자동 보정한 상품 옵션 수")
+                .register(meterRegistry);
+        reconcileTimer = Timer.builder("stock.reconcile.duration")
+                .description("재고 정합성 확인 소요 시간")
+                .register(meterRegistry);
+    }
+
+    public String getDriftKey() {
+        return productNamespace + ":stock-drift";
+    }
+
+    private String getLockKey() {
+        return productNamespace + ":stock-reconcile-lock";
+    }
+
+    // 여러 노드 중 한 노드만 확인하도록 Redis 락을 잡고 전체 상품 옵션을 확인
+    @Scheduled(fixedDelayString = "${STOCK_RECONCILE_INTERVAL_MS:60000}", initialDelayString = "${STOCK_RECONCILE_INTERVAL_MS:60000}")
+    public void reconcile() {
+        String nodeId = nodeIdentity.getNodeId();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(getLockKey(), nodeId, Duration.ofMillis(lockMs));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        try {
+            reconcileTimer.record(this::reconcileAll);
+        } finally {
+            if (nodeId.equals(redisTemplate.opsForValue().get(getLockKey()))) {
+                redisTemplate.delete(getLockKey());
+            }
+        }
+    }
+
+    private void reconcileAll() {
+        Map<String, Long> heldStocks = redisService.getAllHeldStocks();
+        int checked = 0;
+        int drifted = 0;
+        int corrected = 0;
+
+        Long lastProductOptionId = 0L;
+        while (true) {
+            List<ProductOptionStockDto> chunk = productOptionRepository.findStocksAfter(lastProductOptionId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            int[] result = reconcileChunk(chunk, heldStocks);
+            checked += chunk.size();
+            drifted += result[0];
+            corrected += result[1];
+            lastProductOptionId = chunk.getLast().getProductOptionId();
+        }
+
+        driftedOptions.set(drifted - corrected);
+        correctedCounter.increment(corrected);
+        log.info("재고 정합성 확인 완료: checked={}, drifted={}, corrected={}", checked, drifted, corrected);
+    }
+
+    /**
+     * 한 묶음의 상품 옵션 확인
+     * @return [차이가 있는 옵션 수, 보정한 옵션 수]
+     */
+    private int[] reconcileChunk(List<ProductOptionStockDto> chunk, Map<String, Long> heldStocks) {
+        List<String> stockKeys = chunk.stream()
+                .map(stock -> redisService.getStockKey(stock.getProductId(), stock.getProductOptionId()))
+                .toList();
+        List<Object> fields = new ArrayList<>(stockKeys);
+
+        List<String> redisStocks = redisTemplate.opsForValue().multiGet(stockKeys);
+        List<Object> reservedStocks = redisTemplate.opsForHash().multiGet(redisService.getReservedStockKey(), fields);
+        List<Object> previousDrifts = redisTemplate.opsForHash().multiGet(getDriftKey(), fields);
+
+        Map<String, String> drifts = new HashMap<>();
+        List<Object> resolved = new ArrayList<>();
+        int drifted = 0;
+        int corrected = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            String stockKey = stockKeys.get(i);
+            String redisStock = redisStocks == null ? null : redisStocks.get(i);
+            if (redisStock == null) {
+                // 아직 Redis에 적재되지 않은 옵션은 확인하지 않음
+                resolved.add(stockKey);
+                continue;
+            }
+
+            long expected = chunk.get(i).getProductOptionStock()
+                    - parseLong(reservedStocks.get(i))
+                    - heldStocks.getOrDefault(stockKey, 0L);
+            long drift = Long.parseLong(redisStock) - expected;
+            if (drift == 0) {
+                resolved.add(stockKey);
+                continue;
+            }
+
+            drifted++;
+            Object previousDrift = previousDrifts.get(i);
+            boolean confirmed = previousDrift != null && Long.parseLong((String) previousDrift) == drift;
+            if (autoCorrect && confirmed) {
+                redisTemplate.opsForValue().increment(stockKey, -drift);
+                if (drift < 0) {
+                    soldOutCacheService.publishRestocks(List.of(stockKey));
+                }
+                resolved.add(stockKey);
+                corrected++;
+                log.warn("재고 보정: key={}, redis={}, expected={}, drift={}", stockKey, redisStock, expected, drift);
+            } else {
+                drifts.put(stockKey, String.valueOf(drift));
+                log.warn("재고 차이 발견: key={}, redis={}, expected={}, drift={}, confirmed={}", stockKey, redisStock, expected, drift, confirmed);
+            }
+        }
+
+        if (!drifts.isEmpty()) {
+            redisTemplate.opsForHash().putAll(getDriftKey(), drifts);
+        }
+        if (!resolved.isEmpty()) {
+            redisTemplate.opsForHash().delete(getDriftKey(), resolved.toArray());
+        }
+        return new int[]{drifted, corrected};
+    }
+
+    private long parseLong(Object value) {
+        return value == null ? 0L : Long.parseLong((String) value);
+    }
+}
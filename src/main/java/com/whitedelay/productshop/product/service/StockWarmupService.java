@@ -0,0 +1,141 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductOptionStockDto;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 재고 적재(warm-up)
+ * MySQL의 상품 옵션 재고를 ID 순서로 나눠 읽고, 페이지마다 파이프라인 SET NX 한 번으로 Redis 재고 키를 채움
+ * 이미 있는 키는 주문 차감이 반영된 값이므로 덮어쓰지 않으며, 적재 값은 MySQL 재고에서 저장 대기 재고와 노드 보유 리스를 뺀 값
+ * 서버 시작 시 적재가 끝날 때까지 readiness를 REFUSING_TRAFFIC으로 유지함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockWarmupService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisService redisService;
+    private final ProductOptionRepository productOptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${STOCK_WARMUP_PAGE_SIZE:5000}")
+    private int pageSize;
+
+    @Value("${STOCK_WARMUP_ON_STARTUP:true}")
+    private boolean warmupOnStartup;
+
+    // 현재(또는 마지막) 적재에서 확인한 상품 옵션 수
+    private final AtomicLong warmedOptions = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("stock.warmup.options", warmedOptions, AtomicLong::get)
+                .description("Redis 재고 적재 중 확인한 상품 옵션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버 시작 시 재고 적재
+     * ApplicationReadyEvent 리스너가 끝난 뒤에 ACCEPTING_TRAFFIC이 발행되므로, 적재를 동기로 실행해 끝날 때까지 트래픽을 받지 않음
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmupOnStartup() {
+        if (!warmupOnStartup) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        try {
+            warmup();
+        } catch (Exception e) {
+            // 적재에 실패해도 서버는 시작하며, 재고 적재 API로 다시 적재할 수 있음
+            log.error("Redis 재고 적재 실패: e={}", e.toString());
+        }
+    }
+
+    /**
+     * 전체 상품 옵션 재고 적재
+     * @return 새로 적재한 재고 키 수
+     */
+    public long warmup() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "재고 적재가 이미 진행 중입니다.");
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            warmedOptions.set(0);
+            Map<String, Long> heldStocks = redisService.getAllHeldStocks();
+
+            long loaded = 0;
+            Long lastProductOptionId = 0L;
+            while (true) {
+                List<ProductOptionStockDto> page = productOptionRepository.findStocksAfter(lastProductOptionId, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                loaded += warmupPage(page, heldStocks);
+                warmedOptions.addAndGet(page.size());
+                lastProductOptionId = page.getLast().getProductOptionId();
+                log.info("Redis 재고 적재 중: checked={}, loaded={}", warmedOptions.get(), loaded);
+            }
+
+            log.info("Redis 재고 적재 완료: checked={}, loaded={}, elapsed={}ms", warmedOptions.get(), loaded, System.currentTimeMillis() - startedAt);
+            return loaded;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long warmupPage(List<ProductOptionStockDto> page, Map<String, Long> heldStocks) {
+        List<String> stockKeys = page.stream()
+                .map(stock -> redisService.getStockKey(stock.getProductId(), stock.getProductOptionId()))
+                .toList();
+        List<Object> reservedStocks = redisTemplate.opsForHash().multiGet(redisService.getReservedStockKey(), new ArrayList<>(stockKeys));
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < page.size(); i++) {
+                String stockKey = stockKeys.get(i);
+                Object reserved = reservedStocks.get(i);
+                long stock = page.get(i).getProductOptionStock()
+                        - (reserved == null ? 0L : Long.parseLong((String) reserved))
+                        - heldStocks.getOrDefault(stockKey, 0L);
+                connection.stringCommands().set(
+                        stockKey.getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(Math.max(stock, 0L)).getBytes(StandardCharsets.UTF_8),
+                        Expiration.persistent(),
+                        RedisStringCommands.SetOption.ifAbsent());
+            }
+            return null;
+        });
+        return results.stream().filter(Boolean.TRUE::equals).count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.whitedelay.productshop.queue.controller;
+
+import com.whitedelay.productshop.queue.dto.AdmissionTicketResponseDto;
+import com.whitedelay.productshop.queue.dto.SaleModeRequestDto;
+import com.whitedelay.productshop.queue.service.AdmissionQueueService;
+import com.whitedelay.productshop.security.UserDetails.UserDetailsImpl;
+import com.whitedelay.productshop.util.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+public class AdmissionQueueController {
+    private final AdmissionQueueService admissionQueueService;
+
+    private static final String BASE_QUEUE = "/queue";
+
+    /**
+     * POST
+     * 판매 대기열 입장
+     * @param userDetails security의 회원 정보
+     * @param productId 상품 아이디
+     * @return 대기 순번 또는 입장 토큰 DTO
+     */
+    @PostMapping(BASE_QUEUE + "/{productId}")
+    public ApiResponse<AdmissionTicketResponseDto> enterQueue(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable Long productId
+        ) {
+        return ApiResponse.createSuccess(admissionQueueService.enterQueue(userDetails.getMember(), productId));
+    }
+
+    /**
+     * GET
+     * 대기 순번 조회
+     * @param userDetails security의 회원 정보
+     * @param productId 상품 아이디
+     * @return 대기 순번 또는 입장 토큰 DTO
+     */
+    @GetMapping(BASE_QUEUE + "/{productId}")
+    public ApiResponse<AdmissionTicketResponseDto> getTicket(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable Long productId
+        ) {
+        return ApiResponse.createSuccess(admissionQueueService.getTicket(userDetails.getMember(), productId));
+    }
+
+    /**
+     * PATCH
+     * 상품 판매 모드 설정(관리자)
+     * @param productId 상품 아이디
+     * @param saleModeRequestDto 초당 입장 인원(0이면 판매 모드 해제)
+     * @return 설정 성공 여부
+     */
+    @PatchMapping(BASE_QUEUE + "/{productId}/sale-mode")
+    public ApiResponse<Boolean> updateSaleMode(
+            @PathVariable Long productId,
+            @RequestBody SaleModeRequestDto saleModeRequestDto
+        ) {
+        return ApiResponse.createSuccess(admissionQueueService.updateSaleMode(productId, saleModeRequestDto));
+    }
+}
@@ -0,0 +1,33 @@
+package com.whitedelay.productshop.queue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionTicketResponseDto {
+    private Long productId;
+    private boolean admitted; // 입장 여부(입장했으면 admissionToken으로 결제)
+    private Long position; // 대기 순번(1부터 시작, 대기 중이 아니면 null)
+    private String admissionToken;
+
+    public static AdmissionTicketResponseDto waiting(Long productId, Long position) {
+        return AdmissionTicketResponseDto.builder()
+                .productId(productId)
+                .admitted(false)
+                .position(position)
+                .build();
+    }
+
+    public static AdmissionTicketResponseDto admitted(Long productId, String admissionToken) {
+        return AdmissionTicketResponseDto.builder()
+                .productId(productId)
+                .admitted(true)
+                .admissionToken(admissionToken)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.whitedelay.productshop.queue.dto;
+
+import lombok.Getter;
+
+@Getter
+public class SaleModeRequestDto {
+    private int admissionRate; // 초당 입장시킬 인원(0이면 판매 모드 해제)
+}
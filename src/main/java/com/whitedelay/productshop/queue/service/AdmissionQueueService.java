@@ -0,0 +1,223 @@
+package com.whitedelay.productshop.queue.service;
+
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.queue.dto.AdmissionTicketResponseDto;
+import com.whitedelay.productshop.queue.dto.SaleModeRequestDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 판매 대기열(가상 대기실)
+ * 판매 모드 상품은 대기열(Redis ZSET)에 들어간 순서대로 초당 입장 인원만큼 입장 토큰을 발급하고, 토큰이 있어야 결제할 수 있음
+ * 대기열과 토큰은 Redis에 있으므로 여러 노드에서 같은 대기열을 사용하며, 입장 처리는 상품별 락을 잡은 한 노드만 수행함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionQueueService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${ADMISSION_TOKEN_TTL_SECONDS:300}")
+    private long admissionTokenTtlSeconds;
+
+    @Value("${ADMISSION_TICK_MS:1000}")
+    private long admissionTickMs;
+
+    private static final RedisScript<Long> CONSUME_ADMISSION_SCRIPT = RedisScript.of(new ClassPathResource("redis/consume-admission.lua"), Long.class);
+
+    // 상품별 초당 입장 인원(Redis의 판매 모드 설정을 주기적으로 동기화)
+    private final Map<Long, Integer> admissionRates = new ConcurrentHashMap<>();
+
+    private String getSaleModeKey() {
+        return productNamespace + ":sale-mode";
+    }
+
+    private String getQueueKey(Long productId) {
+        return productNamespace + ":queue:" + productId;
+    }
+
+    private String getQueueSequenceKey(Long productId) {
+        return productNamespace + ":queue-seq:" + productId;
+    }
+
+    private String getAdmissionKey(Long productId, Long memberId) {
+        return productNamespace + ":admission:" + productId + ":" + memberId;
+    }
+
+    private String getAdmissionLockKey(Long productId) {
+        return productNamespace + ":admission-lock:" + productId;
+    }
+
+    /**
+     * 상품 판매 모드 설정
+     * @param saleModeRequestDto 초당 입장 인원(0 이하이면 판매 모드 해제)
+     */
+    public boolean updateSaleMode(Long productId, SaleModeRequestDto saleModeRequestDto) {
+        int admissionRate = saleModeRequestDto.getAdmissionRate();
+        if (admissionRate > 0) {
+            redisTemplate.opsForHash().put(getSaleModeKey(), String.valueOf(productId), String.valueOf(admissionRate));
+            admissionRates.put(productId, admissionRate);
+        } else {
+            redisTemplate.opsForHash().delete(getSaleModeKey(), String.valueOf(productId));
+            admissionRates.remove(productId);
+        }
+        return true;
+    }
+
+    public boolean isSaleMode(Long productId) {
+        return admissionRates.containsKey(productId);
+    }
+
+    /**
+     * 대기열 입장
+     * 이미 대기 중이면 순번을 유지하며, 판매 모드가 아닌 상품은 바로 입장 처리(토큰 없이 결제 가능)
+     */
+    public AdmissionTicketResponseDto enterQueue(Member member, Long productId) {
+        if (!isSaleMode(productId)) {
+            return AdmissionTicketResponseDto.admitted(productId, null);
+        }
+        String admissionToken = redisTemplate.opsForValue().get(getAdmissionKey(productId, member.getId()));
+        if (admissionToken != null) {
+            return AdmissionTicketResponseDto.admitted(productId, admissionToken);
+        }
+
+        String queueKey = getQueueKey(productId);
+        String memberId = String.valueOf(member.getId());
+        if (redisTemplate.opsForZSet().score(queueKey, memberId) == null) {
+            Long sequence = redisTemplate.opsForValue().increment(getQueueSequenceKey(productId));
+            redisTemplate.opsForZSet().addIfAbsent(queueKey, memberId, sequence);
+        }
+        return getTicket(member, productId);
+    }
+
+    /**
+     * 대기 순번 조회(폴링용, Redis 조회 1~2회)
+     * 입장했으면 입장 토큰을 함께 반환함
+     */
+    public AdmissionTicketResponseDto getTicket(Member member, Long productId) {
+        if (!isSaleMode(productId)) {
+            return AdmissionTicketResponseDto.admitted(productId, null);
+        }
+        Long rank = redisTemplate.opsForZSet().rank(getQueueKey(productId), String.valueOf(member.getId()));
+        if (rank != null) {
+            return AdmissionTicketResponseDto.waiting(productId, rank + 1);
+        }
+
+        String admissionToken = redisTemplate.opsForValue().get(getAdmissionKey(productId, member.getId()));
+        if (admissionToken == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "대기열 정보가 없습니다. 다시 입장해주세요.");
+        }
+        return AdmissionTicketResponseDto.admitted(productId, admissionToken);
+    }
+
+    /**
+     * 재고 차감 후 입장 토큰 사용
+     * 판매 모드 상품이 포함된 주문은 해당 상품의 입장 토큰이 있어야 하며, 요청한 토큰과 같을 때만 삭제함(한 번만 사용)
+     * 재고 차감에 실패해도 토큰이 남도록 차감이 끝난 뒤 호출함
+     * @return 사용한 토큰의 상품 아이디(판매 모드 상품이 없으면 empty, 주문 접수 실패 시 토큰 복원에 사용)
+     */
+    public Optional<Long> consumeAdmission(Member member, Collection<Long> productIds, String admissionToken) {
+        Optional<Long> saleModeProductId = findSaleModeProductId(productIds);
+        if (saleModeProductId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long consumed = admissionToken == null ? null
+                : redisTemplate.execute(CONSUME_ADMISSION_SCRIPT, List.of(getAdmissionKey(saleModeProductId.get(), member.getId())), admissionToken);
+        if (consumed == null || consumed != 1L) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "입장 토큰이 없거나 만료되었습니다.");
+        }
+        return saleModeProductId;
+    }
+
+    // 사용한 입장 토큰 복원(토큰을 사용한 뒤 주문 접수에 실패한 경우, 새 토큰이 발급돼 있으면 덮어쓰지 않음)
+    public void restoreAdmission(Member member, Long productId, String admissionToken) {
+        redisTemplate.opsForValue().setIfAbsent(getAdmissionKey(productId, member.getId()), admissionToken, Duration.ofSeconds(admissionTokenTtlSeconds));
+    }
+
+    /**
+     * 재고 차감 전 입장 토큰 확인(결제, 재고 보류)
+     * 판매 모드 상품은 입장한 회원만 재고를 차감할 수 있으며, 토큰은 삭제하지 않음(결제 시 재고 차감 후 consumeAdmission으로 사용)
+     */
+    public void checkAdmission(Member member, Collection<Long> productIds, String admissionToken) {
+        Optional<Long> saleModeProductId = findSaleModeProductId(productIds);
+        if (saleModeProductId.isEmpty()) {
+            return;
+        }
+
+        String storedToken = admissionToken == null ? null
+                : redisTemplate.opsForValue().get(getAdmissionKey(saleModeProductId.get(), member.getId()));
+        if (storedToken == null || !storedToken.equals(admissionToken)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "입장 토큰이 없거나 만료되었습니다.");
+        }
+    }
+
+    // 주문에 포함된 판매 모드 상품(한 번에 하나만 주문 가능)
+    private Optional<Long> findSaleModeProductId(Collection<Long> productIds) {
+        List<Long> saleModeProductIds = productIds.stream()
+                .distinct()
+                .filter(this::isSaleMode)
+                .toList();
+        if (saleModeProductIds.size() > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "판매 대기열 상품은 한 번에 하나만 주문할 수 있습니다.");
+        }
+        return saleModeProductIds.stream().findFirst();
+    }
+
+    /**
+     * 판매 모드 설정 동기화 및 입장 처리
+     * 상품별 락을 잡은 노드가 대기열 앞에서 초당 입장 인원만큼 꺼내 입장 토큰을 발급함
+     */
+    @Scheduled(fixedRateString = "${ADMISSION_TICK_MS:1000}")
+    public void admit() {
+        Map<Object, Object> saleModes = redisTemplate.opsForHash().entries(getSaleModeKey());
+        admissionRates.keySet().removeIf(productId -> !saleModes.containsKey(String.valueOf(productId)));
+        saleModes.forEach((productId, admissionRate) ->
+                admissionRates.put(Long.parseLong((String) productId), Integer.parseInt((String) admissionRate)));
+
+        admissionRates.forEach((productId, admissionRate) -> {
+            // 락은 다음 입장 처리 전에 풀리도록 입장 주기보다 짧게 유지
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(getAdmissionLockKey(productId), "1", Duration.ofMillis(Math.max(admissionTickMs - 100, 100)));
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+
+            Set<ZSetOperations.TypedTuple<String>> admittedMembers = redisTemplate.opsForZSet().popMin(getQueueKey(productId), admissionRate);
+            if (admittedMembers == null || admittedMembers.isEmpty()) {
+                return;
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (ZSetOperations.TypedTuple<String> admittedMember : admittedMembers) {
+                    connection.stringCommands().set(
+                            getAdmissionKey(productId, Long.parseLong(admittedMember.getValue())).getBytes(StandardCharsets.UTF_8),
+                            UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8),
+                            Expiration.seconds(admissionTokenTtlSeconds),
+                            RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+            log.debug("대기열 입장 처리: productId={}, admitted={}", productId, admittedMembers.size());
+        });
+    }
+}
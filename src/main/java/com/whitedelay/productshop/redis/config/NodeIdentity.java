@@ -0,0 +1,29 @@
+package com.whitedelay.productshop.redis.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// 여러 대의 서버가 Redis를 공유할 때 현재 노드를 구분하기 위한 아이디
+@Getter
+@Component
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    public NodeIdentity(@Value("${NODE_ID:}") String nodeId) {
+        this.nodeId = nodeId.isBlank() ? getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8) : nodeId;
+    }
+
+    private String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
@@ -1,15 +1,31 @@
 package com.whitedelay.productshop.redis.service;
 
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final ProductOptionRepository productOptionRepository;
+    private final SoldOutCacheService soldOutCacheService;
 //    private final RedissonClient redissonClient;
 
     @Value("${PRODUCT_NAMESPACE}")
@@ -17,8 +33,43 @@ public class RedisService {
 
     private final String stockString = "stock";
 
+    // 다건 주문의 재고를 한 번에 확인하고 차감하는 스크립트(전부 성공 또는 전부 실패)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DEDUCT_STOCKS_SCRIPT = RedisScript.of(new ClassPathResource("redis/deduct-stocks.lua"), List.class);
+
+    // 재고 키가 없으면 INCRBY가 음수 키를 만들기 때문에 키 존재 여부를 함께 확인하는 스크립트 사용
+    private static final RedisScript<Long> DEDUCT_STOCK_SCRIPT = RedisScript.of(new ClassPathResource("redis/deduct-stock.lua"), Long.class);
+
+    // 재고 키가 없으면 INCRBY가 복원 수량만 가진 키를 만들기 때문에 키가 있을 때만 복원하는 스크립트 사용
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESTORE_STOCKS_SCRIPT = RedisScript.of(new ClassPathResource("redis/restore-stocks.lua"), List.class);
+
+    // 스크립트 결과: 재고 키 없음
+    public static final long STOCK_KEY_MISSING = -1L;
+
+    // 재고 키별 진행 중인 MySQL 재고 적재(같은 키는 한 번만 적재하고 나머지 요청은 결과를 기다림)
+    private final Map<String, CompletableFuture<Void>> hydrations = new ConcurrentHashMap<>();
+
+    public String getStockKey(Long productId, Long productOptionId) {
+        return productNamespace + ":" + productId + "-" + productOptionId + "-" + stockString;
+    }
+
     public void setInitialStock(Long productId, Long productOptionId, int stock) {
-        redisTemplate.opsForValue().set(productNamespace + ":" + productId + "-" + productOptionId + "-" + stockString, String.valueOf(stock));
+        redisTemplate.opsForValue().set(getStockKey(productId, productOptionId), String.valueOf(stock));
+    }
+
+    /**
+     * 여러 재고 키의 현재 재고를 MGET 한 번으로 조회
+     * @return 재고 키 순서대로 재고(키가 없으면 STOCK_KEY_MISSING)
+     */
+    public List<Long> getStocks(List<String> stockKeys) {
+        List<String> stocks = redisTemplate.opsForValue().multiGet(stockKeys);
+        if (stocks == null) {
+            return Collections.nCopies(stockKeys.size(), STOCK_KEY_MISSING);
+        }
+        return stocks.stream()
+                .map(stock -> stock == null ? STOCK_KEY_MISSING : Long.parseLong(stock))
+                .toList();
     }
 //
 //    public int getStock(Long productOptionId) {
@@ -30,28 +81,258 @@ public class RedisService {
 //    }
 
     public boolean deductStock(Long productId, Long productOptionId, int quantity) {
-        String stockKey = productNamespace + ":" + productId + "-" + productOptionId + "-" + stockString;
+        List<String> keys = List.of(getStockKey(productId, productOptionId));
 
-        // 트랜잭션 없이 INCRBY 명령어를 사용하여 재고 감소
-        Long stock = redisTemplate.opsForValue().increment(stockKey, -quantity);
+        Long result = redisTemplate.execute(DEDUCT_STOCK_SCRIPT, keys, String.valueOf(quantity), soldOutCacheService.getChannel());
+        if (result != null && result == STOCK_KEY_MISSING) {
+            // Redis에 재고 키가 없으면 MySQL 재고로 적재 후 한 번 더 시도
+            hydrateStock(productId, productOptionId);
+            result = redisTemplate.execute(DEDUCT_STOCK_SCRIPT, keys, String.valueOf(quantity), soldOutCacheService.getChannel());
+        }
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 다건 주문의 재고를 Redis 스크립트 한 번으로 차감
+     * 모든 상품 옵션의 재고가 충분할 때만 차감하며, 하나라도 부족하면 아무것도 차감하지 않음
+     * @param stockList 차감할 상품 옵션과 수량 목록
+     * 재고 키가 없는 옵션은 MySQL 재고로 적재한 뒤 한 번 더 시도함
+     * @return stockList와 같은 순서의 상품별 차감 가능 여부(T/F)
+     */
+    @SuppressWarnings("unchecked")
+    public List<Boolean> deductStocks(List<DetuctedProductInfo> stockList) {
+        List<String> keys = stockList.stream()
+                .map(stock -> getStockKey(stock.getProductId(), stock.getProductOptionId()))
+                .toList();
+        // 마지막 인자는 품절 이벤트 채널
+        Object[] quantities = Stream.concat(
+                stockList.stream().map(stock -> String.valueOf(stock.getProductOptionStock())),
+                Stream.of(soldOutCacheService.getChannel())
+        ).toArray();
 
-        // 감소된 결과가 0보다 작은 경우 재고가 부족한 것으로 간주하고 원래 상태로 복원
-        if (stock != null && stock < 0) {
-            redisTemplate.opsForValue().increment(stockKey, quantity);  // 원상태로 복원
-            return false;
+        List<Long> results = redisTemplate.execute(DEDUCT_STOCKS_SCRIPT, keys, quantities);
+        if (results.contains(STOCK_KEY_MISSING)) {
+            // 재고 키가 없는 옵션만 MySQL 재고로 적재 후 전체를 한 번 더 시도
+            for (int i = 0; i < stockList.size(); i++) {
+                if (results.get(i) == STOCK_KEY_MISSING) {
+                    hydrateStock(stockList.get(i).getProductId(), stockList.get(i).getProductOptionId());
+                }
+            }
+            results = redisTemplate.execute(DEDUCT_STOCKS_SCRIPT, keys, quantities);
         }
-        return true;
+        return results.stream()
+                .map(result -> result == 1L)
+                .toList();
     }
 
     public void deductRollbackStock(Long productId, Long productOptionId, int quantity) {
-        String stockKey = productNamespace + ":" + productId + "-" + productOptionId + "-" + stockString;
-        redisTemplate.opsForValue().increment(stockKey, quantity);
+        restoreStocks(List.of(getStockKey(productId, productOptionId)), List.of(String.valueOf(quantity)));
+    }
+
+    // 차감했던 재고들을 스크립트 한 번으로 복원(품절로 기록된 옵션은 재입고 이벤트 발행)
+    public void deductRollbackStocks(List<DetuctedProductInfo> stockList) {
+        if (stockList.isEmpty()) {
+            return;
+        }
+        List<String> stockKeys = stockList.stream()
+                .map(stock -> getStockKey(stock.getProductId(), stock.getProductOptionId()))
+                .toList();
+        List<String> quantities = stockList.stream()
+                .map(stock -> String.valueOf(stock.getProductOptionStock()))
+                .toList();
+        restoreStocks(stockKeys, quantities);
+    }
+
+    /**
+     * 재고 키가 있는 옵션만 재고 복원
+     * 재고 키가 없으면 복원하지 않음(복원 수량은 다음 적재 시 MySQL 재고에서 다시 계산됨)
+     */
+    @SuppressWarnings("unchecked")
+    private void restoreStocks(List<String> stockKeys, List<String> quantities) {
+        List<Long> results = redisTemplate.execute(RESTORE_STOCKS_SCRIPT, stockKeys, quantities.toArray());
+        if (results == null) {
+            return;
+        }
+        List<String> restoredKeys = new ArrayList<>();
+        for (int i = 0; i < stockKeys.size(); i++) {
+            if (results.get(i) != STOCK_KEY_MISSING) {
+                restoredKeys.add(stockKeys.get(i));
+            } else {
+                log.info("재고 키가 없어 재고를 복원하지 않음: key={}, quantity={}", stockKeys.get(i), quantities.get(i));
+            }
+        }
+        if (!restoredKeys.isEmpty()) {
+            soldOutCacheService.publishRestocks(restoredKeys);
+        }
+    }
+
+    /**
+     * Redis에 없는 재고 키를 MySQL 재고로 적재(read-through)
+     * 같은 노드에서 동시에 들어온 요청은 한 번만 DB를 조회하고(single-flight), 여러 노드가 동시에 적재해도 SET NX로 한 번만 기록됨
+     * 적재 값은 MySQL 재고에서 저장 대기 재고와 노드 보유 리스를 뺀 값(저장 대기 재고와 보유 리스를 먼저 읽어 경합 시 적게 적재됨)
+     */
+    public void hydrateStock(Long productId, Long productOptionId) {
+        String stockKey = getStockKey(productId, productOptionId);
+        CompletableFuture<Void> hydration = new CompletableFuture<>();
+        CompletableFuture<Void> running = hydrations.putIfAbsent(stockKey, hydration);
+        if (running != null) {
+            // 이미 적재 중이면 결과만 기다림(실패하면 재시도한 차감이 실패로 처리됨)
+            running.handle((result, e) -> null).join();
+            return;
+        }
+
+        try {
+            // 저장 대기 재고와 보유 리스를 MySQL 재고보다 먼저 읽음
+            // 워커는 주문을 MySQL에 커밋한 뒤 저장 대기 재고를 해제하므로, 그 사이에 적재하면 주문이 두 번 빠져 적게 적재될 뿐
+            // 많게 적재되지(초과 판매) 않음. 적게 적재된 차이는 재고 정합성 확인이 바로잡음
+            String reserved = (String) redisTemplate.opsForHash().get(getReservedStockKey(), stockKey);
+            long heldStock = getHeldStock(stockKey);
+            productOptionRepository.findStockByProductIdAndProductOptionId(productId, productOptionId).ifPresent(stock -> {
+                long hydratedStock = stock
+                        - (reserved == null ? 0L : Long.parseLong(reserved))
+                        - heldStock;
+                redisTemplate.opsForValue().setIfAbsent(stockKey, String.valueOf(Math.max(hydratedStock, 0L)));
+                log.info("Redis 재고 적재: key={}, stock={}", stockKey, hydratedStock);
+            });
+            hydration.complete(null);
+        } catch (RuntimeException e) {
+            hydration.completeExceptionally(e);
+            throw e;
+        } finally {
+            hydrations.remove(stockKey, hydration);
+        }
+    }
+
+    private String getLeaseHeldKey(String nodeId) {
+        return productNamespace + ":stock-lease-held:" + nodeId;
+    }
+
+    // 보유 리스를 기록한 노드 목록(ZSET, score는 기록 만료 시각)
+    private String getLeaseNodesKey() {
+        return productNamespace + ":stock-lease-nodes";
+    }
+
+    /**
+     * 노드가 보유한 리스 재고 기록(재고 키별 보유 수량으로 덮어씀)
+     * 노드가 죽으면 기록이 ttl 뒤 사라져 보유 리스에서 빠짐
+     */
+    public void recordHeldStocks(String nodeId, Map<String, String> heldStocks, Duration ttl) {
+        String heldKey = getLeaseHeldKey(nodeId);
+        redisTemplate.delete(heldKey);
+        long now = System.currentTimeMillis();
+        if (heldStocks.isEmpty()) {
+            redisTemplate.opsForZSet().remove(getLeaseNodesKey(), nodeId);
+        } else {
+            redisTemplate.opsForHash().putAll(heldKey, heldStocks);
+            redisTemplate.expire(heldKey, ttl);
+            redisTemplate.opsForZSet().add(getLeaseNodesKey(), nodeId, now + ttl.toMillis());
+        }
+        // 기록이 만료된(죽은) 노드는 목록에서 제거
+        redisTemplate.opsForZSet().removeRangeByScore(getLeaseNodesKey(), Double.NEGATIVE_INFINITY, now);
+    }
+
+    // 반납한 리스를 노드 보유 리스에서 제외
+    public void removeHeldStock(String nodeId, String stockKey) {
+        redisTemplate.opsForHash().delete(getLeaseHeldKey(nodeId), stockKey);
+    }
+
+    public void removeHeldStocks(String nodeId) {
+        redisTemplate.delete(getLeaseHeldKey(nodeId));
+        redisTemplate.opsForZSet().remove(getLeaseNodesKey(), nodeId);
+    }
+
+    // 보유 리스 기록이 아직 유효한 노드 목록
+    private List<String> getLeaseNodes() {
+        Set<String> nodeIds = redisTemplate.opsForZSet().rangeByScore(getLeaseNodesKey(), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return nodeIds == null ? List.of() : new ArrayList<>(nodeIds);
+    }
+
+    /**
+     * 한 재고 키에 대해 모든 노드가 보유한 리스 재고 합계
+     * 노드 목록에서 유효한 노드만 골라 노드별 보유 리스 해시를 파이프라인 HGET으로 읽음(키 공간을 SCAN하지 않음)
+     */
+    public long getHeldStock(String stockKey) {
+        List<String> nodeIds = getLeaseNodes();
+        if (nodeIds.isEmpty()) {
+            return 0L;
+        }
+        byte[] field = stockKey.getBytes(StandardCharsets.UTF_8);
+        List<Object> helds = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String nodeId : nodeIds) {
+                connection.hashCommands().hGet(getLeaseHeldKey(nodeId).getBytes(StandardCharsets.UTF_8), field);
+            }
+            return null;
+        });
+        return helds.stream()
+                .filter(Objects::nonNull)
+                .mapToLong(held -> Long.parseLong((String) held))
+                .sum();
     }
 
+    /**
+     * 모든 노드가 보유한 리스 재고 합계(노드가 주기적으로 기록한 보유 리스 기준)
+     * @return 재고 키별 보유 리스 수량
+     */
+    public Map<String, Long> getAllHeldStocks() {
+        Map<String, Long> heldStocks = new HashMap<>();
+        for (String nodeId : getLeaseNodes()) {
+            redisTemplate.opsForHash().entries(getLeaseHeldKey(nodeId)).forEach((stockKey, held) ->
+                    heldStocks.merge((String) stockKey, Long.parseLong((String) held), Long::sum));
+        }
+        return heldStocks;
+    }
+
+    /**
+     * 주문 저장 대기 재고(Redis에서 차감됐지만 아직 MySQL에 반영되지 않은 수량)
+     * 재고 정합성 확인 시 MySQL 재고에서 이 수량을 빼서 Redis 재고의 기대값을 계산함
+     */
+    public String getReservedStockKey() {
+        return productNamespace + ":stock-reserved";
+    }
+
+    public void reserveStocks(List<DetuctedProductInfo> stockList) {
+        updateReservedStocks(stockList, 1);
+    }
+
+    public void releaseReservedStocks(List<DetuctedProductInfo> stockList) {
+        updateReservedStocks(stockList, -1);
+    }
+
+    private void updateReservedStocks(List<DetuctedProductInfo> stockList, int sign) {
+        if (stockList.isEmpty()) {
+            return;
+        }
+        byte[] reservedKey = getReservedStockKey().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (DetuctedProductInfo stock : stockList) {
+                byte[] stockKey = getStockKey(stock.getProductId(), stock.getProductOptionId()).getBytes(StandardCharsets.UTF_8);
+                connection.hashCommands().hIncrBy(reservedKey, stockKey, (long) sign * stock.getProductOptionStock());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 관리자 재고 변경을 Redis 재고에 반영
+     * 재고 키가 없으면 반영하지 않음(변경한 MySQL 재고로 다음 적재 시 다시 계산됨)
+     */
+    @SuppressWarnings("unchecked")
     public boolean addStock(Long productId, Long productOptionId, int quantity) {
-        String stockKey = productNamespace + ":" + productId + "-" + productOptionId + "-" + stockString;
+        String stockKey = getStockKey(productId, productOptionId);
 
-        redisTemplate.opsForValue().increment(stockKey, quantity);
+        List<Long> results = redisTemplate.execute(RESTORE_STOCKS_SCRIPT, List.of(stockKey), String.valueOf(quantity));
+        if (results == null || results.getFirst() == STOCK_KEY_MISSING) {
+            // 없는 키 기준으로 계산한 값이 없으므로 품절/재입고 이벤트도 발행하지 않음
+            log.info("재고 키가 없어 재고 변경을 Redis에 반영하지 않음: key={}, quantity={}", stockKey, quantity);
+            return true;
+        }
+        long stock = results.getFirst();
+        // 관리자 재고 변경은 항상 모든 노드의 품절 기록에 반영
+        if (stock <= 0) {
+            soldOutCacheService.publishSoldOut(stockKey);
+        } else {
+            soldOutCacheService.publishRestock(stockKey);
+        }
 
         return true;
     }
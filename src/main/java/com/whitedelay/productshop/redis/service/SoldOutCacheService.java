@@ -0,0 +1,121 @@
+package com.whitedelay.productshop.redis.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 품절 상품 옵션 로컬 캐시(negative cache)
+ * 재고 차감 스크립트가 재고를 0으로 만들면 Redis pub/sub으로 SOLD_OUT을 발행하고, 모든 노드가 재고 키를 로컬에 기록함
+ * 품절로 기록된 옵션의 주문은 Redis 호출 없이 거절하며, 재고가 다시 늘어나면 RESTOCK을 발행해 기록을 지움
+ * pub/sub은 메시지 유실이 있을 수 있으므로 기록은 짧은 시간(SOLD_OUT_CACHE_TTL_MS) 뒤 만료되고, 이후 요청은 다시 Redis로 확인함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SoldOutCacheService implements MessageListener {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${SOLD_OUT_CACHE_TTL_MS:5000}")
+    private long soldOutTtlMs;
+
+    private static final String SOLD_OUT = "SOLD_OUT";
+    private static final String RESTOCK = "RESTOCK";
+
+    // 재고 키별 품절 기록 만료 시각(ms)
+    private final Map<String, Long> soldOutStocks = new ConcurrentHashMap<>();
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(getChannel()));
+        Gauge.builder("stock.soldout.cached", soldOutStocks, Map::size)
+                .description("로컬에 품절로 기록된 상품 옵션 수")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("stock.soldout.rejected")
+                .description("품절 캐시로 Redis 호출 없이 거절한 주문 상품 수")
+                .register(meterRegistry);
+    }
+
+    // 재고 차감 스크립트에서도 같은 채널로 발행함
+    public String getChannel() {
+        return productNamespace + ":stock-events";
+    }
+
+    /**
+     * 품절 여부 확인(로컬 조회만 함)
+     * @param stockKey 재고 키
+     * @return 품절로 기록되어 있고 기록이 만료되지 않았으면 T
+     */
+    public boolean isSoldOut(String stockKey) {
+        Long expiresAt = soldOutStocks.get(stockKey);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            soldOutStocks.remove(stockKey, expiresAt);
+            return false;
+        }
+        rejectedCounter.increment();
+        return true;
+    }
+
+    public void publishSoldOut(String stockKey) {
+        redisTemplate.convertAndSend(getChannel(), SOLD_OUT + ":" + stockKey);
+    }
+
+    public void publishRestock(String stockKey) {
+        redisTemplate.convertAndSend(getChannel(), RESTOCK + ":" + stockKey);
+    }
+
+    /**
+     * 재고를 되돌린 키 중 품절로 기록된 키만 RESTOCK 발행(주문 실패로 인한 복원마다 발행하지 않기 위해 사용)
+     * SOLD_OUT은 모든 노드에 발행되므로 다른 노드의 기록도 이 노드와 같다고 봄
+     */
+    public void publishRestocks(Collection<String> stockKeys) {
+        stockKeys.stream()
+                .distinct()
+                .filter(soldOutStocks::containsKey)
+                .forEach(this::publishRestock);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+
+        String event = body.substring(0, separator);
+        String stockKey = body.substring(separator + 1);
+        if (SOLD_OUT.equals(event)) {
+            soldOutStocks.put(stockKey, System.currentTimeMillis() + soldOutTtlMs);
+        } else if (RESTOCK.equals(event)) {
+            soldOutStocks.remove(stockKey);
+        }
+        log.debug("재고 이벤트 수신: event={}, key={}", event, stockKey);
+    }
+}
@@ -0,0 +1,243 @@
+package com.whitedelay.productshop.redis.service;
+
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 노드 로컬 재고 리스
+ * 리스 모드로 설정된 상품 옵션은 Redis 재고에서 일정 수량(리스 크기)을 미리 가져와 노드 메모리에서 차감함
+ * Redis에서 가져온 수량만 판매하므로 초과 판매가 발생하지 않으며,
+ * 남은 리스는 Redis 재고가 저재고 기준 이하로 떨어지거나 리스 모드가 해제되거나 서버가 종료될 때 반납함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockLeaseService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisService redisService;
+    private final NodeIdentity nodeIdentity;
+    private final SoldOutCacheService soldOutCacheService;
+
+    @Value("${PRODUCT_NAMESPACE}")
+    private String productNamespace;
+
+    @Value("${STOCK_LEASE_LOW_WATER:100}")
+    private int leaseLowWater;
+
+    @Value("${STOCK_LEASE_SYNC_MS:1000}")
+    private long leaseSyncMs;
+
+    private static final RedisScript<Long> LEASE_STOCK_SCRIPT = RedisScript.of(new ClassPathResource("redis/lease-stock.lua"), Long.class);
+
+    // 재고 키가 있을 때만 리스 반납
+    private static final RedisScript<Long> RETURN_LEASE_SCRIPT = RedisScript.of(new ClassPathResource("redis/return-lease.lua"), Long.class);
+
+    // 재고 키별 리스 크기(Redis의 리스 설정을 주기적으로 동기화)
+    private final Map<String, Integer> leaseSizes = new ConcurrentHashMap<>();
+
+    // 재고 키별 현재 노드가 보유한 리스 재고
+    private final Map<String, AtomicInteger> leasedStocks = new ConcurrentHashMap<>();
+
+    private String getLeaseConfigKey() {
+        return productNamespace + ":stock-lease";
+    }
+
+    /**
+     * 상품 옵션의 리스 크기 설정
+     * @param leaseSize 한 번에 가져올 재고 수량(0 이하이면 리스 모드 해제)
+     */
+    public void updateLeaseSize(Long productId, Long productOptionId, int leaseSize) {
+        String stockKey = redisService.getStockKey(productId, productOptionId);
+        if (leaseSize > 0) {
+            redisTemplate.opsForHash().put(getLeaseConfigKey(), stockKey, String.valueOf(leaseSize));
+            leaseSizes.put(stockKey, leaseSize);
+        } else {
+            // 다른 노드는 다음 동기화 때 리스 해제를 확인하고 남은 리스를 반납함
+            redisTemplate.opsForHash().delete(getLeaseConfigKey(), stockKey);
+            leaseSizes.remove(stockKey);
+            returnLease(stockKey);
+        }
+    }
+
+    public boolean isLeaseEnabled(Long productId, Long productOptionId) {
+        return leaseSizes.containsKey(redisService.getStockKey(productId, productOptionId));
+    }
+
+    /**
+     * 리스 재고에서 차감
+     * 로컬 리스가 충분하면 Redis 호출 없이 CAS로 차감하고, 부족하면 Redis에서 리스를 추가로 가져옴
+     * @return 차감 성공 여부(T/F)
+     */
+    public boolean deductStock(Long productId, Long productOptionId, int quantity) {
+        String stockKey = redisService.getStockKey(productId, productOptionId);
+        AtomicInteger leased = leasedStocks.computeIfAbsent(stockKey, key -> new AtomicInteger());
+        if (tryDeduct(leased, quantity)) {
+            return true;
+        }
+
+        synchronized (leased) {
+            // 로컬 리스를 모두 꺼내서 부족한 수량만 Redis에서 가져옴
+            int drained = leased.getAndSet(0);
+            if (drained >= quantity) {
+                leased.addAndGet(drained - quantity);
+                return true;
+            }
+
+            int shortage = quantity - drained;
+            int leaseSize = leaseSizes.getOrDefault(stockKey, shortage);
+            Long taken = leaseStock(stockKey, shortage, leaseSize);
+            if (taken != null && taken == RedisService.STOCK_KEY_MISSING) {
+                // Redis에 재고 키가 없으면 MySQL 재고로 적재 후 한 번 더 시도
+                redisService.hydrateStock(productId, productOptionId);
+                taken = leaseStock(stockKey, shortage, leaseSize);
+            }
+
+            if (taken == null || taken <= 0) {
+                leased.addAndGet(drained);
+                return false;
+            }
+            leased.addAndGet((int) (taken - shortage));
+            return true;
+        }
+    }
+
+    private Long leaseStock(String stockKey, int shortage, int leaseSize) {
+        return redisTemplate.execute(LEASE_STOCK_SCRIPT, List.of(stockKey),
+                String.valueOf(shortage), String.valueOf(leaseSize), String.valueOf(leaseLowWater));
+    }
+
+    // 주문 실패 시 차감했던 리스 재고 복원(리스 모드가 해제됐다면 Redis 재고로 복원)
+    public void restoreStocks(List<DetuctedProductInfo> stockList) {
+        List<DetuctedProductInfo> redisStockList = new ArrayList<>();
+        for (DetuctedProductInfo stock : stockList) {
+            String stockKey = redisService.getStockKey(stock.getProductId(), stock.getProductOptionId());
+            AtomicInteger leased = leasedStocks.get(stockKey);
+            if (leased != null && leaseSizes.containsKey(stockKey)) {
+                leased.addAndGet(stock.getProductOptionStock());
+            } else {
+                redisStockList.add(stock);
+            }
+        }
+        redisService.deductRollbackStocks(redisStockList);
+    }
+
+    private boolean tryDeduct(AtomicInteger leased, int quantity) {
+        int current;
+        do {
+            current = leased.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!leased.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    /**
+     * 리스 설정 동기화 및 저재고 리스 반납
+     * 1. Redis의 리스 설정을 가져와 로컬 설정을 갱신
+     * 2. Redis 재고가 저재고 기준 이하이거나 리스 모드가 해제된 옵션의 로컬 리스를 반납
+     * 3. 재고 정합성 확인을 위해 현재 노드의 보유 리스를 Redis에 기록
+     */
+    @Scheduled(fixedDelayString = "${STOCK_LEASE_SYNC_MS:1000}")
+    public void syncLeases() {
+        Map<Object, Object> leaseConfig = redisTemplate.opsForHash().entries(getLeaseConfigKey());
+        leaseSizes.keySet().retainAll(leaseConfig.keySet());
+        leaseConfig.forEach((stockKey, leaseSize) -> leaseSizes.put((String) stockKey, Integer.parseInt((String) leaseSize)));
+
+        List<String> stockKeys = new ArrayList<>(leasedStocks.keySet());
+        if (stockKeys.isEmpty()) {
+            return;
+        }
+
+        List<String> redisStocks = redisTemplate.opsForValue().multiGet(stockKeys);
+        Map<String, String> heldStocks = new HashMap<>();
+        for (int i = 0; i < stockKeys.size(); i++) {
+            String stockKey = stockKeys.get(i);
+            String redisStock = redisStocks == null ? null : redisStocks.get(i);
+            boolean lowWater = redisStock == null || Long.parseLong(redisStock) <= leaseLowWater;
+
+            if (lowWater || !leaseSizes.containsKey(stockKey)) {
+                returnLease(stockKey);
+            } else {
+                heldStocks.put(stockKey, String.valueOf(leasedStocks.get(stockKey).get()));
+            }
+        }
+
+        redisService.recordHeldStocks(nodeIdentity.getNodeId(), heldStocks, Duration.ofMillis(leaseSyncMs * 3));
+    }
+
+    private void returnLease(String stockKey) {
+        AtomicInteger leased = leasedStocks.get(stockKey);
+        if (leased == null) {
+            return;
+        }
+        synchronized (leased) {
+            int remaining = leased.getAndSet(0);
+            if (remaining > 0) {
+                redisService.removeHeldStock(nodeIdentity.getNodeId(), stockKey);
+                if (restoreLease(stockKey, remaining)) {
+                    soldOutCacheService.publishRestocks(List.of(stockKey));
+                }
+            }
+        }
+    }
+
+    /**
+     * 남은 리스를 Redis 재고로 반납
+     * 재고 키가 없으면 반납하지 않음(반납 수량은 MySQL 재고에 남아 있어 다음 적재 시 포함됨)
+     * @return 반납 여부(T/F)
+     */
+    private boolean restoreLease(String stockKey, int remaining) {
+        Long result = redisTemplate.execute(RETURN_LEASE_SCRIPT, List.of(stockKey), String.valueOf(remaining));
+        if (result == null || result == RedisService.STOCK_KEY_MISSING) {
+            log.info("재고 키가 없어 리스를 반납하지 않음: key={}, remaining={}", stockKey, remaining);
+            return false;
+        }
+        return true;
+    }
+
+    // 서버 종료 시 남은 리스를 모두 반납
+    @PreDestroy
+    public void returnAllLeases() {
+        Map<String, Integer> remainingStocks = new HashMap<>();
+        leasedStocks.forEach((stockKey, leased) -> {
+            synchronized (leased) {
+                int remaining = leased.getAndSet(0);
+                if (remaining > 0) {
+                    remainingStocks.put(stockKey, remaining);
+                }
+            }
+        });
+        if (remainingStocks.isEmpty()) {
+            return;
+        }
+
+        redisService.removeHeldStocks(nodeIdentity.getNodeId());
+        List<String> restoredKeys = new ArrayList<>();
+        remainingStocks.forEach((stockKey, remaining) -> {
+            if (restoreLease(stockKey, remaining)) {
+                restoredKeys.add(stockKey);
+            }
+        });
+        soldOutCacheService.publishRestocks(restoredKeys);
+        log.info("노드 리스 재고 반납: {}", remainingStocks);
+    }
+}
@@ -1,5 +1,6 @@
 package com.whitedelay.productshop.security.config;
 
+import com.whitedelay.productshop.member.entity.MemberRoleEnum;
 import com.whitedelay.productshop.security.UserDetails.UserDetailsServiceImpl;
 import com.whitedelay.productshop.security.jwt.*;
 //import com.whitedelay.productshop.security.handler.CustomLogoutHandler;
@@ -10,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -73,7 +75,12 @@ public class WebSecurityConfig {
                         .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()
                         .requestMatchers("/refreshtoken/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        // 관리자 전용 API(공개 규칙보다 먼저 확인)
+                        .requestMatchers(HttpMethod.PATCH, "/products/*/*/lease").hasAuthority(MemberRoleEnum.Authority.ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/products/stock/warmup").hasAuthority(MemberRoleEnum.Authority.ADMIN)
+                        .requestMatchers(HttpMethod.PATCH, "/queue/*/sale-mode").hasAuthority(MemberRoleEnum.Authority.ADMIN)
                         .requestMatchers("/products/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
                         .anyRequest().authenticated()
         );
         // Exception Handling 설정 (access denied 처리)
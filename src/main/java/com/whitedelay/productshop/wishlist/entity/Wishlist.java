@@ -7,7 +7,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "wishlist")
+@Table(name = "wishlist", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_wishlist_member_product", columnNames = {"member_id", "product_id"})
+})
 @Getter
 @Builder
 @NoArgsConstructor
@@ -4,6 +4,9 @@ import com.whitedelay.productshop.wishlist.entity.Wishlist;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -14,4 +17,9 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     Page<Wishlist> findByMemberMemberId(String memberId, Pageable pageable);
 
     boolean existsByMemberMemberIdAndProductProductId(String memberId, Long productId);
+
+    // 조회 후 삭제하지 않고 DELETE 한 번으로 삭제(동시에 삭제해도 한 요청만 1을 반환)
+    @Modifying
+    @Query("DELETE FROM Wishlist w WHERE w.member.memberId = :memberId AND w.product.productId = :productId")
+    int deleteByMemberIdAndProductId(@Param("memberId") String memberId, @Param("productId") Long productId);
 }
@@ -0,0 +1,139 @@
+package com.whitedelay.productshop.wishlist.service;
+
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 위시리스트 수 집계
+ * 위시리스트 추가/삭제 시 상품 행을 잠그지 않고 노드 메모리의 상품별 카운터(LongAdder, 스레드별로 나눠 더함)에 변화량만 쌓고,
+ * 일정 주기마다 쌓인 변화량을 상품 ID 순서로 JDBC 배치 한 번에 product.product_wishlist_count에 더함
+ * 변화량은 위시리스트 트랜잭션 커밋 후에 쌓으므로 롤백된 요청은 반영되지 않음. 반영 전 노드가 비정상 종료되면 쌓인 변화량은 사라짐
+ * 사라진 변화량 등으로 생긴 차이는 주기적으로 위시리스트 테이블의 행 수로 다시 계산해 맞춤
+ * 상품 상세 캐시의 위시리스트 수는 캐시가 만료될 때 반영됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WishlistCountService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${WISHLIST_COUNT_RECOMPUTE_CHUNK_SIZE:1000}")
+    private int recomputeChunkSize;
+
+    // 상품 아이디 → 아직 반영하지 않은 위시리스트 수 변화량
+    private final Map<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    private Counter flushedCounter;
+    private Counter repairedCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        flushedCounter = Counter.builder("wishlist.count.flushed")
+                .description("위시리스트 수 변화량을 반영한 상품 수")
+                .register(meterRegistry);
+        repairedCounter = Counter.builder("wishlist.count.repaired")
+                .description("다시 계산해 위시리스트 수를 고친 상품 수")
+                .register(meterRegistry);
+    }
+
+    public void increment(Long productId) {
+        add(productId, 1);
+    }
+
+    public void decrement(Long productId) {
+        add(productId, -1);
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 후에 쌓음
+    private void add(Long productId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingDeltas.computeIfAbsent(productId, id -> new LongAdder()).add(delta);
+                }
+            });
+            return;
+        }
+        pendingDeltas.computeIfAbsent(productId, id -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * 쌓인 위시리스트 수 변화량 반영
+     * 카운터는 지우지 않고 값만 꺼내므로(sumThenReset) 꺼내는 중에 더해진 변화량은 다음 반영에 포함됨
+     */
+    @Scheduled(fixedDelayString = "${WISHLIST_COUNT_FLUSH_MS:1000}")
+    public synchronized void flush() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        pendingDeltas.forEach((productId, pendingDelta) -> {
+            long delta = pendingDelta.sumThenReset();
+            if (delta != 0) {
+                deltas.put(productId, (int) delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.addWishlistCounts(deltas));
+            flushedCounter.increment(deltas.size());
+        } catch (RuntimeException e) {
+            // 반영하지 못한 변화량은 다시 쌓아 다음 주기에 반영
+            log.error("위시리스트 수 반영 실패(재시도 예정): products={}, e={}", deltas.size(), e.toString());
+            deltas.forEach(this::add);
+        }
+    }
+
+    /**
+     * 위시리스트 수 다시 계산
+     * 이 노드에 쌓인 변화량을 먼저 반영한 뒤 상품 아이디 범위별로 한 트랜잭션씩 위시리스트 행 수와 다른 상품만 고침
+     * 다른 노드에 아직 반영되지 않은 변화량은 이중으로 더해질 수 있으나 다음 계산에서 다시 맞춰짐
+     */
+    @Scheduled(cron = "${WISHLIST_COUNT_RECOMPUTE_CRON:0 30 4 * * *}")
+    public synchronized void recompute() {
+        flush();
+
+        long startedAt = System.currentTimeMillis();
+        long maxProductId = productRepository.findMaxProductId();
+        long repaired = 0;
+        for (long lastProductId = 0; lastProductId < maxProductId; lastProductId += recomputeChunkSize) {
+            long from = lastProductId;
+            long to = Math.min(maxProductId, lastProductId + recomputeChunkSize);
+            try {
+                Integer updated = transactionTemplate.execute(status -> productRepository.recomputeWishlistCounts(from, to));
+                repaired += updated == null ? 0 : updated;
+            } catch (RuntimeException e) {
+                // 실패한 범위는 다음 계산에서 다시 처리됨
+                log.error("위시리스트 수 다시 계산 실패: products=({}, {}], e={}", from, to, e.toString());
+            }
+        }
+        repairedCounter.increment(repaired);
+        log.info("위시리스트 수 다시 계산 완료: repaired={}, elapsed={}ms", repaired, System.currentTimeMillis() - startedAt);
+    }
+
+    // 종료 시 남은 변화량 반영
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
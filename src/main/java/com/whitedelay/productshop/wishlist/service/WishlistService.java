@@ -11,57 +11,55 @@ import com.whitedelay.productshop.wishlist.entity.Wishlist;
 import com.whitedelay.productshop.wishlist.repository.WishlistRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WishlistService {
     private final WishlistRepository wishlistRepository;
     private final ProductRepository productRepository;
+    private final WishlistCountService wishlistCountService;
 
     @Transactional
     public boolean createWishlistWish(Member member, Long productId) {
-        // 상품 조회
-        Product product = productRepository.findByIdForUpdate(productId)
+        // 상품 조회(상품 행은 잠그지 않고, 위시리스트 수는 WishlistCountService가 모아서 반영)
+        Product product = productRepository.findByProductId(productId)
                 .orElseThrow(() -> new IllegalArgumentException("찾는 상품이 없습니다."));
 
         // 위시리스트에 상품이 이미 존재하는지 확인
         if (wishlistRepository.existsByMemberMemberIdAndProductProductId(member.getMemberId(), productId)) {
             throw new IllegalArgumentException("이미 등록되어있는 상품입니다.");
         }
-        // Wishlist 생성 및 저장
+        // Wishlist 생성 및 저장(동시에 같은 상품을 추가하면 (회원, 상품) 유니크 제약으로 하나만 저장됨)
         Wishlist wishlist = Wishlist.from(WishlistRequestDto.from(member, product));
-        wishlistRepository.save(wishlist);
+        try {
+            wishlistRepository.saveAndFlush(wishlist);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("이미 등록되어있는 상품입니다.");
+        }
 
-        // product의 wishlistCount 증가
-        product.setProductWishlistCount(product.getProductWishlistCount() + 1);
-        productRepository.save(product);
+        // product의 wishlistCount 증가(커밋 후 반영)
+        wishlistCountService.increment(productId);
 
         return true;
     }
 
     @Transactional
     public boolean deleteWishlistWish(Member member, Long productId) {
-        Product product = productRepository.findByIdForUpdate(productId)
-                .orElseThrow(() -> new IllegalArgumentException("찾는 상품이 없습니다."));
-
-        // wishlist조회 했는데 이미 값이 있는 경우 삭제
-        Optional<Wishlist> wishlist = wishlistRepository.findByMemberMemberIdAndProductProductId(member.getMemberId(), productId);
-        wishlist.ifPresent(wishlistRepository::delete);
+        if (!productRepository.existsById(productId)) {
+            throw new IllegalArgumentException("찾는 상품이 없습니다.");
+        }
 
-        // product의 wishlistCount 감소
-        product.setProductWishlistCount(product.getProductWishlistCount() - 1);
-        productRepository.save(product);
+        // 실제로 삭제된 경우에만 product의 wishlistCount 감소(커밋 후 반영)
+        if (wishlistRepository.deleteByMemberIdAndProductId(member.getMemberId(), productId) > 0) {
+            wishlistCountService.decrement(productId);
+        }
 
         return true;
     }
@@ -0,0 +1,20 @@
+-- 저장된 주문 메시지 ack 및 저장 대기 재고 해제
+-- KEYS[1]: 주문 저장 스트림 키, KEYS[2]: 저장 대기 재고 해시 키
+-- ARGV[1]: 컨슈머 그룹, ARGV[2..]: 메시지별 "레코드아이디 재고키 수량 재고키 수량 ..."(공백 구분)
+-- 반환: 이번에 ack한 메시지 수
+-- 이미 ack된 메시지(중복 처리)는 저장 대기 재고를 다시 해제하지 않음
+local acked = 0
+for i = 2, #ARGV do
+    local fields = {}
+    for field in string.gmatch(ARGV[i], '%S+') do
+        fields[#fields + 1] = field
+    end
+    if redis.call('XACK', KEYS[1], ARGV[1], fields[1]) == 1 then
+        redis.call('XDEL', KEYS[1], fields[1])
+        for j = 2, #fields, 2 do
+            redis.call('HINCRBY', KEYS[2], fields[j], -tonumber(fields[j + 1]))
+        end
+        acked = acked + 1
+    end
+end
+return acked
@@ -0,0 +1,14 @@
+-- 회원의 상품 옵션별 재고 보류 자리 확보(회원당 상품 옵션별로 유지 중인 보류는 하나만)
+-- KEYS: 보류 자리 키 목록(회원 + 상품 옵션)
+-- ARGV[1]: 보류 아이디, ARGV[2]: 보류 유지 시간(ms)
+-- 반환: 1(모두 확보), 0(이미 보류 중인 상품 옵션이 있어 아무것도 확보하지 않음)
+for i = 1, #KEYS do
+    if redis.call('EXISTS', KEYS[i]) == 1 then
+        return 0
+    end
+end
+
+for i = 1, #KEYS do
+    redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2])
+end
+return 1
@@ -0,0 +1,8 @@
+-- 입장 토큰 사용(요청한 토큰과 같을 때만 삭제해 한 번만 사용할 수 있음)
+-- KEYS[1]: 입장 토큰 키, ARGV[1]: 요청한 입장 토큰
+-- 반환: 1(사용), 0(토큰이 없거나 다름)
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 1
+end
+return 0
@@ -0,0 +1,18 @@
+-- 재고 보류 사용(결제 시 한 번만 사용할 수 있음)
+-- KEYS[1]: 보류 해시 키, KEYS[2]: 보류 만료 ZSET 키
+-- ARGV[1]: 보류 아이디, ARGV[2]: 회원 아이디, ARGV[3]: 현재 시각(ms)
+-- 반환: 보류한 상품 목록 문자열(없거나 만료됐거나 다른 회원의 보류면 nil)
+local expiresAt = redis.call('ZSCORE', KEYS[2], ARGV[1])
+if not expiresAt or tonumber(expiresAt) < tonumber(ARGV[3]) then
+    -- 만료된 보류는 만료 처리 작업이 재고를 복원함
+    return false
+end
+
+local hold = redis.call('HMGET', KEYS[1], 'memberId', 'items')
+if not hold[1] or hold[1] ~= ARGV[2] then
+    return false
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('ZREM', KEYS[2], ARGV[1])
+return hold[2]
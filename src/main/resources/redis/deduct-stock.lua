@@ -0,0 +1,21 @@
+-- 단건 재고 차감
+-- KEYS[1]: 재고 키, ARGV[1]: 차감 수량, ARGV[2]: 재고 이벤트 채널
+-- 반환: 1(차감 성공), 0(재고 부족), -1(재고 키 없음, MySQL에서 적재 후 다시 시도해야 함)
+-- 재고가 0이 되면(또는 이미 0이면) 품절 이벤트를 발행해 모든 노드가 Redis 호출 없이 주문을 거절하게 함
+local stock = redis.call('GET', KEYS[1])
+if not stock then
+    return -1
+end
+
+local need = tonumber(ARGV[1])
+if tonumber(stock) < need then
+    if tonumber(stock) <= 0 then
+        redis.call('PUBLISH', ARGV[2], 'SOLD_OUT:' .. KEYS[1])
+    end
+    return 0
+end
+
+if redis.call('DECRBY', KEYS[1], need) <= 0 then
+    redis.call('PUBLISH', ARGV[2], 'SOLD_OUT:' .. KEYS[1])
+end
+return 1
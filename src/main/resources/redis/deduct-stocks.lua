@@ -0,0 +1,39 @@
+-- 다건 주문 재고 차감(전부 성공 또는 전부 실패)
+-- KEYS: 상품 옵션별 재고 키, ARGV: KEYS와 같은 순서의 차감 수량(마지막 ARGV는 재고 이벤트 채널)
+-- 반환: 상품별 결과 목록(1: 차감 가능, 0: 재고 부족, -1: 재고 키 없음). 하나라도 1이 아니면 아무것도 차감하지 않음
+-- 재고가 0이 된(또는 이미 0인) 키는 품절 이벤트를 발행함
+local channel = ARGV[#KEYS + 1]
+
+-- 같은 옵션이 여러 번 담긴 경우를 위해 키별 필요 수량을 합산
+local required = {}
+for i = 1, #KEYS do
+    required[KEYS[i]] = (required[KEYS[i]] or 0) + tonumber(ARGV[i])
+end
+
+local results = {}
+local available = true
+for i = 1, #KEYS do
+    local stock = redis.call('GET', KEYS[i])
+    if not stock then
+        results[i] = -1
+        available = false
+    elseif tonumber(stock) < required[KEYS[i]] then
+        results[i] = 0
+        available = false
+        if tonumber(stock) <= 0 then
+            redis.call('PUBLISH', channel, 'SOLD_OUT:' .. KEYS[i])
+        end
+    else
+        results[i] = 1
+    end
+end
+
+if available then
+    for i = 1, #KEYS do
+        if redis.call('DECRBY', KEYS[i], ARGV[i]) == 0 then
+            redis.call('PUBLISH', channel, 'SOLD_OUT:' .. KEYS[i])
+        end
+    end
+end
+
+return results
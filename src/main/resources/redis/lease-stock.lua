@@ -0,0 +1,23 @@
+-- 노드 로컬 리스용 재고 가져오기
+-- KEYS[1]: 재고 키
+-- ARGV[1]: 최소 필요 수량, ARGV[2]: 리스 크기, ARGV[3]: 저재고 기준(low-water mark)
+-- 반환: 가져온 수량(0이면 필요 수량만큼의 재고가 없음, -1이면 재고 키 없음)
+local current = redis.call('GET', KEYS[1])
+if not current then
+    return -1
+end
+
+local stock = tonumber(current)
+local need = tonumber(ARGV[1])
+if stock < need then
+    return 0
+end
+
+local take = math.max(tonumber(ARGV[2]), need)
+-- 남은 재고가 저재고 기준보다 적어지면 다른 노드를 위해 필요한 만큼만 가져감
+if stock - take < tonumber(ARGV[3]) then
+    take = need
+end
+
+redis.call('DECRBY', KEYS[1], take)
+return take
@@ -0,0 +1,18 @@
+-- 예정 시각이 지난 주문 상태 전이 꺼내기(꺼낸 항목은 처리 중 ZSET으로 옮기므로 여러 노드가 실행해도 한 노드만 처리함)
+-- KEYS[1]: 상태 전이 ZSET 키, KEYS[2]: 처리 중 ZSET 키(score는 처리 기한)
+-- ARGV[1]: 현재 시각(ms), ARGV[2]: 최대 개수, ARGV[3]: 이번에 꺼낸 항목의 처리 기한(ms)
+-- 반환: 꺼낸 전이 항목 목록("주문아이디:현재상태:주문시각(ms)")
+
+-- 처리 기한이 지난 항목(처리 중 노드가 종료됨)은 바로 다시 꺼낼 수 있도록 상태 전이 ZSET으로 되돌림
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+for _, transition in ipairs(expired) do
+    redis.call('ZADD', KEYS[1], ARGV[1], transition)
+    redis.call('ZREM', KEYS[2], transition)
+end
+
+local transitions = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+for _, transition in ipairs(transitions) do
+    redis.call('ZREM', KEYS[1], transition)
+    redis.call('ZADD', KEYS[2], ARGV[3], transition)
+end
+return transitions
@@ -0,0 +1,16 @@
+-- 만료된 재고 보류 꺼내기(꺼낸 보류는 삭제되므로 여러 노드가 실행해도 한 번만 복원됨)
+-- KEYS[1]: 보류 만료 ZSET 키
+-- ARGV[1]: 현재 시각(ms), ARGV[2]: 최대 개수, ARGV[3]: 보류 해시 키 접두사
+-- 반환: 만료된 보류의 상품 목록 문자열 목록
+local holdIds = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+local items = {}
+for _, holdId in ipairs(holdIds) do
+    local holdKey = ARGV[3] .. holdId
+    local item = redis.call('HGET', holdKey, 'items')
+    if item then
+        table.insert(items, item)
+    end
+    redis.call('DEL', holdKey)
+    redis.call('ZREM', KEYS[1], holdId)
+end
+return items
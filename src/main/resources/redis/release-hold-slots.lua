@@ -0,0 +1,11 @@
+-- 재고 보류 자리 해제(같은 보류가 확보한 자리만 삭제)
+-- KEYS: 보류 자리 키 목록, ARGV[1]: 보류 아이디
+-- 반환: 삭제한 자리 수
+local released = 0
+for i = 1, #KEYS do
+    if redis.call('GET', KEYS[i]) == ARGV[1] then
+        redis.call('DEL', KEYS[i])
+        released = released + 1
+    end
+end
+return released
@@ -0,0 +1,8 @@
+-- 처리 중인 결제 요청의 멱등성 키 유지 시간 연장
+-- KEYS[1]: 멱등성 키, ARGV[1]: 처리 중 표시 값("요청 해시|PENDING"), ARGV[2]: 유지 시간(ms)
+-- 반환: 1(연장), 0(결과가 저장됐거나 키가 지워져 연장하지 않음)
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+return 0
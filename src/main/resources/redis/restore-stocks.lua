@@ -0,0 +1,14 @@
+-- 차감했던 재고 복원(관리자 재고 추가에도 사용)
+-- KEYS: 상품 옵션별 재고 키, ARGV: KEYS와 같은 순서의 복원 수량
+-- 반환: 키별 복원 후 재고 목록(-1이면 재고 키 없음, 복원하지 않음)
+-- 재고 키가 없을 때 INCRBY하면 복원 수량만 가진 키가 생기고, 적재(SET NX)가 그 값을 고치지 못하므로 복원하지 않음
+-- 복원하지 않은 수량은 다음 적재 시 MySQL 재고에서 다시 계산됨
+local results = {}
+for i = 1, #KEYS do
+    if redis.call('EXISTS', KEYS[i]) == 0 then
+        results[i] = -1
+    else
+        results[i] = redis.call('INCRBY', KEYS[i], ARGV[i])
+    end
+end
+return results
@@ -0,0 +1,9 @@
+-- 노드 리스 재고 반납
+-- KEYS[1]: 재고 키, ARGV[1]: 반납 수량
+-- 반환: 반납 후 재고(-1이면 재고 키 없음, 반납하지 않음)
+-- 재고 키가 없을 때 INCRBY하면 반납 수량만 가진 키가 생기고, 적재(SET NX)가 그 값을 고치지 못하므로 반납하지 않음
+-- 반납하지 않은 수량은 MySQL 재고에 남아 있으므로 다음 적재 시 포함됨
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+return redis.call('INCRBY', KEYS[1], ARGV[1])
@@ -0,0 +1,16 @@
+-- 주문 접수 티켓 상태 갱신(아직 만료되지 않은 티켓만 갱신)
+-- KEYS: 티켓 키 목록, ARGV[1]: 상태, ARGV[2..]: KEYS와 같은 순서의 주문 아이디(없으면 상태만 갱신)
+-- 반환: 갱신한 티켓 수
+-- 만료된 티켓에 HSET하면 TTL과 회원 정보가 없는 키가 생겨 조회되지 않고 남으므로 갱신하지 않음
+local updated = 0
+for i = 1, #KEYS do
+    if redis.call('EXISTS', KEYS[i]) == 1 then
+        if ARGV[i + 1] then
+            redis.call('HSET', KEYS[i], 'status', ARGV[1], 'orderId', ARGV[i + 1])
+        else
+            redis.call('HSET', KEYS[i], 'status', ARGV[1])
+        end
+        updated = updated + 1
+    end
+end
+return updated
@@ -9,6 +9,7 @@ import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductOption;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
+import com.whitedelay.productshop.product.service.ProductPricingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +42,9 @@ class CartServiceTest {
     @Mock
     private ProductOptionRepository productOptionRepository;
 
+    @Mock
+    private ProductPricingService productPricingService;
+
     private Member member;
 
     @BeforeEach
@@ -169,8 +174,9 @@ class CartServiceTest {
                 .build();
 
         when(cartRepository.findByMemberMemberId(member.getMemberId())).thenReturn(Arrays.asList(cart1, cart2));
-        when(productOptionRepository.findById(1L)).thenReturn(Optional.of(productOption1));
-        when(productOptionRepository.findById(2L)).thenReturn(Optional.of(productOption2));
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(product1, product2));
+        when(productOptionRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(productOption1, productOption2));
+        givenProductPricing();
 
         // when
         CartAllInfoResponseDto responseDto = cartService.getCartAllInfo(member);
@@ -206,4 +212,10 @@ class CartServiceTest {
                 }
         );
     }
+
+    // 가격 계산은 실제 계산 로직에 목 저장소를 연결해 사용
+    private void givenProductPricing() {
+        when(productPricingService.price(anyList())).thenAnswer(invocation ->
+                new ProductPricingService(productRepository, productOptionRepository).price(invocation.getArgument(0)));
+    }
 }
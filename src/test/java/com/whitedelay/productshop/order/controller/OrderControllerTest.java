@@ -27,6 +27,10 @@ import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -82,6 +86,30 @@ public class OrderControllerTest {
         assertThat(dto.getProductTotalPrice()).isEqualTo(10000);
         assertThat(dto.getOrderShippingFee()).isEqualTo(3000);
         assertThat(dto.getOrderPrice()).isEqualTo(13000);
+        verify(orderService, never()).getOrderProductAllInfo(any(), any(OrderProductAllInfoRequestDto.class), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("재고 보류 - POST로만 보류를 만듦")
+    void createOrderProductHold_Success() {
+        // Given
+        OrderProductAllInfoRequestDto orderProductAllInfoRequestDto = OrderProductAllInfoRequestDto.builder()
+                .orderProducts(Collections.emptyList())
+                .build();
+        OrderProductAllInfoResponseDto orderProductAllInfoResponseDto = OrderProductAllInfoResponseDto.builder()
+                .orderPrice(13000)
+                .holdId("hold-1")
+                .build();
+
+        when(orderService.getOrderProductAllInfo(any(), eq(orderProductAllInfoRequestDto), eq(true)))
+                .thenReturn(orderProductAllInfoResponseDto);
+
+        // When
+        ApiResponse<OrderProductAllInfoResponseDto> response = orderController.createOrderProductHold(userDetails, orderProductAllInfoRequestDto);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(response.getData().getHoldId()).isEqualTo("hold-1");
     }
 
 //    @Test
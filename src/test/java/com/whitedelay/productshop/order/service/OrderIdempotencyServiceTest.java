@@ -0,0 +1,205 @@
+package com.whitedelay.productshop.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.OrderProductPayRequestDto;
+import com.whitedelay.productshop.order.dto.OrderProductPayResponseDto;
+import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    private static final String KEY = "test:idempotency:1:retry-key";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<?> renewal;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderIdempotencyService orderIdempotencyService;
+
+    private Member member;
+    private OrderProductPayRequestDto requestDto;
+    private OrderProductPayResponseDto responseDto;
+    private String requestHash;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderIdempotencyService = new OrderIdempotencyService(redisTemplate, objectMapper, taskScheduler);
+        ReflectionTestUtils.setField(orderIdempotencyService, "productNamespace", "test");
+        ReflectionTestUtils.setField(orderIdempotencyService, "resultTtlSeconds", 86400L);
+        ReflectionTestUtils.setField(orderIdempotencyService, "pendingTtlSeconds", 30L);
+        ReflectionTestUtils.setField(orderIdempotencyService, "waitMs", 200L);
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().doReturn(renewal).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+
+        member = Member.builder().id(1L).memberId("testuser").build();
+        requestDto = OrderProductPayRequestDto.builder()
+                .productTotalPrice(2200)
+                .orderPrice(2200)
+                .build();
+        responseDto = OrderProductPayResponseDto.from(2200, 0, 2200, OrderStatusEnum.PAYMENT_COMPLETED, "ticket-1");
+        requestHash = DigestUtils.md5DigestAsHex(objectMapper.writeValueAsString(requestDto).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("멱등성 키가 없으면 키를 저장하지 않고 바로 결제")
+    void execute_NoKey() {
+        // when
+        OrderProductPayResponseDto response = orderIdempotencyService.execute(member, null, requestDto, () -> responseDto);
+
+        // then
+        assertThat(response).isSameAs(responseDto);
+        verifyNoInteractions(redisTemplate, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("처음 요청 - SET NX로 처리 중 표시 후 결제하고 결과를 저장")
+    void execute_FirstRequest() throws Exception {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(true);
+
+        // when
+        OrderProductPayResponseDto response = orderIdempotencyService.execute(member, "retry-key", requestDto, () -> responseDto);
+
+        // then
+        assertThat(response).isSameAs(responseDto);
+        verify(valueOperations).set(KEY, requestHash + "|" + objectMapper.writeValueAsString(responseDto), Duration.ofSeconds(86400L));
+        verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofSeconds(10L)));
+        verify(renewal).cancel(false);
+    }
+
+    @Test
+    @DisplayName("처음 요청 - 결제하는 동안 처리 중 표시를 연장")
+    @SuppressWarnings("unchecked")
+    void execute_RenewPendingWhilePaying() {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(true);
+        ArgumentCaptor<Runnable> renewTask = ArgumentCaptor.forClass(Runnable.class);
+
+        // when
+        orderIdempotencyService.execute(member, "retry-key", requestDto, () -> {
+            verify(taskScheduler).scheduleAtFixedRate(renewTask.capture(), any(Duration.class));
+            renewTask.getValue().run();
+            return responseDto;
+        });
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq(requestHash + "|PENDING"), eq("30000"));
+    }
+
+    @Test
+    @DisplayName("처음 요청 실패 - 결과를 저장하지 않고 키를 지워 재시도할 수 있게 함")
+    void execute_PaymentFailed() {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(true);
+
+        // when / then
+        assertThatThrownBy(() -> orderIdempotencyService.execute(member, "retry-key", requestDto, () -> {
+            throw new IllegalArgumentException("상품 옵션의 재고가 부족합니다.");
+        })).isInstanceOf(IllegalArgumentException.class);
+        verify(redisTemplate).delete(KEY);
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+        verify(renewal).cancel(false);
+    }
+
+    @Test
+    @DisplayName("재시도 요청 - 처음 요청의 결과가 저장될 때까지 기다린 뒤 결제 없이 결과 반환")
+    void execute_WaitForFirstResult() throws Exception {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn(
+                requestHash + "|PENDING",
+                requestHash + "|" + objectMapper.writeValueAsString(responseDto));
+        AtomicInteger payments = new AtomicInteger();
+
+        // when
+        OrderProductPayResponseDto response = orderIdempotencyService.execute(member, "retry-key", requestDto, () -> {
+            payments.incrementAndGet();
+            return responseDto;
+        });
+
+        // then
+        assertThat(payments.get()).isZero();
+        assertThat(response.getTicketId()).isEqualTo("ticket-1");
+        verify(valueOperations, times(2)).get(KEY);
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    @DisplayName("재시도 요청 - 기다리는 시간 안에 처음 요청이 끝나지 않으면 409")
+    void execute_WaitTimeout() {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn(requestHash + "|PENDING");
+
+        // when / then
+        assertThatThrownBy(() -> orderIdempotencyService.execute(member, "retry-key", requestDto, () -> responseDto))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    @DisplayName("재시도 요청 - 같은 키로 다른 주문 요청을 보내면 422")
+    void execute_DifferentRequest() {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn("other-hash|PENDING");
+
+        // when / then
+        assertThatThrownBy(() -> orderIdempotencyService.execute(member, "retry-key", requestDto, () -> responseDto))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    @DisplayName("재시도 요청 - 처음 요청이 실패해 키가 지워졌으면 다시 결제")
+    void execute_RetryAfterFirstFailed() {
+        // given
+        when(valueOperations.setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L))).thenReturn(false, true);
+        when(valueOperations.get(KEY)).thenReturn(null);
+
+        // when
+        OrderProductPayResponseDto response = orderIdempotencyService.execute(member, "retry-key", requestDto, () -> responseDto);
+
+        // then
+        assertThat(response).isSameAs(responseDto);
+        verify(valueOperations, times(2)).setIfAbsent(KEY, requestHash + "|PENDING", Duration.ofSeconds(30L));
+    }
+}
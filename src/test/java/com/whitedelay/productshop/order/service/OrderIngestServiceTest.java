@@ -0,0 +1,241 @@
+package com.whitedelay.productshop.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whitedelay.productshop.order.dto.OrderIngestMessageDto;
+import com.whitedelay.productshop.order.dto.OrderProductPayRequestDto;
+import com.whitedelay.productshop.order.dto.OrderProductResponseDto;
+import com.whitedelay.productshop.order.entity.Order;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import com.whitedelay.productshop.redis.service.RedisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestServiceTest {
+
+    private static final String STREAM_KEY = "test:order-stream";
+    private static final String RESERVED_KEY = "test:stock-reserved";
+    private static final String GROUP = "order-workers";
+
+    @InjectMocks
+    private OrderIngestService orderIngestService;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private OrderProductService orderProductService;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private NodeIdentity nodeIdentity;
+
+    @Mock
+    private OrderTicketService orderTicketService;
+
+    @Mock
+    private OrderTransitionService orderTransitionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderIngestService, "productNamespace", "test");
+        ReflectionTestUtils.setField(orderIngestService, "batchSize", 50);
+        ReflectionTestUtils.setField(orderIngestService, "maxRetries", 5);
+        ReflectionTestUtils.setField(orderIngestService, "retryIdleMs", 10000L);
+
+        lenient().when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        lenient().when(nodeIdentity.getNodeId()).thenReturn("node-1");
+        lenient().when(redisService.getReservedStockKey()).thenReturn(RESERVED_KEY);
+        lenient().when(redisService.getStockKey(anyLong(), anyLong()))
+                .thenAnswer(invocation -> "test:" + invocation.getArgument(0) + "-" + invocation.getArgument(1) + "-stock");
+    }
+
+    private MapRecord<String, Object, Object> record(String recordId, String payload) {
+        return MapRecord.create(STREAM_KEY, Map.<Object, Object>of("payload", payload)).withId(RecordId.of(recordId));
+    }
+
+    // 상품 1의 옵션 optionId를 quantity개 주문하는 메시지
+    private OrderIngestMessageDto message(String payload, String ticketId, Long optionId, int quantity) throws Exception {
+        OrderIngestMessageDto message = OrderIngestMessageDto.builder()
+                .memberId(1L)
+                .ticketId(ticketId)
+                .orderProductPayRequestDto(OrderProductPayRequestDto.builder()
+                        .orderProductList(List.of(OrderProductResponseDto.builder()
+                                .productId(1L)
+                                .productOptionId(optionId)
+                                .quantity(quantity)
+                                .build()))
+                        .build())
+                .build();
+        lenient().when(objectMapper.readValue(payload, OrderIngestMessageDto.class)).thenReturn(message);
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenNewRecords(MapRecord<String, Object, Object>... records) {
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class))).thenReturn(List.of(records));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPendingRecord(MapRecord<String, Object, Object> record, long deliveryCount) {
+        PendingMessage pendingMessage = new PendingMessage(record.getId(), Consumer.from(GROUP, "node-2"), Duration.ofMinutes(1), deliveryCount);
+        when(streamOperations.pending(eq(STREAM_KEY), eq(GROUP), any(Range.class), eq(50L)))
+                .thenReturn(new PendingMessages(GROUP, List.of(pendingMessage)));
+        when(streamOperations.claim(eq(STREAM_KEY), eq(GROUP), eq("node-1"), any(Duration.class), eq(record.getId())))
+                .thenReturn(List.of(record));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyAcknowledged(String... ackArgs) {
+        Object[] expected = new Object[ackArgs.length + 1];
+        expected[0] = GROUP;
+        System.arraycopy(ackArgs, 0, expected, 1, ackArgs.length);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(STREAM_KEY, RESERVED_KEY)), eq(expected));
+    }
+
+    @Test
+    @DisplayName("주문 저장 - 이미 저장된 티켓이면 다시 저장하지 않고 ack와 후처리만 함")
+    void consume_AlreadyPersisted() throws Exception {
+        // given
+        OrderIngestMessageDto message = message("payload-1", "ticket-1", 1L, 2);
+        givenNewRecords(record("1-0", "payload-1"));
+        Order order = Order.builder().orderId(10L).build();
+        when(orderProductService.createOrderProductPay(message)).thenThrow(new DataIntegrityViolationException("uk_order_ticket_id"));
+        when(orderProductService.findOrderByTicketId("ticket-1")).thenReturn(Optional.of(order));
+
+        // when
+        orderIngestService.consume();
+
+        // then
+        verifyAcknowledged("1-0 test:1-1-stock 2");
+        verify(orderTicketService).markPersisted(Map.of("ticket-1", 10L));
+        verify(orderTransitionService).scheduleOrders(List.of(order));
+    }
+
+    @Test
+    @DisplayName("주문 저장 실패 - 유니크 제약 위반인데 저장된 주문이 없으면 ack하지 않음(재시도)")
+    void consume_IntegrityViolationWithoutOrder() throws Exception {
+        // given
+        OrderIngestMessageDto message = message("payload-1", "ticket-1", 1L, 2);
+        givenNewRecords(record("1-0", "payload-1"));
+        when(orderProductService.createOrderProductPay(message)).thenThrow(new DataIntegrityViolationException("fk"));
+        when(orderProductService.findOrderByTicketId("ticket-1")).thenReturn(Optional.empty());
+
+        // when
+        orderIngestService.consume();
+
+        // then
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verifyNoInteractions(orderTicketService, orderTransitionService);
+    }
+
+    @Test
+    @DisplayName("주문 묶음 저장 - 한 트랜잭션으로 저장하고 한 번에 ack")
+    void consume_Batch_Success() throws Exception {
+        // given
+        OrderIngestMessageDto first = message("payload-1", "ticket-1", 1L, 2);
+        OrderIngestMessageDto second = message("payload-2", "ticket-2", 2L, 1);
+        givenNewRecords(record("1-0", "payload-1"), record("2-0", "payload-2"));
+        List<Order> orders = List.of(Order.builder().orderId(10L).build(), Order.builder().orderId(11L).build());
+        when(orderProductService.createOrderProductPayBatch(List.of(first, second))).thenReturn(orders);
+
+        // when
+        orderIngestService.consume();
+
+        // then
+        verifyAcknowledged("1-0 test:1-1-stock 2", "2-0 test:1-2-stock 1");
+        verify(orderTicketService).markPersisted(Map.of("ticket-1", 10L, "ticket-2", 11L));
+        verify(orderTransitionService).scheduleOrders(orders);
+        verify(orderProductService, never()).createOrderProductPay(any());
+    }
+
+    @Test
+    @DisplayName("주문 묶음 저장 실패 - 주문별 저장으로 전환해 실패한 주문만 ack하지 않음")
+    void consume_Batch_FallbackPerRecord() throws Exception {
+        // given
+        OrderIngestMessageDto first = message("payload-1", "ticket-1", 1L, 2);
+        OrderIngestMessageDto second = message("payload-2", "ticket-2", 2L, 1);
+        givenNewRecords(record("1-0", "payload-1"), record("2-0", "payload-2"));
+        Order order = Order.builder().orderId(10L).build();
+        when(orderProductService.createOrderProductPayBatch(List.of(first, second))).thenThrow(new IllegalArgumentException("상품 옵션의 재고가 부족합니다."));
+        when(orderProductService.createOrderProductPay(first)).thenReturn(order);
+        when(orderProductService.createOrderProductPay(second)).thenThrow(new IllegalArgumentException("상품 옵션의 재고가 부족합니다."));
+
+        // when
+        orderIngestService.consume();
+
+        // then
+        verifyAcknowledged("1-0 test:1-1-stock 2");
+        verify(orderTicketService).markPersisted(Map.of("ticket-1", 10L));
+        verify(orderTransitionService).scheduleOrders(List.of(order));
+        verifyNoMoreInteractions(orderTicketService);
+    }
+
+    @Test
+    @DisplayName("주문 묶음 저장 후 ack 실패 - 커밋된 주문을 다시 저장하지 않고 나머지 후처리는 진행")
+    @SuppressWarnings("unchecked")
+    void consume_Batch_PostCommitFailure() throws Exception {
+        // given
+        OrderIngestMessageDto first = message("payload-1", "ticket-1", 1L, 2);
+        OrderIngestMessageDto second = message("payload-2", "ticket-2", 2L, 1);
+        givenNewRecords(record("1-0", "payload-1"), record("2-0", "payload-2"));
+        List<Order> orders = List.of(Order.builder().orderId(10L).build(), Order.builder().orderId(11L).build());
+        when(orderProductService.createOrderProductPayBatch(List.of(first, second))).thenReturn(orders);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenThrow(new IllegalStateException("redis down"));
+
+        // when
+        orderIngestService.consume();
+
+        // then
+        verify(orderProductService, times(1)).createOrderProductPayBatch(anyList());
+        verify(orderProductService, never()).createOrderProductPay(any());
+        verify(orderTicketService).markPersisted(Map.of("ticket-1", 10L, "ticket-2", 11L));
+        verify(orderTransitionService).scheduleOrders(orders);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수 초과 - 이미 저장된 주문은 dead-letter로 옮기지 않고 ack만 함(재고 복원 안 함)")
+    void retryPending_PersistedNotDeadLettered() throws Exception {
+        // given
+        message("payload-1", "ticket-1", 1L, 2);
+        MapRecord<String, Object, Object> record = record("1-0", "payload-1");
+        givenPendingRecord(record, 5);
+        Order order = Order.builder().orderId(10L).build();
+        when(orderProductService.findOrderByTicketId("ticket-1")).thenReturn(Optional.of(order));
+
+        // when
+        orderIngestService.retryPending();
+
+        // then
+        verifyAcknowledged("1-0 test:1-1-stock 2");
+        verify(streamOperations, never()).add(any(Record.class));
+        verify(redisService, never()).deductRollbackStocks(anyList());
+    }
+}
@@ -6,13 +6,21 @@ import com.whitedelay.productshop.order.dto.*;
 import com.whitedelay.productshop.order.entity.Order;
 import com.whitedelay.productshop.order.entity.OrderProduct;
 import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import com.whitedelay.productshop.order.entity.OrderTicketStatusEnum;
 import com.whitedelay.productshop.order.repository.OrderProductRepository;
 import com.whitedelay.productshop.order.repository.OrderRepository;
+import com.whitedelay.productshop.product.dto.ProductOptionPriceDto;
+import com.whitedelay.productshop.product.dto.ProductOptionTitleDto;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductOption;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
+import com.whitedelay.productshop.product.service.ProductPriceTableService;
+import com.whitedelay.productshop.product.service.ProductPricingService;
+import com.whitedelay.productshop.queue.service.AdmissionQueueService;
 import com.whitedelay.productshop.redis.service.RedisService;
+import com.whitedelay.productshop.redis.service.SoldOutCacheService;
+import com.whitedelay.productshop.redis.service.StockLeaseService;
 import com.whitedelay.productshop.util.AES256Encoder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,14 +33,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -57,6 +71,12 @@ class OrderServiceTest {
     @Mock
     private ProductOptionRepository productOptionRepository;
 
+    @Mock
+    private ProductPricingService productPricingService;
+
+    @Mock
+    private ProductPriceTableService productPriceTableService;
+
     @Mock
     private MemberRepository memberRepository;
 
@@ -64,7 +84,28 @@ class OrderServiceTest {
     private RedisService redisService;
 
     @Mock
-    private OrderProductService orderProductService;
+    private StockLeaseService stockLeaseService;
+
+    @Mock
+    private OrderIngestService orderIngestService;
+
+    @Mock
+    private StockHoldService stockHoldService;
+
+    @Mock
+    private AdmissionQueueService admissionQueueService;
+
+    @Mock
+    private SoldOutCacheService soldOutCacheService;
+
+    @Mock
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Mock
+    private OrderTicketService orderTicketService;
+
+    @Mock
+    private OrderTransitionService orderTransitionService;
 
     @Mock
     private AES256Encoder aes256Encoder;
@@ -107,6 +148,15 @@ class OrderServiceTest {
                 .orderProductOptionId(productOption.getProductOptionId())
                 .orderProductQuantity(2)
                 .build();
+
+        // 가격표: 옵션 1, 2 모두 상품 1(1000원) + 옵션 100원
+        lenient().when(productPriceTableService.getPrices(anyCollection())).thenReturn(Map.of(
+                1L, new ProductOptionPriceDto(1L, 1L, 1000, 100),
+                2L, new ProductOptionPriceDto(2L, 1L, 1000, 100)
+        ));
+        // 멱등성 키가 없는 결제는 결제 처리를 그대로 실행
+        lenient().when(orderIdempotencyService.execute(any(), isNull(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<OrderProductPayResponseDto>>getArgument(3).get());
     }
 
 
@@ -123,24 +173,76 @@ class OrderServiceTest {
                                 .build()
                 ))
                 .productTotalPrice(2200)
-                .orderShippingFee(0)
-                .orderPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
                 .build();
 
         when(redisService.deductStock(product.getProductId(), productOption.getProductOptionId(), 2)).thenReturn(true);
-        doNothing().when(orderProductService).createOrderProductPay(member, requestDto);
+        when(orderIngestService.enqueue(member, requestDto)).thenReturn("ticket-1");
 
         // When
-        OrderProductPayResponseDto response = orderService.createOrderProductPay(member, requestDto);
+        OrderProductPayResponseDto response = orderService.createOrderProductPay(member, requestDto, null);
 
         // Then
         assertAll(
                 () -> assertThat(response).isNotNull(),
                 () -> assertThat(response.getProductTotalPrice()).isEqualTo(2200),
-                () -> assertThat(response.getPaymentStatus()).isEqualTo(OrderStatusEnum.PAYMENT_COMPLETED)
+                () -> assertThat(response.getPaymentStatus()).isEqualTo(OrderStatusEnum.PAYMENT_COMPLETED),
+                () -> assertThat(response.getTicketId()).isEqualTo("ticket-1")
         );
 
-        verify(orderProductService, times(1)).createOrderProductPay(member, requestDto);
+        verify(orderIngestService, times(1)).enqueue(member, requestDto);
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 결제 금액이 가격표와 다름")
+    void createOrderProductPay_Failure_PriceMismatch() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(100)
+                .orderShippingFee(0)
+                .orderPrice(100)
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("결제 금액이 일치하지 않습니다.");
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(orderIngestService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 다른 상품의 옵션으로 주문하면 400")
+    void createOrderProductPay_Failure_OptionOfOtherProduct() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(2L)
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(1)
+                                .build()
+                ))
+                .productTotalPrice(1100)
+                .orderShippingFee(0)
+                .orderPrice(1100)
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .hasMessageContaining("찾는 상품 옵션이 없습니다.");
+        verify(redisService, never()).deductStocks(anyList());
+        verify(orderIngestService, never()).enqueue(any(), any());
     }
 
     @Test
@@ -156,16 +258,302 @@ class OrderServiceTest {
                                 .build()
                 ))
                 .productTotalPrice(2200)
-                .orderShippingFee(0)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .build();
+
+        when(redisService.deductStock(product.getProductId(), productOption.getProductOptionId(), 2)).thenReturn(false);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상품 옵션의 재고가 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 품절로 기록된 옵션은 Redis 호출 없이 거절")
+    void createOrderProductPay_Failure_SoldOutCached() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .build();
+
+        when(redisService.getStockKey(product.getProductId(), productOption.getProductOptionId())).thenReturn("product:1-1-stock");
+        when(soldOutCacheService.isSoldOut("product:1-1-stock")).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상품 옵션의 재고가 부족합니다.")
+                .hasMessageContaining("상품 옵션: 1");
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(orderIngestService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 재시도 - 멱등성 처리가 저장된 결과를 반환하면 재고 차감과 주문 접수를 하지 않음")
+    void createOrderProductPay_IdempotentRetry() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
                 .orderPrice(2200)
                 .build();
+        OrderProductPayResponseDto cachedResponse = OrderProductPayResponseDto.from(2200, 0, 2200, OrderStatusEnum.PAYMENT_COMPLETED, "ticket-1");
+
+        when(orderIdempotencyService.execute(eq(member), eq("retry-key"), eq(requestDto), any())).thenReturn(cachedResponse);
+
+        // When
+        OrderProductPayResponseDto response = orderService.createOrderProductPay(member, requestDto, "retry-key");
+
+        // Then
+        assertThat(response).isSameAs(cachedResponse);
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(orderIngestService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("다건 주문 성공 - 재고를 한 번에 차감")
+    void createOrderProductPay_MultiItem_Success() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build(),
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(2L)
+                                .quantity(1)
+                                .build()
+                ))
+                .productTotalPrice(3300)
+                .orderShippingFee(3000)
+                .orderPrice(6300)
+                .build();
+
+        when(redisService.deductStocks(anyList())).thenReturn(Arrays.asList(true, true));
+
+        // When
+        OrderProductPayResponseDto response = orderService.createOrderProductPay(member, requestDto, null);
+
+        // Then
+        assertThat(response.getPaymentStatus()).isEqualTo(OrderStatusEnum.PAYMENT_COMPLETED);
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(redisService, times(1)).deductStocks(anyList());
+        verify(orderIngestService, times(1)).enqueue(member, requestDto);
+    }
+
+    @Test
+    @DisplayName("다건 주문 실패 - 일부 상품 옵션 재고 부족")
+    void createOrderProductPay_MultiItem_Failure_StockNotAvailable() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build(),
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(2L)
+                                .quantity(1)
+                                .build()
+                ))
+                .productTotalPrice(3300)
+                .orderShippingFee(3000)
+                .orderPrice(6300)
+                .build();
+
+        when(redisService.deductStocks(anyList())).thenReturn(Arrays.asList(true, false));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상품 옵션의 재고가 부족합니다.")
+                .hasMessageContaining("상품 옵션: 2");
+
+        verify(orderIngestService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 성공 - 리스 모드 옵션은 노드 리스 재고에서 차감")
+    void createOrderProductPay_Leased_Success() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .build();
+
+        when(stockLeaseService.isLeaseEnabled(product.getProductId(), productOption.getProductOptionId())).thenReturn(true);
+        when(stockLeaseService.deductStock(product.getProductId(), productOption.getProductOptionId(), 2)).thenReturn(true);
+
+        // When
+        OrderProductPayResponseDto response = orderService.createOrderProductPay(member, requestDto, null);
+
+        // Then
+        assertThat(response.getPaymentStatus()).isEqualTo(OrderStatusEnum.PAYMENT_COMPLETED);
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(redisService, never()).deductStocks(anyList());
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 주문 접수 실패 시 차감한 재고 복원")
+    void createOrderProductPay_Failure_EnqueueFailed() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .build();
+
+        when(redisService.deductStock(product.getProductId(), productOption.getProductOptionId(), 2)).thenReturn(true);
+        doThrow(new IllegalStateException("주문 접수에 실패했습니다.")).when(orderIngestService).enqueue(member, requestDto);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("주문 접수에 실패했습니다.");
+        verify(redisService, times(1)).deductRollbackStocks(argThat(stocks -> stocks.size() == 1
+                && stocks.getFirst().getProductOptionStock() == 2));
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 판매 대기열 상품의 입장 토큰 없음")
+    void createOrderProductPay_Failure_AdmissionTokenMissing() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .build();
+
+        doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "입장 토큰이 없거나 만료되었습니다."))
+                .when(admissionQueueService).checkAdmission(member, List.of(product.getProductId()), null);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("입장 토큰이 없거나 만료되었습니다.");
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(orderIngestService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 판매 대기열 상품의 재고가 부족하면 입장 토큰을 사용하지 않음")
+    void createOrderProductPay_Failure_StockNotAvailable_AdmissionKept() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .admissionToken("token-1")
+                .build();
 
         when(redisService.deductStock(product.getProductId(), productOption.getProductOptionId(), 2)).thenReturn(false);
 
         // When / Then
-        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto))
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("상품 옵션의 재고가 부족합니다.");
+        verify(admissionQueueService, times(1)).checkAdmission(member, List.of(product.getProductId()), "token-1");
+        verify(admissionQueueService, never()).consumeAdmission(any(), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("주문 실패 - 입장 토큰을 사용한 뒤 주문 접수에 실패하면 재고와 입장 토큰 복원")
+    void createOrderProductPay_Failure_EnqueueFailed_AdmissionRestored() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .admissionToken("token-1")
+                .build();
+
+        when(redisService.deductStock(product.getProductId(), productOption.getProductOptionId(), 2)).thenReturn(true);
+        when(admissionQueueService.consumeAdmission(member, List.of(product.getProductId()), "token-1")).thenReturn(Optional.of(product.getProductId()));
+        doThrow(new IllegalStateException("주문 접수에 실패했습니다.")).when(orderIngestService).enqueue(member, requestDto);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrderProductPay(member, requestDto, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("주문 접수에 실패했습니다.");
+        verify(redisService, times(1)).deductRollbackStocks(anyList());
+        verify(admissionQueueService, times(1)).restoreAdmission(member, product.getProductId(), "token-1");
+    }
+
+    @Test
+    @DisplayName("주문 접수 티켓 조회 성공")
+    void getOrderTicket_Success() {
+        // Given
+        OrderTicketResponseDto ticket = OrderTicketResponseDto.builder()
+                .ticketId("ticket-1")
+                .status(OrderTicketStatusEnum.PERSISTED)
+                .orderId(1L)
+                .build();
+        when(orderTicketService.getTicket(member, "ticket-1")).thenReturn(ticket);
+
+        // When
+        OrderTicketResponseDto response = orderService.getOrderTicket(member, "ticket-1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OrderTicketStatusEnum.PERSISTED);
+        assertThat(response.getOrderId()).isEqualTo(1L);
     }
 
     @Test
@@ -183,8 +571,9 @@ class OrderServiceTest {
                 .build();
 
         when(memberRepository.findByMemberId(member.getMemberId())).thenReturn(Optional.of(member));
-        when(productRepository.findById(product.getProductId())).thenReturn(Optional.of(product));
-        when(productOptionRepository.findByProductOptionId(productOption.getProductOptionId())).thenReturn(Optional.of(productOption));
+        when(productRepository.findAllById(List.of(product.getProductId()))).thenReturn(List.of(product));
+        when(productOptionRepository.findAllById(List.of(productOption.getProductOptionId()))).thenReturn(List.of(productOption));
+        givenProductPricing();
 
         // When
         OrderProductAllInfoResponseDto responseDto = orderService.getOrderProductAllInfo(member, requestDto);
@@ -198,6 +587,99 @@ class OrderServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("주문 상품 정보 조회 - 재고 보류")
+    void getOrderProductAllInfo_Hold_Success() {
+        // Given
+        OrderProductAllInfoRequestDto requestDto = OrderProductAllInfoRequestDto.builder()
+                .orderProducts(Arrays.asList(
+                        OrderProductInfoRequestDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .build();
+        StockHoldDto stockHold = StockHoldDto.builder()
+                .holdId("hold-1")
+                .holdExpiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+
+        when(memberRepository.findByMemberId(member.getMemberId())).thenReturn(Optional.of(member));
+        when(productRepository.findAllById(List.of(product.getProductId()))).thenReturn(List.of(product));
+        when(productOptionRepository.findAllById(List.of(productOption.getProductOptionId()))).thenReturn(List.of(productOption));
+        givenProductPricing();
+        when(stockHoldService.placeHold(eq(member), anyList())).thenReturn(stockHold);
+
+        // When
+        OrderProductAllInfoResponseDto responseDto = orderService.getOrderProductAllInfo(member, requestDto, true);
+
+        // Then
+        assertAll(
+                () -> assertThat(responseDto.getHoldId()).isEqualTo("hold-1"),
+                () -> assertThat(responseDto.getHoldExpiresAt()).isEqualTo(stockHold.getHoldExpiresAt())
+        );
+    }
+
+    @Test
+    @DisplayName("주문 상품 정보 조회 실패 - 판매 대기열 상품은 입장 토큰 없이 재고 보류 불가")
+    void getOrderProductAllInfo_Hold_AdmissionRequired() {
+        // Given
+        OrderProductAllInfoRequestDto requestDto = OrderProductAllInfoRequestDto.builder()
+                .orderProducts(Arrays.asList(
+                        OrderProductInfoRequestDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .build();
+
+        when(memberRepository.findByMemberId(member.getMemberId())).thenReturn(Optional.of(member));
+        when(productRepository.findAllById(List.of(product.getProductId()))).thenReturn(List.of(product));
+        when(productOptionRepository.findAllById(List.of(productOption.getProductOptionId()))).thenReturn(List.of(productOption));
+        givenProductPricing();
+        doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "입장 토큰이 없거나 만료되었습니다."))
+                .when(admissionQueueService).checkAdmission(member, List.of(product.getProductId()), null);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.getOrderProductAllInfo(member, requestDto, true))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("입장 토큰이 없거나 만료되었습니다.");
+        verify(stockHoldService, never()).placeHold(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("주문 성공 - 보류한 재고로 결제하면 재고를 다시 차감하지 않음")
+    void createOrderProductPay_Hold_Success() {
+        // Given
+        OrderProductPayRequestDto requestDto = OrderProductPayRequestDto.builder()
+                .orderProductList(Arrays.asList(
+                        OrderProductResponseDto.builder()
+                                .productId(product.getProductId())
+                                .productOptionId(productOption.getProductOptionId())
+                                .quantity(2)
+                                .build()
+                ))
+                .productTotalPrice(2200)
+                .orderShippingFee(3000)
+                .orderPrice(5200)
+                .holdId("hold-1")
+                .build();
+
+        when(stockHoldService.consumeHold(member, "hold-1", requestDto.getOrderProductList()))
+                .thenReturn(List.of(DetuctedProductInfo.from(requestDto.getOrderProductList().getFirst())));
+
+        // When
+        OrderProductPayResponseDto response = orderService.createOrderProductPay(member, requestDto, null);
+
+        // Then
+        assertThat(response.getPaymentStatus()).isEqualTo(OrderStatusEnum.PAYMENT_COMPLETED);
+        verify(orderIngestService, times(1)).enqueue(member, requestDto);
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+        verify(stockLeaseService, never()).deductStock(anyLong(), anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("주문 목록 조회")
     void getOrderList_Success() {
@@ -206,8 +688,8 @@ class OrderServiceTest {
         Page<Order> orderPage = new PageImpl<>(Collections.singletonList(order), pageable, 1);
 
         when(orderRepository.findByMemberMemberId(member.getMemberId(), pageable)).thenReturn(orderPage);
-        when(orderProductRepository.findByOrderOrderId(order.getOrderId())).thenReturn(Collections.singletonList(orderProduct));
-        when(productRepository.findById(product.getProductId())).thenReturn(Optional.of(product));
+        when(orderProductRepository.findSummariesByOrderIds(List.of(order.getOrderId())))
+                .thenReturn(Collections.singletonList(new OrderProductSummaryDto(order.getOrderId(), product.getProductTitle(), 3L)));
 
         // When
         Page<OrderListResponseDto> response = orderService.getOrderList(member, 0, 10);
@@ -216,7 +698,8 @@ class OrderServiceTest {
         assertAll(
                 () -> assertThat(response).isNotNull(),
                 () -> assertThat(response.getContent()).hasSize(1),
-                () -> assertThat(response.getContent().get(0).getProductTitle()).isEqualTo(product.getProductTitle())
+                () -> assertThat(response.getContent().get(0).getProductTitle()).isEqualTo(product.getProductTitle()),
+                () -> assertThat(response.getContent().get(0).getOrderProductCount()).isEqualTo(3)
         );
     }
 
@@ -235,9 +718,9 @@ class OrderServiceTest {
         );
 
         when(orderRepository.findByMemberMemberIdAndOrderId(member.getMemberId(), order.getOrderId())).thenReturn(Optional.of(order));
-        when(orderProductRepository.findByOrderOrderId(order.getOrderId())).thenReturn(orderProducts);
-        when(productRepository.findById(product.getProductId())).thenReturn(Optional.of(product));
-        when(productOptionRepository.findProductOptionTitleById(anyLong())).thenReturn("샘플 옵션"); // Mock 설정 추가
+        when(orderProductRepository.findWithProductByOrderOrderId(order.getOrderId())).thenReturn(orderProducts);
+        when(productOptionRepository.findProductOptionTitlesByIds(List.of(1L)))
+                .thenReturn(List.of(new ProductOptionTitleDto(1L, "샘플 옵션")));
 
         // When
         OrderDetailResponseDto responseDto = orderService.getOrderDetail(member, order.getOrderId());
@@ -252,6 +735,39 @@ class OrderServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("주문 상세 조회 - 주문 상품 수와 관계없이 조회 쿼리 수 일정")
+    void getOrderDetail_QueryCount() {
+        // Given
+        List<OrderProduct> orderProducts = IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> OrderProduct.builder()
+                        .product(product)
+                        .orderProductQuantity(1)
+                        .orderProductOptionId((long) i)
+                        .orderProductOptionPrice(1000)
+                        .orderProductPrice(500)
+                        .build())
+                .toList();
+        List<ProductOptionTitleDto> optionTitles = IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> new ProductOptionTitleDto((long) i, "옵션" + i))
+                .toList();
+
+        when(orderRepository.findByMemberMemberIdAndOrderId(member.getMemberId(), order.getOrderId())).thenReturn(Optional.of(order));
+        when(orderProductRepository.findWithProductByOrderOrderId(order.getOrderId())).thenReturn(orderProducts);
+        when(productOptionRepository.findProductOptionTitlesByIds(anyCollection())).thenReturn(optionTitles);
+
+        // When
+        OrderDetailResponseDto responseDto = orderService.getOrderDetail(member, order.getOrderId());
+
+        // Then
+        assertThat(responseDto.getOrderProductDetailResponseDto()).hasSize(30);
+        assertThat(responseDto.getOrderProductDetailResponseDto().get(29).getProductOptionTitle()).isEqualTo("옵션30");
+        verify(orderProductRepository, times(1)).findWithProductByOrderOrderId(order.getOrderId());
+        verify(productOptionRepository, times(1)).findProductOptionTitlesByIds(anyCollection());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productOptionRepository, never()).findProductOptionTitleById(anyLong());
+    }
+
 
     @Test
     @DisplayName("주문 상세 조회 실패 - 주문이 존재하지 않음")
@@ -271,7 +787,7 @@ class OrderServiceTest {
         // Given
         when(orderRepository.findByMemberMemberIdAndOrderId(member.getMemberId(), order.getOrderId())).thenReturn(Optional.of(order));
         when(orderProductRepository.findByOrderOrderId(order.getOrderId())).thenReturn(Collections.singletonList(orderProduct));
-        when(productOptionRepository.findById(productOption.getProductOptionId())).thenReturn(Optional.of(productOption));
+        when(productOptionRepository.addStock(productOption.getProductOptionId(), 2)).thenReturn(1);
 
         // When
         OrderCancelResponseDto response = orderService.updateOrderStatusCancel(member, order.getOrderId());
@@ -279,14 +795,41 @@ class OrderServiceTest {
         // Then
         assertAll(
                 () -> assertThat(response).isNotNull(),
-                () -> assertThat(response.getOrderStatus()).isEqualTo(OrderStatusEnum.ORDER_CANCELLED),
-                () -> assertThat(productOption.getProductOptionStock()).isEqualTo(12)  // 원래 재고로 복원
+                () -> assertThat(response.getOrderStatus()).isEqualTo(OrderStatusEnum.ORDER_CANCELLED)
         );
 
+        // 주문 수량만큼 재고 복원
+        verify(productOptionRepository, times(1)).addStock(productOption.getProductOptionId(), 2);
+        verify(productOptionRepository, never()).addStocks(anyMap());
+        verify(redisService, times(1)).deductRollbackStocks(argThat(stocks -> stocks.size() == 1
+                && stocks.get(0).getProductId().equals(product.getProductId())
+                && stocks.get(0).getProductOptionId().equals(productOption.getProductOptionId())
+                && stocks.get(0).getProductOptionStock() == 2));
+
         // Verify that the order status update was called
         verify(orderRepository, times(1)).save(any());
     }
 
+    @Test
+    @DisplayName("주문 취소 - Redis 재고는 트랜잭션 커밋 후에 복원")
+    void updateOrderStatusCancel_RestoreRedisAfterCommit() {
+        // Given
+        when(orderRepository.findByMemberMemberIdAndOrderId(member.getMemberId(), order.getOrderId())).thenReturn(Optional.of(order));
+        when(orderProductRepository.findByOrderOrderId(order.getOrderId())).thenReturn(Collections.singletonList(orderProduct));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            orderService.updateOrderStatusCancel(member, order.getOrderId());
+
+            // Then
+            verify(redisService, never()).deductRollbackStocks(anyList());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(redisService, times(1)).deductRollbackStocks(anyList());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     @DisplayName("주문 취소 실패 - 취소 가능 상태가 아님")
     void updateOrderStatusCancel_Failure_InvalidStatus() {
@@ -334,6 +877,33 @@ class OrderServiceTest {
 
         // Then
         assertThat(response.getOrderStatus()).isEqualTo(OrderStatusEnum.RETURN_REQUESTED);
+        verify(orderTransitionService, times(1)).scheduleOrders(List.of(order));
+    }
+
+    @Test
+    @DisplayName("반품 신청 - 반품 완료 전이는 트랜잭션 커밋 후에 예약")
+    void updateOrderStatusReturn_ScheduleAfterCommit() {
+        // Given
+        Order order = Order.builder()
+                .orderId(1L)
+                .member(member)
+                .orderStatus(OrderStatusEnum.DELIVERY_COMPLETED)
+                .build();
+        ReflectionTestUtils.setField(order, "updatedAt", LocalDateTime.now().minusHours(1));
+        when(orderRepository.findByMemberMemberIdAndOrderId(member.getMemberId(), order.getOrderId()))
+                .thenReturn(Optional.of(order));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            orderService.updateOrderStatusReturn(member, order.getOrderId());
+
+            // Then
+            verify(orderTransitionService, never()).scheduleOrders(anyList());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(orderTransitionService, times(1)).scheduleOrders(List.of(order));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -366,4 +936,10 @@ class OrderServiceTest {
                 .isInstanceOf(ResponseStatusException.class)
                 .hasMessageContaining("반품 가능 기간이 아닙니다.");
     }
+
+    // 가격 계산은 실제 계산 로직에 목 저장소를 연결해 사용
+    private void givenProductPricing() {
+        when(productPricingService.price(anyList())).thenAnswer(invocation ->
+                new ProductPricingService(productRepository, productOptionRepository).price(invocation.getArgument(0)));
+    }
 }
@@ -0,0 +1,179 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.order.dto.OrderIdRangeDto;
+import com.whitedelay.productshop.order.dto.OrderProductQuantityDto;
+import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import com.whitedelay.productshop.order.repository.OrderProductRepository;
+import com.whitedelay.productshop.order.repository.OrderRepository;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusUpdateServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderProductRepository orderProductRepository;
+
+    @Mock
+    private ProductOptionRepository productOptionRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<DetuctedProductInfo>> stocksCaptor;
+
+    private ExecutorService executor;
+    private OrderStatusUpdateService orderStatusUpdateService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 7, 1, 0, 0);
+    private final LocalDateTime orderDateBefore = now.minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        orderStatusUpdateService = new OrderStatusUpdateService(orderRepository, orderProductRepository, productOptionRepository,
+                redisService, transactionTemplate, new SimpleMeterRegistry(), executor);
+        ReflectionTestUtils.setField(orderStatusUpdateService, "chunkSize", 2);
+        ReflectionTestUtils.setField(orderStatusUpdateService, "partitions", 1);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void givenIds(long lastOrderId, long maxOrderId, List<Long> orderIds) {
+        when(orderRepository.findIdsByOrderStatusAndOrderDateBefore(
+                OrderStatusEnum.PAYMENT_COMPLETED, orderDateBefore, lastOrderId, maxOrderId, PageRequest.of(0, 2))).thenReturn(orderIds);
+    }
+
+    @Test
+    @DisplayName("주문 상태 전이 - 청크 크기만큼 키셋으로 읽어 청크마다 아직 이전 상태인 주문만 벌크 UPDATE")
+    void transition_Chunks() {
+        // given
+        when(orderRepository.findIdRangeByOrderStatusAndOrderDateBefore(OrderStatusEnum.PAYMENT_COMPLETED, orderDateBefore))
+                .thenReturn(new OrderIdRangeDto(1L, 5L));
+        givenIds(0L, 5L, List.of(1L, 2L));
+        givenIds(2L, 5L, List.of(3L, 4L));
+        givenIds(4L, 5L, List.of(5L));
+        givenIds(5L, 5L, List.of());
+        when(orderRepository.updateOrderStatus(List.of(1L, 2L), OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, now)).thenReturn(2);
+        // 4번 주문은 그사이 다른 전이(주문별 예약 전이)로 이미 바뀜
+        when(orderRepository.updateOrderStatus(List.of(3L, 4L), OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, now)).thenReturn(1);
+        when(orderRepository.updateOrderStatus(List.of(5L), OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, now)).thenReturn(1);
+
+        // when
+        long transitioned = orderStatusUpdateService.transition(OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, orderDateBefore, now);
+
+        // then
+        assertThat(transitioned).isEqualTo(4);
+        verify(orderRepository, times(3)).updateOrderStatus(anyList(), eq(OrderStatusEnum.PAYMENT_COMPLETED), eq(OrderStatusEnum.SHIPPING), eq(now));
+    }
+
+    @Test
+    @DisplayName("주문 상태 전이 - ID 범위를 파티션으로 나눠 파티션끼리 겹치지 않게 처리")
+    void transition_Partitions() {
+        // given
+        ReflectionTestUtils.setField(orderStatusUpdateService, "partitions", 2);
+        when(orderRepository.findIdRangeByOrderStatusAndOrderDateBefore(OrderStatusEnum.PAYMENT_COMPLETED, orderDateBefore))
+                .thenReturn(new OrderIdRangeDto(1L, 10L));
+        // (0, 5], (5, 10]
+        givenIds(0L, 5L, List.of());
+        givenIds(5L, 10L, List.of());
+
+        // when
+        long transitioned = orderStatusUpdateService.transition(OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, orderDateBefore, now);
+
+        // then
+        assertThat(transitioned).isZero();
+        verify(orderRepository, never()).updateOrderStatus(anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 상태 전이 - 대상 주문이 없으면 파티션을 실행하지 않음")
+    void transition_NoOrders() {
+        // given
+        when(orderRepository.findIdRangeByOrderStatusAndOrderDateBefore(OrderStatusEnum.PAYMENT_COMPLETED, orderDateBefore))
+                .thenReturn(new OrderIdRangeDto(null, null));
+
+        // when
+        long transitioned = orderStatusUpdateService.transition(OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, orderDateBefore, now);
+
+        // then
+        assertThat(transitioned).isZero();
+        verify(orderRepository, never()).findIdsByOrderStatusAndOrderDateBefore(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("반품 완료 - 아직 반품 신청 상태인 주문만 잠그고 상품 옵션별로 합산한 수량만큼 재고 복원")
+    void transitionOrders_CompleteReturns() {
+        // given
+        List<Long> orderIds = List.of(1L, 2L, 3L);
+        // 2번 주문은 이미 반품 완료됨
+        when(orderRepository.findIdsForUpdate(orderIds, OrderStatusEnum.RETURN_REQUESTED)).thenReturn(List.of(1L, 3L));
+        when(orderProductRepository.sumQuantitiesByOrderIds(List.of(1L, 3L))).thenReturn(List.of(
+                new OrderProductQuantityDto(1L, 1L, 3L),
+                new OrderProductQuantityDto(1L, 2L, 1L)));
+        when(orderRepository.updateOrderStatus(List.of(1L, 3L), OrderStatusEnum.RETURN_REQUESTED, OrderStatusEnum.RETURN_COMPLETED, now)).thenReturn(2);
+
+        // when
+        int completed = orderStatusUpdateService.transitionOrders(orderIds, OrderStatusEnum.RETURN_REQUESTED, OrderStatusEnum.RETURN_COMPLETED, now);
+
+        // then
+        assertThat(completed).isEqualTo(2);
+        verify(productOptionRepository).addStocks(Map.of(1L, 3, 2L, 1));
+        verify(redisService).deductRollbackStocks(stocksCaptor.capture());
+        assertThat(stocksCaptor.getValue())
+                .extracting(DetuctedProductInfo::getProductOptionId, DetuctedProductInfo::getProductOptionStock)
+                .containsExactly(tuple(1L, 3), tuple(2L, 1));
+    }
+
+    @Test
+    @DisplayName("반품 완료 - 모두 이미 처리된 주문이면 재고를 복원하지 않음")
+    void transitionOrders_CompleteReturns_AlreadyCompleted() {
+        // given
+        when(orderRepository.findIdsForUpdate(List.of(1L), OrderStatusEnum.RETURN_REQUESTED)).thenReturn(List.of());
+
+        // when
+        int completed = orderStatusUpdateService.transitionOrders(List.of(1L), OrderStatusEnum.RETURN_REQUESTED, OrderStatusEnum.RETURN_COMPLETED, now);
+
+        // then
+        assertThat(completed).isZero();
+        verify(productOptionRepository, never()).addStocks(anyMap());
+        verify(orderRepository, never()).updateOrderStatus(anyList(), any(), any(), any());
+    }
+}
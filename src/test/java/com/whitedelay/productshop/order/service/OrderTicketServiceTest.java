@@ -0,0 +1,100 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.OrderTicketResponseDto;
+import com.whitedelay.productshop.order.entity.OrderTicketStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTicketServiceTest {
+
+    @InjectMocks
+    private OrderTicketService orderTicketService;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderTicketService, "productNamespace", "test");
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        member = Member.builder().id(1L).memberId("testuser").build();
+    }
+
+    @Test
+    @DisplayName("주문 저장 기록 - 티켓이 있을 때만 갱신하는 스크립트 한 번으로 기록(HSET을 직접 호출하지 않음)")
+    @SuppressWarnings("unchecked")
+    void markPersisted_Success() {
+        // when
+        orderTicketService.markPersisted(Map.of("ticket-1", 10L));
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("test:order-ticket:ticket-1")),
+                eq(OrderTicketStatusEnum.PERSISTED.name()), eq("10"));
+        verify(hashOperations, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 저장 실패 기록 - 티켓이 있을 때만 상태만 갱신")
+    @SuppressWarnings("unchecked")
+    void markFailed_Success() {
+        // when
+        orderTicketService.markFailed("ticket-1");
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("test:order-ticket:ticket-1")),
+                eq(OrderTicketStatusEnum.FAILED.name()));
+        verify(hashOperations, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("티켓 조회 - 주문 저장 상태와 주문 아이디 반환")
+    void getTicket_Success() {
+        // given
+        when(hashOperations.entries("test:order-ticket:ticket-1"))
+                .thenReturn(Map.of("memberId", "1", "status", "PERSISTED", "orderId", "10"));
+
+        // when
+        OrderTicketResponseDto response = orderTicketService.getTicket(member, "ticket-1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(OrderTicketStatusEnum.PERSISTED);
+        assertThat(response.getOrderId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("티켓 조회 실패 - 다른 회원의 티켓")
+    void getTicket_OtherMember() {
+        // given
+        when(hashOperations.entries("test:order-ticket:ticket-1"))
+                .thenReturn(Map.of("memberId", "2", "status", "PENDING"));
+
+        // when / then
+        assertThatThrownBy(() -> orderTicketService.getTicket(member, "ticket-1"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -0,0 +1,207 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.order.dto.OrderTransitionDto;
+import com.whitedelay.productshop.order.entity.Order;
+import com.whitedelay.productshop.order.entity.OrderStatusEnum;
+import com.whitedelay.productshop.order.repository.OrderRepository;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTransitionServiceTest {
+
+    private static final String TRANSITION_KEY = "test:order-transitions";
+    private static final String PROCESSING_KEY = "test:order-transitions-processing";
+    private static final String BACKFILL_LOCK_KEY = "test:order-transition-backfill-lock";
+    private static final long DAY_MS = Duration.ofDays(1).toMillis();
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisZSetCommands zSetCommands;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderStatusUpdateService orderStatusUpdateService;
+
+    private OrderTransitionService orderTransitionService;
+
+    private final LocalDateTime orderDate = LocalDateTime.of(2024, 7, 1, 10, 0);
+    private final long orderDateMs = orderDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    @BeforeEach
+    void setUp() {
+        orderTransitionService = new OrderTransitionService(redisTemplate, orderRepository, orderStatusUpdateService,
+                new NodeIdentity("node-1"), new SimpleMeterRegistry());
+        orderTransitionService.initMetrics();
+        ReflectionTestUtils.setField(orderTransitionService, "productNamespace", "test");
+        ReflectionTestUtils.setField(orderTransitionService, "batchSize", 200);
+        ReflectionTestUtils.setField(orderTransitionService, "retryMs", 60000L);
+        ReflectionTestUtils.setField(orderTransitionService, "visibilityMs", 300000L);
+        ReflectionTestUtils.setField(orderTransitionService, "backfillOnStartup", true);
+        ReflectionTestUtils.setField(orderTransitionService, "backfillPageSize", 2);
+
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(connection.zSetCommands()).thenReturn(zSetCommands);
+        // 파이프라인 콜백을 모의 커넥션으로 실행
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String member(long orderId, OrderStatusEnum orderStatus) {
+        return orderId + ":" + orderStatus.name() + ":" + orderDateMs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenDueTransitions(List<String> dueTransitions) {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(TRANSITION_KEY, PROCESSING_KEY)), anyString(), eq("200"), anyString()))
+                .thenReturn(dueTransitions);
+    }
+
+    @Test
+    @DisplayName("전이 예약 - 다음 전이가 있는 상태만 주문 시각 기준 예정 시각으로 예약")
+    void scheduleOrders_Success() {
+        // given
+        List<Order> orders = List.of(
+                Order.builder().orderId(10L).orderStatus(OrderStatusEnum.PAYMENT_COMPLETED).orderDate(orderDate).build(),
+                Order.builder().orderId(11L).orderStatus(OrderStatusEnum.DELIVERY_COMPLETED).orderDate(orderDate).build());
+
+        // when
+        orderTransitionService.scheduleOrders(orders);
+
+        // then
+        verify(zSetCommands).zAdd(aryEq(bytes(TRANSITION_KEY)), eq((double) (orderDateMs + DAY_MS)), aryEq(bytes(member(10L, OrderStatusEnum.PAYMENT_COMPLETED))));
+        verifyNoMoreInteractions(zSetCommands);
+    }
+
+    @Test
+    @DisplayName("예정 전이 처리 - 꺼낸 주문을 전이하고 다음 전이를 예약한 뒤 처리 중 항목에서 삭제")
+    void transitionDueOrders_Success() {
+        // given
+        givenDueTransitions(List.of(member(10L, OrderStatusEnum.PAYMENT_COMPLETED)));
+        when(orderStatusUpdateService.transitionOrders(eq(List.of(10L)), eq(OrderStatusEnum.PAYMENT_COMPLETED), eq(OrderStatusEnum.SHIPPING), any()))
+                .thenReturn(1);
+
+        // when
+        orderTransitionService.transitionDueOrders();
+
+        // then
+        // 배송완료는 주문 D+2
+        verify(zSetCommands).zAdd(aryEq(bytes(TRANSITION_KEY)), eq((double) (orderDateMs + 2 * DAY_MS)), aryEq(bytes(member(10L, OrderStatusEnum.SHIPPING))));
+        verify(zSetOperations).remove(PROCESSING_KEY, member(10L, OrderStatusEnum.PAYMENT_COMPLETED));
+    }
+
+    @Test
+    @DisplayName("예정 전이 처리 실패 - 같은 항목을 재시도 시각으로 다시 예약하고 처리 중 항목에서 삭제")
+    void transitionDueOrders_Failure_Retry() {
+        // given
+        givenDueTransitions(List.of(member(10L, OrderStatusEnum.PAYMENT_COMPLETED)));
+        when(orderStatusUpdateService.transitionOrders(anyList(), any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        // when
+        long startedAt = System.currentTimeMillis();
+        orderTransitionService.transitionDueOrders();
+
+        // then
+        verify(zSetCommands).zAdd(aryEq(bytes(TRANSITION_KEY)), doubleThat(retryAt -> retryAt >= startedAt + 60000),
+                aryEq(bytes(member(10L, OrderStatusEnum.PAYMENT_COMPLETED))));
+        verify(zSetOperations).remove(PROCESSING_KEY, member(10L, OrderStatusEnum.PAYMENT_COMPLETED));
+    }
+
+    @Test
+    @DisplayName("예정 전이 처리 - 꺼낸 항목에 처리 기한(현재 + visibility)을 함께 넘김")
+    @SuppressWarnings("unchecked")
+    void transitionDueOrders_VisibilityDeadline() {
+        // given
+        givenDueTransitions(List.of());
+
+        // when
+        long startedAt = System.currentTimeMillis();
+        orderTransitionService.transitionDueOrders();
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(TRANSITION_KEY, PROCESSING_KEY)), anyString(), eq("200"),
+                argThat((String deadline) -> Long.parseLong(deadline) >= startedAt + 300000));
+        verifyNoInteractions(orderStatusUpdateService);
+    }
+
+    @Test
+    @DisplayName("예약 적재 - 락을 잡은 노드가 진행 중 주문을 페이지 단위로 예약하고 락 해제")
+    void backfill_Success() {
+        // given
+        when(valueOperations.setIfAbsent(BACKFILL_LOCK_KEY, "node-1", Duration.ofMinutes(10))).thenReturn(true);
+        Set<OrderStatusEnum> statuses = Set.of(OrderStatusEnum.PAYMENT_COMPLETED, OrderStatusEnum.SHIPPING, OrderStatusEnum.RETURN_REQUESTED);
+        when(orderRepository.findTransitionsAfter(statuses, 0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new OrderTransitionDto(1L, OrderStatusEnum.PAYMENT_COMPLETED, orderDate),
+                new OrderTransitionDto(2L, OrderStatusEnum.SHIPPING, orderDate)));
+        when(orderRepository.findTransitionsAfter(statuses, 2L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new OrderTransitionDto(3L, OrderStatusEnum.RETURN_REQUESTED, orderDate)));
+        when(orderRepository.findTransitionsAfter(statuses, 3L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        // when
+        orderTransitionService.backfill();
+
+        // then
+        verify(zSetCommands).zAdd(aryEq(bytes(TRANSITION_KEY)), eq((double) (orderDateMs + DAY_MS)), aryEq(bytes(member(1L, OrderStatusEnum.PAYMENT_COMPLETED))));
+        verify(zSetCommands).zAdd(aryEq(bytes(TRANSITION_KEY)), eq((double) (orderDateMs + 2 * DAY_MS)), aryEq(bytes(member(2L, OrderStatusEnum.SHIPPING))));
+        verify(zSetCommands).zAdd(aryEq(bytes(TRANSITION_KEY)), eq((double) (orderDateMs + 3 * DAY_MS)), aryEq(bytes(member(3L, OrderStatusEnum.RETURN_REQUESTED))));
+        verify(redisTemplate).delete(BACKFILL_LOCK_KEY);
+    }
+
+    @Test
+    @DisplayName("예약 적재 - 다른 노드가 락을 잡고 있으면 실행하지 않음")
+    void backfill_LockedByOtherNode() {
+        // given
+        when(valueOperations.setIfAbsent(BACKFILL_LOCK_KEY, "node-1", Duration.ofMinutes(10))).thenReturn(false);
+
+        // when
+        orderTransitionService.backfill();
+
+        // then
+        verifyNoInteractions(orderRepository);
+        verify(redisTemplate, never()).delete(anyString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.whitedelay.productshop.order.service;
+
+import com.whitedelay.productshop.member.entity.Member;
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.order.dto.OrderProductResponseDto;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockHoldServiceTest {
+
+    private static final String SLOT_KEY = "test:hold-slot:1:1";
+
+    private static final RedisScript<?> CLAIM_HOLD_SLOTS_SCRIPT =
+            (RedisScript<?>) ReflectionTestUtils.getField(StockHoldService.class, "CLAIM_HOLD_SLOTS_SCRIPT");
+    private static final RedisScript<?> RELEASE_HOLD_SLOTS_SCRIPT =
+            (RedisScript<?>) ReflectionTestUtils.getField(StockHoldService.class, "RELEASE_HOLD_SLOTS_SCRIPT");
+    private static final RedisScript<?> CONSUME_HOLD_SCRIPT =
+            (RedisScript<?>) ReflectionTestUtils.getField(StockHoldService.class, "CONSUME_HOLD_SCRIPT");
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisService redisService;
+
+    private StockHoldService stockHoldService;
+
+    private Member member;
+    private List<OrderProductResponseDto> orderProductList;
+
+    @BeforeEach
+    void setUp() {
+        stockHoldService = new StockHoldService(redisTemplate, redisService, new SimpleMeterRegistry());
+        stockHoldService.initMetrics();
+        ReflectionTestUtils.setField(stockHoldService, "productNamespace", "test");
+        ReflectionTestUtils.setField(stockHoldService, "holdTtlSeconds", 300L);
+
+        member = Member.builder()
+                .id(1L)
+                .memberId("testuser")
+                .build();
+        orderProductList = List.of(OrderProductResponseDto.builder()
+                .productId(1L)
+                .productOptionId(1L)
+                .quantity(2)
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenSlotClaim(long result) {
+        when(redisTemplate.execute(eq((RedisScript<Long>) CLAIM_HOLD_SLOTS_SCRIPT), eq(List.of(SLOT_KEY)), anyString(), eq("300000")))
+                .thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("재고 보류 실패 - 같은 상품 옵션을 이미 보류 중이면 재고를 차감하지 않음")
+    void placeHold_AlreadyHeld() {
+        // given
+        givenSlotClaim(0L);
+
+        // when / then
+        assertThatThrownBy(() -> stockHoldService.placeHold(member, orderProductList))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("이미 재고 보류 중인 상품 옵션이 있습니다.")
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(redisService, never()).deductStock(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("재고 보류 실패 - 재고가 부족하면 확보한 보류 자리를 해제")
+    @SuppressWarnings("unchecked")
+    void placeHold_SoldOut_ReleasesSlot() {
+        // given
+        givenSlotClaim(1L);
+        when(redisService.deductStock(1L, 1L, 2)).thenReturn(false);
+
+        // when / then
+        assertThatThrownBy(() -> stockHoldService.placeHold(member, orderProductList))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상품 옵션의 재고가 부족합니다.");
+        verify(redisTemplate).execute(eq((RedisScript<Long>) RELEASE_HOLD_SLOTS_SCRIPT), eq(List.of(SLOT_KEY)), anyString());
+    }
+
+    @Test
+    @DisplayName("재고 보류 사용 - 보류를 사용하면 보류 자리를 해제해 다시 보류할 수 있음")
+    @SuppressWarnings("unchecked")
+    void consumeHold_ReleasesSlot() {
+        // given
+        when(redisTemplate.execute(eq((RedisScript<String>) CONSUME_HOLD_SCRIPT), eq(List.of("test:hold:hold-1", "test:holds")), eq("hold-1"), eq("1"), anyString()))
+                .thenReturn("1:1:2");
+
+        // when
+        List<DetuctedProductInfo> heldStockList = stockHoldService.consumeHold(member, "hold-1", orderProductList);
+
+        // then
+        assertThat(heldStockList).hasSize(1);
+        verify(redisService).releaseReservedStocks(heldStockList);
+        verify(redisTemplate).execute(eq((RedisScript<Long>) RELEASE_HOLD_SLOTS_SCRIPT), eq(List.of(SLOT_KEY)), eq("hold-1"));
+    }
+}
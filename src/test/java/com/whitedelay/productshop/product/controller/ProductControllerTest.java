@@ -6,6 +6,7 @@ import com.whitedelay.productshop.product.dto.ProductResponseDto;
 import com.whitedelay.productshop.product.entity.ProductCategoryEnum;
 import com.whitedelay.productshop.product.entity.ProductStatusEnum;
 import com.whitedelay.productshop.product.service.ProductService;
+import com.whitedelay.productshop.product.service.StockWarmupService;
 import com.whitedelay.productshop.util.ApiResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +34,9 @@ public class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private StockWarmupService stockWarmupService;
+
     @InjectMocks
     private ProductController productController;
 
@@ -196,4 +200,19 @@ public class ProductControllerTest {
         assertThat(dto.getProductCategory()).isEqualTo(ProductCategoryEnum.FOOD.getCategory());
         assertThat(dto.getProductOptionList()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Redis 재고 적재 성공")
+    void warmupStock_Success() {
+        // Given
+        when(stockWarmupService.warmup()).thenReturn(3L);
+
+        // When
+        ApiResponse<Long> response = productController.warmupStock();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(response.getData()).isEqualTo(3L);
+    }
 }
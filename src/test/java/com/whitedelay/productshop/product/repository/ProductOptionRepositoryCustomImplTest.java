@@ -0,0 +1,71 @@
+package com.whitedelay.productshop.product.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOptionRepositoryCustomImplTest {
+
+    @InjectMocks
+    private ProductOptionRepositoryCustomImpl productOptionRepositoryCustom;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> argsCaptor;
+
+    @Test
+    @DisplayName("재고 일괄 차감 성공 - 옵션 ID 순서로 재고 조건과 함께 차감")
+    void deductStocks_Success() {
+        // Given
+        when(jdbcTemplate.batchUpdate(contains("product_option_stock >= ?"), anyList())).thenReturn(new int[]{1, 1});
+
+        // When
+        productOptionRepositoryCustom.deductStocks(Map.of(3L, 2, 1L, 5));
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(contains("product_option_stock - ?"), argsCaptor.capture());
+        assertThat(argsCaptor.getValue()).containsExactly(new Object[]{5, 1L, 5}, new Object[]{2, 3L, 2});
+    }
+
+    @Test
+    @DisplayName("재고 일괄 차감 실패 - 재고가 부족한 옵션이 있으면 예외(트랜잭션 롤백)")
+    void deductStocks_InsufficientStock() {
+        // Given
+        when(jdbcTemplate.batchUpdate(contains("product_option_stock >= ?"), anyList())).thenReturn(new int[]{1, 0});
+
+        // When / Then
+        assertThatThrownBy(() -> productOptionRepositoryCustom.deductStocks(Map.of(3L, 2, 1L, 5)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("상품 옵션의 재고가 부족합니다. (상품 옵션: 3)");
+    }
+
+    @Test
+    @DisplayName("재고 일괄 증가 - 옵션 ID 순서로 증가")
+    void addStocks_Success() {
+        // When
+        productOptionRepositoryCustom.addStocks(Map.of(3L, 2, 1L, 5));
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(contains("product_option_stock + ?"), argsCaptor.capture());
+        assertThat(argsCaptor.getValue()).containsExactly(new Object[]{5, 1L}, new Object[]{2, 3L});
+    }
+}
@@ -0,0 +1,205 @@
+package com.whitedelay.productshop.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whitedelay.productshop.product.dto.ProductDetailResponseDto;
+import com.whitedelay.productshop.product.dto.ProductOptionDetailResponseDto;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductDetailCacheServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private ProductEventService productEventService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductDetailCacheService productDetailCacheService;
+
+    private static final String DETAIL_KEY = "test:product-detail:1";
+
+    @BeforeEach
+    void setUp() {
+        productDetailCacheService = new ProductDetailCacheService(redisTemplate, redisMessageListenerContainer, redisService, productEventService, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(productDetailCacheService, "productNamespace", "test");
+        ReflectionTestUtils.setField(productDetailCacheService, "localMaxSize", 100L);
+        ReflectionTestUtils.setField(productDetailCacheService, "localTtlSeconds", 30L);
+        ReflectionTestUtils.setField(productDetailCacheService, "redisTtlSeconds", 600L);
+        lenient().when(productEventService.getChannel()).thenReturn("test:product-events");
+        productDetailCacheService.init();
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisService.getStockKey(1L, 1L)).thenReturn("test:1-1-stock");
+        lenient().when(redisService.getStocks(List.of("test:1-1-stock"))).thenReturn(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 - 캐시에 없으면 MySQL에서 읽어 L2에 저장하고 재고는 Redis 재고로 덮어씀")
+    void getProductDetail_Miss() throws Exception {
+        // given
+        ProductDetailResponseDto detail = createDetail();
+
+        // when
+        ProductDetailResponseDto result = productDetailCacheService.getProductDetail(1L, () -> detail);
+
+        // then
+        verify(valueOperations).set(DETAIL_KEY, objectMapper.writeValueAsString(detail), Duration.ofSeconds(600L));
+        assertThat(result.getProductOptionList().get(0).getProductOptionStock()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 - L2에 있으면 MySQL을 읽지 않고 L1에 저장")
+    void getProductDetail_RedisHit() throws Exception {
+        // given
+        when(valueOperations.get(DETAIL_KEY)).thenReturn(objectMapper.writeValueAsString(createDetail()));
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        productDetailCacheService.getProductDetail(1L, () -> {
+            loads.incrementAndGet();
+            return createDetail();
+        });
+        ProductDetailResponseDto result = productDetailCacheService.getProductDetail(1L, () -> {
+            loads.incrementAndGet();
+            return createDetail();
+        });
+
+        // then
+        assertThat(loads.get()).isZero();
+        verify(valueOperations, times(1)).get(DETAIL_KEY);
+        assertThat(result.getProductTitle()).isEqualTo("샘플 상품1");
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 - MySQL에서 읽는 동안 무효화되면 읽은 상세를 캐시에 넣지 않음")
+    void getProductDetail_EvictedWhileLoading() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        productDetailCacheService.getProductDetail(1L, () -> {
+            loads.incrementAndGet();
+            productDetailCacheService.evict(List.of(1L));
+            return createDetail();
+        });
+        productDetailCacheService.getProductDetail(1L, () -> {
+            loads.incrementAndGet();
+            return createDetail();
+        });
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        verify(valueOperations, times(1)).set(eq(DETAIL_KEY), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 - MySQL에서 읽는 동안 다른 노드의 변경 이벤트를 받으면 읽은 상세를 캐시에 넣지 않음")
+    void getProductDetail_ChangedWhileLoading() {
+        // when
+        productDetailCacheService.getProductDetail(1L, () -> {
+            productDetailCacheService.onMessage(createChangedMessage("CHANGED:1"), null);
+            return createDetail();
+        });
+
+        // then
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 - 읽는 동안 다른 상품이 무효화돼도 읽은 상세는 캐시에 저장")
+    void getProductDetail_OtherProductEvictedWhileLoading() {
+        // when
+        productDetailCacheService.getProductDetail(1L, () -> {
+            productDetailCacheService.evict(List.of(2L));
+            return createDetail();
+        });
+
+        // then
+        verify(valueOperations).set(eq(DETAIL_KEY), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 - L2에 저장하는 동안 무효화되면 저장한 값을 다시 지움")
+    void getProductDetail_EvictedWhileWritingRedis() {
+        // given
+        doAnswer(invocation -> {
+            productDetailCacheService.onMessage(createChangedMessage("CHANGED:1"), null);
+            return null;
+        }).when(valueOperations).set(eq(DETAIL_KEY), anyString(), any(Duration.class));
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        productDetailCacheService.getProductDetail(1L, () -> {
+            loads.incrementAndGet();
+            return createDetail();
+        });
+        productDetailCacheService.getProductDetail(1L, () -> {
+            loads.incrementAndGet();
+            return createDetail();
+        });
+
+        // then
+        verify(redisTemplate, atLeastOnce()).delete(DETAIL_KEY);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("상품 상세 캐시 무효화 - L2를 지우고 모든 노드에 변경 이벤트 발행")
+    void evict_Success() {
+        // when
+        productDetailCacheService.evict(List.of(1L, 2L));
+
+        // then
+        verify(redisTemplate).delete(List.of(DETAIL_KEY, "test:product-detail:2"));
+        verify(productEventService).publishChanged(List.of(1L, 2L));
+    }
+
+    private ProductDetailResponseDto createDetail() {
+        return ProductDetailResponseDto.builder()
+                .productId(1L)
+                .productTitle("샘플 상품1")
+                .productOptionList(List.of(ProductOptionDetailResponseDto.builder()
+                        .productOptionId(1L)
+                        .productOptionTitle("옵션1")
+                        .productOptionStock(10)
+                        .productOptionPrice(500)
+                        .build()))
+                .build();
+    }
+
+    private DefaultMessage createChangedMessage(String body) {
+        return new DefaultMessage("test:product-events".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.whitedelay.productshop.product.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductEventServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private ProductEventService productEventService;
+
+    @BeforeEach
+    void setUp() {
+        productEventService = new ProductEventService(redisTemplate);
+        ReflectionTestUtils.setField(productEventService, "productNamespace", "test");
+    }
+
+    @Test
+    @DisplayName("상품 변경 이벤트 발행 - 바뀐 상품 아이디를 한 메시지로 발행")
+    void publishChanged_Success() {
+        // when
+        productEventService.publishChanged(List.of(1L, 2L));
+
+        // then
+        verify(redisTemplate).convertAndSend("test:product-events", "CHANGED:1,2");
+    }
+
+    @Test
+    @DisplayName("상품 변경 이벤트 발행 - 바뀐 상품이 없으면 발행하지 않음")
+    void publishChanged_Empty() {
+        // when
+        productEventService.publishChanged(List.of());
+
+        // then
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("상품 변경 이벤트 발행 실패 - 예외를 던지지 않고 호출한 쪽의 처리를 계속함")
+    void publishChanged_Failure() {
+        // given
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenThrow(new RuntimeException("redis down"));
+
+        // when & then
+        assertThatCode(() -> productEventService.publishChanged(List.of(1L))).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,113 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductPricingRequestDto;
+import com.whitedelay.productshop.product.dto.ProductPricingResponseDto;
+import com.whitedelay.productshop.product.entity.Product;
+import com.whitedelay.productshop.product.entity.ProductOption;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPricingServiceTest {
+
+    @InjectMocks
+    private ProductPricingService productPricingService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductOptionRepository productOptionRepository;
+
+    private Product product;
+    private ProductOption productOption1;
+    private ProductOption productOption2;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder()
+                .productId(1L)
+                .productTitle("반팔")
+                .productPrice(10000)
+                .build();
+        productOption1 = ProductOption.builder()
+                .productOptionId(1L)
+                .productOptionTitle("블랙/ S")
+                .productOptionPrice(0)
+                .build();
+        productOption2 = ProductOption.builder()
+                .productOptionId(2L)
+                .productOptionTitle("블랙/ XL")
+                .productOptionPrice(1000)
+                .build();
+    }
+
+    @Test
+    @DisplayName("가격 계산 - 같은 상품의 여러 옵션을 한 번에 조회")
+    void price_Success() {
+        // given
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(productOptionRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(productOption1, productOption2));
+
+        // when
+        ProductPricingResponseDto response = productPricingService.price(List.of(
+                new ProductPricingRequestDto(1L, 1L, 1),
+                new ProductPricingRequestDto(1L, 2L, 1)
+        ));
+
+        // then
+        assertAll(
+                () -> assertThat(response.getPricedProducts()).hasSize(2),
+                () -> assertThat(response.getPricedProducts().get(1).getProductTotalPrice()).isEqualTo(11000),
+                () -> assertThat(response.getProductTotalPrice()).isEqualTo(21000),
+                () -> assertThat(response.getShippingFee()).isEqualTo(ProductPricingService.SHIPPING_FEE),
+                () -> assertThat(response.getOrderPrice()).isEqualTo(24000)
+        );
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productOptionRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("가격 계산 - 무료 배송")
+    void price_FreeShipping() {
+        // given
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(productOptionRepository.findAllById(List.of(1L))).thenReturn(List.of(productOption1));
+
+        // when
+        ProductPricingResponseDto response = productPricingService.price(List.of(new ProductPricingRequestDto(1L, 1L, 3)));
+
+        // then
+        assertAll(
+                () -> assertThat(response.getShippingFee()).isZero(),
+                () -> assertThat(response.getOrderPrice()).isEqualTo(30000)
+        );
+    }
+
+    @Test
+    @DisplayName("가격 계산 실패 - 상품 옵션 없음")
+    void price_OptionNotFound() {
+        // given
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(productOptionRepository.findAllById(List.of(3L))).thenReturn(List.of());
+
+        // when / then
+        assertThatThrownBy(() -> productPricingService.price(List.of(new ProductPricingRequestDto(1L, 3L, 1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("찾는 상품 옵션이 없습니다.");
+    }
+}
@@ -0,0 +1,109 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductTitleDto;
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService.index(1L, "유기농 사과 주스");
+        productSearchService.index(2L, "사과");
+        productSearchService.index(3L, "사과즙 1L");
+        productSearchService.index(4L, "배 주스");
+        productSearchService.index(5L, "Apple Pie");
+    }
+
+    private List<Long> search(String productTitle) {
+        return productSearchService.search(productTitle, PageRequest.of(0, 10)).getContent();
+    }
+
+    @Test
+    @DisplayName("상품명 검색 성공 - 같은 상품명, 시작 위치 순으로 정렬")
+    void search_Ranking() {
+        assertThat(search("사과")).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    @DisplayName("상품명 검색 성공 - 한 글자, 대소문자 구분 없음")
+    void search_SingleCharAndCase() {
+        assertThat(search("배")).containsExactly(4L);
+        assertThat(search("apple")).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("상품명 검색 성공 - 요청한 페이지의 상품만 순위대로 반환하고 전체 일치 수를 함께 반환")
+    void search_Paging() {
+        // when
+        Page<Long> firstPage = productSearchService.search("사과", PageRequest.of(0, 2));
+        Page<Long> secondPage = productSearchService.search("사과", PageRequest.of(1, 2));
+
+        // then
+        assertThat(firstPage.getContent()).containsExactly(2L, 3L);
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(secondPage.getContent()).containsExactly(1L);
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+        assertThat(productSearchService.search("사과", PageRequest.of(2, 2)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상품명 검색 - 조각은 있지만 이어지지 않으면 제외")
+    void search_NotContained() {
+        // "과 주"는 1번 상품에만 이어져 있음
+        assertThat(search("과 주")).containsExactly(1L);
+        assertThat(search("사주")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상품명 색인 - 상품명이 바뀌면 이전 상품명으로는 검색되지 않음")
+    void index_TitleChanged() {
+        // when
+        productSearchService.index(2L, "청포도");
+
+        // then
+        assertThat(search("사과")).containsExactly(3L, 1L);
+        assertThat(search("청포도")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("상품 변경 이벤트 - 바뀐 상품명을 다시 읽어 색인하고 없어진 상품은 색인에서 뺌")
+    void onMessage_Reindex() {
+        // given
+        when(productRepository.findTitlesByProductIdIn(Set.of(2L, 4L, 6L))).thenReturn(List.of(
+                new ProductTitleDto(4L, "배 사과 주스"),
+                new ProductTitleDto(6L, "사과 잼")));
+
+        // when
+        productSearchService.onMessage(new DefaultMessage(
+                "test:product-events".getBytes(StandardCharsets.UTF_8),
+                "CHANGED:2,4,6".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertThat(search("사과")).containsExactly(6L, 3L, 4L, 1L);
+        assertThat(search("배")).containsExactly(4L);
+    }
+}
@@ -3,16 +3,19 @@ package com.whitedelay.productshop.product.service;
 import com.whitedelay.productshop.image.dto.ImageResponseDto;
 import com.whitedelay.productshop.image.entity.ImageTableEnum;
 import com.whitedelay.productshop.image.service.ImageService;
+import com.whitedelay.productshop.product.dto.ProductCursorResponseDto;
 import com.whitedelay.productshop.product.dto.ProductDetailResponseDto;
 import com.whitedelay.productshop.product.dto.ProductListResponseDto;
 import com.whitedelay.productshop.product.dto.ProductResponseDto;
 import com.whitedelay.productshop.product.dto.ProductOptionDetailResponseDto;
+import com.whitedelay.productshop.product.dto.ProductOptionStockRequestDto;
 import com.whitedelay.productshop.product.entity.Product;
 import com.whitedelay.productshop.product.entity.ProductCategoryEnum;
 import com.whitedelay.productshop.product.entity.ProductOption;
 import com.whitedelay.productshop.product.entity.ProductStatusEnum;
 import com.whitedelay.productshop.product.repository.ProductOptionRepository;
 import com.whitedelay.productshop.product.repository.ProductRepository;
+import com.whitedelay.productshop.redis.service.RedisService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,18 +27,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +66,18 @@ public class ProductServiceTest {
     @Mock
     private ProductOptionRepository productOptionRepository;
 
+    @Mock
+    private ProductDetailCacheService productDetailCacheService;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private Product product1;
     private Product product2;
     private ProductOption productOption1;
@@ -101,8 +127,8 @@ public class ProductServiceTest {
         Page<Product> productPage = new PageImpl<>(Arrays.asList(product1, product2), pageable, 2);
         when(productRepository.findAll(pageable))
                 .thenReturn(productPage);
-        when(imageService.findImageResponse(eq(ImageTableEnum.PRODUCT), any(Long.class)))
-                .thenReturn(imageResponseDto);
+        when(imageService.findImageResponses(ImageTableEnum.PRODUCT, List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, imageResponseDto, 2L, imageResponseDto));
 
         // When
         Page<ProductListResponseDto> result = productService.getAllProductList(0, 10, "");
@@ -145,8 +171,8 @@ public class ProductServiceTest {
         Page<Product> productPage = new PageImpl<>(products, pageable, 1);
         when(productRepository.findByProductTitleContaining(eq("상품2"), any(Pageable.class)))
                 .thenReturn(productPage);
-        when(imageService.findImageResponse(eq(ImageTableEnum.PRODUCT), any(Long.class)))
-                .thenReturn(imageResponseDto);
+        when(imageService.findImageResponses(ImageTableEnum.PRODUCT, List.of(2L)))
+                .thenReturn(Map.of(2L, imageResponseDto));
 
         // When
         Page<ProductListResponseDto> result = productService.getAllProductList(0, 10, "상품2");
@@ -169,6 +195,92 @@ public class ProductServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("상품명 검색 성공 - 검색 색인 사용")
+    void searchProductList_Index() {
+        // Given
+        when(productSearchService.isReady()).thenReturn(true);
+        when(productSearchService.search("상품", PageRequest.of(0, 1)))
+                .thenReturn(new PageImpl<>(List.of(2L), PageRequest.of(0, 1), 2));
+        when(productRepository.findAllById(List.of(2L)))
+                .thenReturn(Collections.singletonList(product2));
+        when(imageService.findImageResponses(ImageTableEnum.PRODUCT, List.of(2L)))
+                .thenReturn(Map.of(2L, imageResponseDto));
+
+        // When
+        Page<ProductListResponseDto> result = productService.getAllProductList(0, 1, "상품");
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getTotalElements()).isEqualTo(2),
+                () -> assertThat(result.getContent()).hasSize(1),
+                () -> assertThat(result.getContent().get(0).getProductId()).isEqualTo(2L)
+        );
+    }
+
+    @Test
+    @DisplayName("상품 리스트 커서 조회 성공")
+    void getProductListByCursor_Success() {
+        // Given
+        when(productRepository.findByProductIdLessThanOrderByProductIdDesc(Long.MAX_VALUE, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(product2, product1));
+        when(imageService.findImageResponses(ImageTableEnum.PRODUCT, List.of(2L)))
+                .thenReturn(Map.of(2L, imageResponseDto));
+        ProductCursorResponseDto first = productService.getProductListByCursor(null, 1, null);
+
+        when(productRepository.findByProductIdLessThanOrderByProductIdDesc(2L, PageRequest.of(0, 2)))
+                .thenReturn(Collections.singletonList(product1));
+        when(imageService.findImageResponses(ImageTableEnum.PRODUCT, List.of(1L)))
+                .thenReturn(Map.of(1L, imageResponseDto));
+
+        // When
+        ProductCursorResponseDto second = productService.getProductListByCursor(first.getNextCursor(), 1, null);
+
+        // Then
+        assertAll(
+                () -> assertThat(first.getProductList()).hasSize(1),
+                () -> assertThat(first.getProductList().get(0).getProductId()).isEqualTo(2L),
+                () -> assertThat(first.isHasNext()).isTrue(),
+                () -> assertThat(second.getProductList().get(0).getProductId()).isEqualTo(1L),
+                () -> assertThat(second.isHasNext()).isFalse(),
+                () -> assertThat(second.getNextCursor()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("상품 리스트 커서 조회 - 조회 수는 최대 100개로 제한")
+    void getProductListByCursor_MaxSize() {
+        // Given
+        when(productRepository.findByProductIdLessThanOrderByProductIdDesc(Long.MAX_VALUE, PageRequest.of(0, 101)))
+                .thenReturn(Collections.singletonList(product1));
+
+        // When
+        ProductCursorResponseDto response = productService.getProductListByCursor(null, Integer.MAX_VALUE, null);
+
+        // Then
+        assertThat(response.getProductList()).hasSize(1);
+        verify(productRepository).findByProductIdLessThanOrderByProductIdDesc(Long.MAX_VALUE, PageRequest.of(0, 101));
+    }
+
+    @Test
+    @DisplayName("상품 리스트 커서 조회 실패 - 조회 수가 1보다 작으면 400")
+    void getProductListByCursor_InvalidSize() {
+        // When / Then
+        assertThatThrownBy(() -> productService.getProductListByCursor(null, 0, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("조회 수는 1 이상이어야 합니다.");
+        verify(productRepository, never()).findByProductIdLessThanOrderByProductIdDesc(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("상품 리스트 커서 조회 실패 - 잘못된 커서")
+    void getProductListByCursor_InvalidCursor() {
+        // When / Then
+        assertThatThrownBy(() -> productService.getProductListByCursor("!!", 10, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("잘못된 커서입니다.");
+    }
+
     @Test
     @DisplayName("상품 상세 정보 조회 성공")
     void getProductDetail_Success() {
@@ -179,6 +291,7 @@ public class ProductServiceTest {
                 .thenReturn(Collections.singletonList(productOption1));
         when(imageService.findImageResponseList(eq(ImageTableEnum.PRODUCT), any(Long.class)))
                 .thenReturn(Collections.singletonList(imageResponseDto));
+        givenProductDetailCacheMiss();
 
         // When
         ProductDetailResponseDto result = productService.getProductDetail(1L);
@@ -205,16 +318,85 @@ public class ProductServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("상품 상세 정보 조회 - 캐시에 있으면 트랜잭션(DB 커넥션)을 열지 않음")
+    void getProductDetail_CacheHit() {
+        // Given
+        ProductDetailResponseDto cached = ProductDetailResponseDto.from(product1, List.of(), List.of());
+        when(productDetailCacheService.getProductDetail(eq(1L), any())).thenReturn(cached);
+
+        // When
+        ProductDetailResponseDto result = productService.getProductDetail(1L);
+
+        // Then
+        assertThat(result).isSameAs(cached);
+        verify(transactionManager, never()).getTransaction(any());
+        verify(productRepository, never()).findByProductId(anyLong());
+    }
+
+    @Test
+    @DisplayName("상품 상세 정보 조회 - 캐시에 없으면 읽기 전용 트랜잭션에서 조회")
+    void getProductDetail_CacheMissReadOnly() {
+        // Given
+        when(productRepository.findByProductId(1L)).thenReturn(Optional.of(product1));
+        when(productOptionRepository.findByProduct(product1)).thenReturn(Collections.singletonList(productOption1));
+        givenProductDetailCacheMiss();
+
+        // When
+        productService.getProductDetail(1L);
+
+        // Then
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
     @Test
     @DisplayName("상품 상세 정보 조회 실패")
     void getProductDetail_NotFound() {
         // Given
         when(productRepository.findByProductId(any(Long.class)))
                 .thenReturn(Optional.empty());
+        givenProductDetailCacheMiss();
 
         // When / Then
         assertThatThrownBy(() -> productService.getProductDetail(1L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("상품을 찾을 수 없습니다.");
     }
+
+    @Test
+    @DisplayName("상품 옵션 재고 추가 성공 - 상품에 속한 옵션만 증가")
+    void updateProductOptionStock_Success() {
+        // Given
+        ProductOptionStockRequestDto requestDto = new ProductOptionStockRequestDto();
+        ReflectionTestUtils.setField(requestDto, "stock", 5);
+        when(productOptionRepository.addStockOfProduct(1L, 1L, 5)).thenReturn(1);
+
+        // When
+        boolean result = productService.updateProductOptionStock(1L, 1L, requestDto);
+
+        // Then
+        assertThat(result).isTrue();
+        verify(redisService).addStock(1L, 1L, 5);
+    }
+
+    @Test
+    @DisplayName("상품 옵션 재고 추가 실패 - 다른 상품의 옵션")
+    void updateProductOptionStock_OptionOfOtherProduct() {
+        // Given
+        ProductOptionStockRequestDto requestDto = new ProductOptionStockRequestDto();
+        ReflectionTestUtils.setField(requestDto, "stock", 5);
+        when(productOptionRepository.addStockOfProduct(2L, 1L, 5)).thenReturn(0);
+
+        // When / Then
+        assertThatThrownBy(() -> productService.updateProductOptionStock(2L, 1L, requestDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("상품 옵션이 없습니다.");
+        verify(redisService, never()).addStock(anyLong(), anyLong(), anyInt());
+    }
+
+    // 캐시에 없는 상황: 캐시가 loader를 그대로 실행
+    private void givenProductDetailCacheMiss() {
+        when(productDetailCacheService.getProductDetail(eq(1L), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ProductDetailResponseDto>>getArgument(1).get());
+    }
 }
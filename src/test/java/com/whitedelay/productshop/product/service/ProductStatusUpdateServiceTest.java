@@ -0,0 +1,178 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductStartDateDto;
+import com.whitedelay.productshop.product.entity.ProductStatusEnum;
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStatusUpdateServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductDetailCacheService productDetailCacheService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> productIdsCaptor;
+
+    private ProductStatusUpdateService productStatusUpdateService;
+
+    private static final long RETRY_MS = 60_000L;
+
+    @BeforeEach
+    void setUp() {
+        productStatusUpdateService = new ProductStatusUpdateService(productRepository, productDetailCacheService, taskScheduler, transactionTemplate, new SimpleMeterRegistry());
+        productStatusUpdateService.initMetrics();
+        ReflectionTestUtils.setField(productStatusUpdateService, "retryMs", RETRY_MS);
+
+        lenient().doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("판매 시작 예약 - 가장 이른 판매 시작 시각에 타이머를 맞춤")
+    void register_ArmTimer() {
+        // given
+        LocalDateTime later = LocalDateTime.now().plusHours(2);
+        LocalDateTime earlier = LocalDateTime.now().plusHours(1);
+
+        // when
+        productStatusUpdateService.register(1L, later);
+        productStatusUpdateService.register(2L, earlier);
+
+        // then
+        verify(taskScheduler).schedule(any(Runnable.class), eq(toInstant(later)));
+        verify(scheduledFuture).cancel(false);
+        verify(taskScheduler).schedule(any(Runnable.class), eq(toInstant(earlier)));
+    }
+
+    @Test
+    @DisplayName("판매 시작 예약 - 이미 더 이른 타이머가 있으면 다시 맞추지 않음")
+    void register_KeepEarlierTimer() {
+        // given
+        LocalDateTime earlier = LocalDateTime.now().plusHours(1);
+        LocalDateTime later = LocalDateTime.now().plusHours(2);
+
+        // when
+        productStatusUpdateService.register(1L, earlier);
+        productStatusUpdateService.register(2L, later);
+
+        // then
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verify(taskScheduler).schedule(any(Runnable.class), eq(toInstant(earlier)));
+        verify(scheduledFuture, never()).cancel(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("판매 시작 예약 적재 - 서버 시작 시 DB의 판매 시작 전 상품으로 타이머를 맞춤")
+    void reload_Success() {
+        // given
+        LocalDateTime earlier = LocalDateTime.now().plusMinutes(10);
+        LocalDateTime later = LocalDateTime.now().plusMinutes(20);
+        when(productRepository.findStartDatesByProductStatus(ProductStatusEnum.COMING_SOON)).thenReturn(List.of(
+                new ProductStartDateDto(2L, later),
+                new ProductStartDateDto(1L, earlier)));
+
+        // when
+        productStatusUpdateService.reload();
+
+        // then
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), eq(toInstant(earlier)));
+    }
+
+    @Test
+    @DisplayName("상품 판매 시작 - 시각이 지난 상품만 한 번에 바꾸고 캐시 무효화 후 다음 타이머를 맞춤")
+    void activateDueProducts_Success() {
+        // given
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime future = LocalDateTime.now().plusHours(1);
+        productStatusUpdateService.register(1L, past);
+        productStatusUpdateService.register(2L, past);
+        productStatusUpdateService.register(3L, future);
+        when(productRepository.updateProductStatus(anyCollection(), eq(ProductStatusEnum.COMING_SOON), eq(ProductStatusEnum.AVAILABLE), any(LocalDateTime.class))).thenReturn(2);
+
+        // when
+        productStatusUpdateService.activateDueProducts();
+
+        // then
+        verify(productRepository).updateProductStatus(productIdsCaptor.capture(), eq(ProductStatusEnum.COMING_SOON), eq(ProductStatusEnum.AVAILABLE), any(LocalDateTime.class));
+        assertThat(productIdsCaptor.getValue()).containsExactlyInAnyOrder(1L, 2L);
+        verify(productDetailCacheService).evict(productIdsCaptor.getValue());
+        verify(taskScheduler).schedule(any(Runnable.class), eq(toInstant(future)));
+    }
+
+    @Test
+    @DisplayName("상품 판매 시작 - 다른 노드가 먼저 바꿨으면 캐시 무효화와 이벤트 발행을 하지 않음")
+    void activateDueProducts_AlreadyActivated() {
+        // given
+        productStatusUpdateService.register(1L, LocalDateTime.now().minusMinutes(1));
+        when(productRepository.updateProductStatus(anyCollection(), any(), any(), any())).thenReturn(0);
+
+        // when
+        productStatusUpdateService.activateDueProducts();
+
+        // then
+        verify(productRepository).updateProductStatus(eq(List.of(1L)), eq(ProductStatusEnum.COMING_SOON), eq(ProductStatusEnum.AVAILABLE), any(LocalDateTime.class));
+        verify(productDetailCacheService, never()).evict(anyCollection());
+    }
+
+    @Test
+    @DisplayName("상품 판매 시작 실패 - 실패한 상품은 재시도 간격 뒤로 다시 예약")
+    void activateDueProducts_Failure_Retry() {
+        // given
+        productStatusUpdateService.register(1L, LocalDateTime.now().minusMinutes(1));
+        productStatusUpdateService.register(2L, LocalDateTime.now().plusHours(1));
+        when(productRepository.updateProductStatus(anyCollection(), any(), any(), any())).thenThrow(new RuntimeException("db down"));
+
+        // when
+        Instant before = Instant.now();
+        productStatusUpdateService.activateDueProducts();
+        Instant after = Instant.now();
+
+        // then
+        verify(productDetailCacheService, never()).evict(anyCollection());
+        ArgumentCaptor<Instant> armedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), armedAt.capture());
+        assertThat(armedAt.getValue())
+                .isAfterOrEqualTo(before.plusMillis(RETRY_MS).minusSeconds(1))
+                .isBeforeOrEqualTo(after.plusMillis(RETRY_MS).plusSeconds(1));
+    }
+
+    private Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
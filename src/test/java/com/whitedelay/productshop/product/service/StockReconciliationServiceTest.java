@@ -0,0 +1,202 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductOptionStockDto;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import com.whitedelay.productshop.redis.service.RedisService;
+import com.whitedelay.productshop.redis.service.SoldOutCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReconciliationServiceTest {
+
+    private static final String STOCK_KEY = "test:1-1-stock";
+    private static final String RESERVED_KEY = "test:stock-reserved";
+    private static final String DRIFT_KEY = "test:stock-drift";
+    private static final String LOCK_KEY = "test:stock-reconcile-lock";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private ProductOptionRepository productOptionRepository;
+
+    @Mock
+    private SoldOutCacheService soldOutCacheService;
+
+    private StockReconciliationService stockReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        stockReconciliationService = new StockReconciliationService(redisTemplate, redisService, productOptionRepository,
+                new NodeIdentity("node-1"), soldOutCacheService, new SimpleMeterRegistry());
+        stockReconciliationService.initMetrics();
+        ReflectionTestUtils.setField(stockReconciliationService, "productNamespace", "test");
+        ReflectionTestUtils.setField(stockReconciliationService, "chunkSize", 500);
+        ReflectionTestUtils.setField(stockReconciliationService, "lockMs", 600000L);
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(redisService.getStockKey(1L, 1L)).thenReturn(STOCK_KEY);
+        lenient().when(redisService.getReservedStockKey()).thenReturn(RESERVED_KEY);
+        lenient().when(valueOperations.setIfAbsent(LOCK_KEY, "node-1", Duration.ofMillis(600000L))).thenReturn(true);
+        lenient().when(valueOperations.get(LOCK_KEY)).thenReturn("node-1");
+    }
+
+    // MySQL 재고 10, 저장 대기 2, 노드 보유 리스 3 → Redis 기대값 5
+    private void givenStocks(String redisStock, String previousDrift) {
+        when(productOptionRepository.findStocksAfter(0L, PageRequest.of(0, 500)))
+                .thenReturn(List.of(new ProductOptionStockDto(1L, 1L, 10)));
+        when(productOptionRepository.findStocksAfter(1L, PageRequest.of(0, 500))).thenReturn(List.of());
+        when(redisService.getAllHeldStocks()).thenReturn(Map.of(STOCK_KEY, 3L));
+        when(valueOperations.multiGet(List.of(STOCK_KEY))).thenReturn(List.of(redisStock));
+        when(hashOperations.multiGet(RESERVED_KEY, List.of(STOCK_KEY))).thenReturn(List.of("2"));
+        when(hashOperations.multiGet(DRIFT_KEY, List.of(STOCK_KEY))).thenReturn(Arrays.asList(previousDrift));
+    }
+
+    @Test
+    @DisplayName("재고 정합성 확인 - 기대값(MySQL - 저장 대기 - 보유 리스)과 같으면 차이 기록 삭제")
+    void reconcile_NoDrift() {
+        // given
+        givenStocks("5", null);
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(hashOperations, never()).putAll(eq(DRIFT_KEY), anyMap());
+        verify(hashOperations).delete(DRIFT_KEY, STOCK_KEY);
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+        verify(redisTemplate).delete(LOCK_KEY);
+    }
+
+    @Test
+    @DisplayName("재고 정합성 확인 - 처음 발견한 차이는 기록만 하고 보정하지 않음")
+    void reconcile_FirstDrift_Recorded() {
+        // given
+        ReflectionTestUtils.setField(stockReconciliationService, "autoCorrect", true);
+        givenStocks("7", null);
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(hashOperations).putAll(DRIFT_KEY, Map.of(STOCK_KEY, "2"));
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("재고 자동 보정 - 두 번 연속 같은 차이면 차이만큼 INCRBY로 보정")
+    void reconcile_ConfirmedDrift_Corrected() {
+        // given
+        ReflectionTestUtils.setField(stockReconciliationService, "autoCorrect", true);
+        givenStocks("7", "2");
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(valueOperations).increment(STOCK_KEY, -2L);
+        verify(hashOperations).delete(DRIFT_KEY, STOCK_KEY);
+        verify(soldOutCacheService, never()).publishRestocks(anyList());
+    }
+
+    @Test
+    @DisplayName("재고 자동 보정 - 재고가 적게 보정되면 늘려 보정하고 품절 해제를 알림")
+    void reconcile_ConfirmedNegativeDrift_Restocked() {
+        // given
+        ReflectionTestUtils.setField(stockReconciliationService, "autoCorrect", true);
+        givenStocks("4", "-1");
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(valueOperations).increment(STOCK_KEY, 1L);
+        verify(soldOutCacheService).publishRestocks(List.of(STOCK_KEY));
+    }
+
+    @Test
+    @DisplayName("재고 자동 보정 - 이전 차이와 다르면(진행 중인 차감) 보정하지 않고 새 차이만 기록")
+    void reconcile_ChangedDrift_NotCorrected() {
+        // given
+        ReflectionTestUtils.setField(stockReconciliationService, "autoCorrect", true);
+        givenStocks("7", "1");
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+        verify(hashOperations).putAll(DRIFT_KEY, Map.of(STOCK_KEY, "2"));
+    }
+
+    @Test
+    @DisplayName("재고 자동 보정 꺼짐 - 같은 차이가 반복돼도 기록만 함")
+    void reconcile_AutoCorrectDisabled() {
+        // given
+        givenStocks("7", "2");
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+        verify(hashOperations).putAll(DRIFT_KEY, Map.of(STOCK_KEY, "2"));
+    }
+
+    @Test
+    @DisplayName("재고 정합성 확인 - 다른 노드가 락을 잡고 있으면 확인하지 않음")
+    void reconcile_LockedByOtherNode() {
+        // given
+        when(valueOperations.setIfAbsent(LOCK_KEY, "node-1", Duration.ofMillis(600000L))).thenReturn(false);
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verifyNoInteractions(productOptionRepository);
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("재고 정합성 확인 - 락이 만료돼 다른 노드가 가져갔으면 락을 지우지 않음")
+    void reconcile_LockExpired_NotReleased() {
+        // given
+        givenStocks("5", null);
+        when(valueOperations.get(LOCK_KEY)).thenReturn("node-2");
+
+        // when
+        stockReconciliationService.reconcile();
+
+        // then
+        verify(redisTemplate, never()).delete(anyString());
+    }
+}
@@ -0,0 +1,223 @@
+package com.whitedelay.productshop.product.service;
+
+import com.whitedelay.productshop.product.dto.ProductOptionStockDto;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import com.whitedelay.productshop.redis.service.RedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockWarmupServiceTest {
+
+    private static final String RESERVED_KEY = "test:stock-reserved";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private ProductOptionRepository productOptionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StockWarmupService stockWarmupService;
+
+    // 페이지별 파이프라인 SET NX 결과
+    private final List<List<Object>> setResults = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        stockWarmupService = new StockWarmupService(redisTemplate, redisService, productOptionRepository, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(stockWarmupService, "pageSize", 2);
+        ReflectionTestUtils.setField(stockWarmupService, "warmupOnStartup", true);
+        stockWarmupService.initMetrics();
+
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        lenient().when(redisService.getReservedStockKey()).thenReturn(RESERVED_KEY);
+        lenient().when(redisService.getStockKey(anyLong(), anyLong()))
+                .thenAnswer(invocation -> "test:" + invocation.getArgument(0) + "-" + invocation.getArgument(1) + "-stock");
+        // 파이프라인 콜백을 모의 커넥션으로 실행하고 페이지 순서대로 SET NX 결과 반환
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return setResults.remove(0);
+        });
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void verifySetIfAbsent(String stockKey, String stock) {
+        verify(stringCommands).set(eq(bytes(stockKey)), eq(bytes(stock)), any(Expiration.class), eq(RedisStringCommands.SetOption.ifAbsent()));
+    }
+
+    // 옵션 1, 2(1페이지)와 옵션 3(2페이지)
+    private void givenStockPages() {
+        when(productOptionRepository.findStocksAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new ProductOptionStockDto(1L, 1L, 10),
+                new ProductOptionStockDto(2L, 1L, 5)));
+        when(productOptionRepository.findStocksAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new ProductOptionStockDto(3L, 2L, 1)));
+        when(productOptionRepository.findStocksAfter(3L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(hashOperations.multiGet(RESERVED_KEY, List.of("test:1-1-stock", "test:1-2-stock"))).thenReturn(Arrays.asList("2", null));
+        when(hashOperations.multiGet(RESERVED_KEY, List.of("test:2-3-stock"))).thenReturn(Arrays.asList("3"));
+        when(redisService.getAllHeldStocks()).thenReturn(Map.of("test:1-1-stock", 3L));
+    }
+
+    @Test
+    @DisplayName("재고 적재 - 옵션 아이디 순서로 페이지를 나눠 읽고 페이지마다 파이프라인 SET NX로 적재")
+    void warmup_Paging() {
+        // given
+        givenStockPages();
+        setResults.add(List.of(true, false));
+        setResults.add(List.of(true));
+
+        // when
+        long loaded = stockWarmupService.warmup();
+
+        // then
+        assertThat(loaded).isEqualTo(2);
+        verify(productOptionRepository).findStocksAfter(0L, PageRequest.of(0, 2));
+        verify(productOptionRepository).findStocksAfter(2L, PageRequest.of(0, 2));
+        verify(productOptionRepository).findStocksAfter(3L, PageRequest.of(0, 2));
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        verify(stringCommands, times(3)).set(any(byte[].class), any(byte[].class), any(Expiration.class), eq(RedisStringCommands.SetOption.ifAbsent()));
+    }
+
+    @Test
+    @DisplayName("재고 적재 - MySQL 재고에서 저장 대기 재고와 노드 보유 리스를 빼고, 음수는 0으로 적재")
+    void warmup_SubtractReservedAndHeld() {
+        // given
+        givenStockPages();
+        setResults.add(List.of(true, true));
+        setResults.add(List.of(true));
+
+        // when
+        stockWarmupService.warmup();
+
+        // then
+        // 옵션 1: 10 - 저장 대기 2 - 보유 리스 3
+        verifySetIfAbsent("test:1-1-stock", "5");
+        // 옵션 2: 저장 대기/보유 리스 없음
+        verifySetIfAbsent("test:1-2-stock", "5");
+        // 옵션 3: 1 - 저장 대기 3 = -2 → 0
+        verifySetIfAbsent("test:2-3-stock", "0");
+    }
+
+    @Test
+    @DisplayName("재고 적재 실패 - 이미 적재 중이면 409")
+    void warmup_AlreadyRunning() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(redisService.getAllHeldStocks()).thenReturn(Map.of());
+        when(productOptionRepository.findStocksAfter(0L, PageRequest.of(0, 2))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        Thread first = new Thread(stockWarmupService::warmup);
+        first.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when / then
+        try {
+            assertThatThrownBy(() -> stockWarmupService.warmup())
+                    .isInstanceOf(ResponseStatusException.class)
+                    .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        } finally {
+            release.countDown();
+            first.join(5000);
+        }
+        // 앞의 적재가 끝나면 다시 적재할 수 있음
+        assertThat(stockWarmupService.warmup()).isZero();
+    }
+
+    @Test
+    @DisplayName("서버 시작 시 재고 적재 - 적재 전에 readiness를 REFUSING_TRAFFIC으로 발행")
+    void warmupOnStartup_RefusingTraffic() {
+        // given
+        when(redisService.getAllHeldStocks()).thenReturn(Map.of());
+        when(productOptionRepository.findStocksAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        // when
+        stockWarmupService.warmupOnStartup();
+
+        // then
+        var inOrder = inOrder(eventPublisher, productOptionRepository);
+        inOrder.verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> event instanceof AvailabilityChangeEvent<?> change
+                && change.getState() == ReadinessState.REFUSING_TRAFFIC));
+        inOrder.verify(productOptionRepository).findStocksAfter(0L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("서버 시작 시 재고 적재 - 적재에 실패해도 예외를 던지지 않음")
+    void warmupOnStartup_Failure() {
+        // given
+        when(redisService.getAllHeldStocks()).thenThrow(new IllegalStateException("redis down"));
+
+        // when
+        stockWarmupService.warmupOnStartup();
+
+        // then
+        verify(productOptionRepository, never()).findStocksAfter(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("서버 시작 시 재고 적재 - 설정으로 끄면 적재하지 않고 readiness도 바꾸지 않음")
+    void warmupOnStartup_Disabled() {
+        // given
+        ReflectionTestUtils.setField(stockWarmupService, "warmupOnStartup", false);
+
+        // when
+        stockWarmupService.warmupOnStartup();
+
+        // then
+        verifyNoInteractions(eventPublisher, productOptionRepository);
+    }
+}
@@ -0,0 +1,64 @@
+package com.whitedelay.productshop.queue.controller;
+
+import com.whitedelay.productshop.queue.dto.AdmissionTicketResponseDto;
+import com.whitedelay.productshop.queue.service.AdmissionQueueService;
+import com.whitedelay.productshop.security.UserDetails.UserDetailsImpl;
+import com.whitedelay.productshop.util.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionQueueControllerTest {
+
+    @InjectMocks
+    private AdmissionQueueController admissionQueueController;
+
+    @Mock
+    private AdmissionQueueService admissionQueueService;
+
+    @Mock
+    private UserDetailsImpl userDetails;
+
+    @Test
+    @DisplayName("판매 대기열 입장 - 대기 순번 반환")
+    void enterQueue_Waiting() {
+        // Given
+        when(userDetails.getMember()).thenReturn(null);
+        when(admissionQueueService.enterQueue(any(), eq(1L)))
+                .thenReturn(AdmissionTicketResponseDto.waiting(1L, 3L));
+
+        // When
+        ApiResponse<AdmissionTicketResponseDto> response = admissionQueueController.enterQueue(userDetails, 1L);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(response.getData().isAdmitted()).isFalse();
+        assertThat(response.getData().getPosition()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("대기 순번 조회 - 입장 토큰 반환")
+    void getTicket_Admitted() {
+        // Given
+        when(userDetails.getMember()).thenReturn(null);
+        when(admissionQueueService.getTicket(any(), eq(1L)))
+                .thenReturn(AdmissionTicketResponseDto.admitted(1L, "token"));
+
+        // When
+        ApiResponse<AdmissionTicketResponseDto> response = admissionQueueController.getTicket(userDetails, 1L);
+
+        // Then
+        assertThat(response.getData().isAdmitted()).isTrue();
+        assertThat(response.getData().getAdmissionToken()).isEqualTo("token");
+        assertThat(response.getData().getPosition()).isNull();
+    }
+}
@@ -0,0 +1,247 @@
+package com.whitedelay.productshop.redis.service;
+
+import com.whitedelay.productshop.order.dto.DetuctedProductInfo;
+import com.whitedelay.productshop.product.repository.ProductOptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisServiceTest {
+
+    private static final String STOCK_KEY = "test:1-1-stock";
+    private static final String NODES_KEY = "test:stock-lease-nodes";
+
+    @InjectMocks
+    private RedisService redisService;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ProductOptionRepository productOptionRepository;
+
+    @Mock
+    private SoldOutCacheService soldOutCacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(redisService, "productNamespace", "test");
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(soldOutCacheService.getChannel()).thenReturn("test:stock-events");
+    }
+
+    // MySQL 재고 10, 저장 대기 2, node-1 보유 리스 3(node-2는 이 옵션의 리스 없음) → 적재 값 5
+    private void givenHydrationSource() {
+        when(hashOperations.get("test:stock-reserved", STOCK_KEY)).thenReturn("2");
+        when(zSetOperations.rangeByScore(eq(NODES_KEY), anyDouble(), eq(Double.POSITIVE_INFINITY)))
+                .thenReturn(new LinkedHashSet<>(List.of("node-1", "node-2")));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(Arrays.asList("3", null));
+    }
+
+    private void givenMysqlStock() {
+        when(productOptionRepository.findStockByProductIdAndProductOptionId(1L, 1L)).thenReturn(Optional.of(10));
+    }
+
+    @Test
+    @DisplayName("재고 적재 - MySQL 재고에서 저장 대기 재고와 유효한 노드의 보유 리스만 빼서 SET NX")
+    void hydrateStock_Success() {
+        // given
+        givenMysqlStock();
+        givenHydrationSource();
+
+        // when
+        redisService.hydrateStock(1L, 1L);
+
+        // then
+        verify(valueOperations).setIfAbsent(STOCK_KEY, "5");
+        // 전체 보유 리스를 읽거나 키 공간을 SCAN하지 않음
+        verify(redisTemplate, never()).scan(any());
+        verify(hashOperations, never()).entries(anyString());
+    }
+
+    @Test
+    @DisplayName("재고 적재 - 저장 대기 재고와 보유 리스를 MySQL 재고보다 먼저 읽어 경합 시 많게 적재되지 않음")
+    void hydrateStock_ReadReservedBeforeMysql() {
+        // given
+        givenMysqlStock();
+        givenHydrationSource();
+
+        // when
+        redisService.hydrateStock(1L, 1L);
+
+        // then
+        var inOrder = inOrder(hashOperations, redisTemplate, productOptionRepository, valueOperations);
+        inOrder.verify(hashOperations).get("test:stock-reserved", STOCK_KEY);
+        inOrder.verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        inOrder.verify(productOptionRepository).findStockByProductIdAndProductOptionId(1L, 1L);
+        inOrder.verify(valueOperations).setIfAbsent(STOCK_KEY, "5");
+    }
+
+    @Test
+    @DisplayName("재고 적재 - 보유 리스를 기록한 노드가 없으면 파이프라인 없이 적재")
+    void hydrateStock_NoLeaseNodes() {
+        // given
+        givenMysqlStock();
+        when(zSetOperations.rangeByScore(eq(NODES_KEY), anyDouble(), eq(Double.POSITIVE_INFINITY))).thenReturn(Set.of());
+
+        // when
+        redisService.hydrateStock(1L, 1L);
+
+        // then
+        verify(valueOperations).setIfAbsent(STOCK_KEY, "10");
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("재고 차감 - 재고 키가 없으면 적재 후 한 번 더 시도")
+    @SuppressWarnings("unchecked")
+    void deductStock_HydrateAndRetry() {
+        // given
+        givenMysqlStock();
+        givenHydrationSource();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("2"), eq("test:stock-events")))
+                .thenReturn(RedisService.STOCK_KEY_MISSING, 1L);
+
+        // when
+        boolean result = redisService.deductStock(1L, 1L, 2);
+
+        // then
+        assertThat(result).isTrue();
+        var inOrder = inOrder(redisTemplate, valueOperations);
+        inOrder.verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("2"), eq("test:stock-events"));
+        inOrder.verify(valueOperations).setIfAbsent(STOCK_KEY, "5");
+        inOrder.verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("2"), eq("test:stock-events"));
+    }
+
+    @Test
+    @DisplayName("재고 적재 - 같은 키를 동시에 적재하면 DB는 한 번만 조회하고 나머지는 결과를 기다림")
+    void hydrateStock_SingleFlight() throws Exception {
+        // given
+        givenHydrationSource();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productOptionRepository.findStockByProductIdAndProductOptionId(1L, 1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(10);
+        });
+
+        Thread first = new Thread(() -> redisService.hydrateStock(1L, 1L));
+        Thread second = new Thread(() -> redisService.hydrateStock(1L, 1L));
+
+        // when
+        first.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        second.start();
+        // 두 번째 요청이 진행 중인 적재를 기다릴 때까지 대기
+        long deadline = System.currentTimeMillis() + 5000;
+        while (second.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        // then
+        verify(productOptionRepository, times(1)).findStockByProductIdAndProductOptionId(1L, 1L);
+        verify(valueOperations, times(1)).setIfAbsent(STOCK_KEY, "5");
+    }
+
+    @Test
+    @DisplayName("재고 복원 - 재고 키가 없는 옵션은 복원하지 않고 복원한 옵션만 재입고 이벤트 발행")
+    @SuppressWarnings("unchecked")
+    void deductRollbackStocks_SkipMissingKey() {
+        // given
+        List<DetuctedProductInfo> stockList = List.of(
+                DetuctedProductInfo.builder().productId(1L).productOptionId(1L).productOptionStock(2).build(),
+                DetuctedProductInfo.builder().productId(1L).productOptionId(2L).productOptionStock(3).build()
+        );
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY, "test:1-2-stock")), eq("2"), eq("3")))
+                .thenReturn(List.of(7L, RedisService.STOCK_KEY_MISSING));
+
+        // when
+        redisService.deductRollbackStocks(stockList);
+
+        // then
+        verify(soldOutCacheService).publishRestocks(List.of(STOCK_KEY));
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("재고 복원 - 재고 키가 없으면 재입고 이벤트를 발행하지 않음")
+    @SuppressWarnings("unchecked")
+    void deductRollbackStock_MissingKey() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("2")))
+                .thenReturn(List.of(RedisService.STOCK_KEY_MISSING));
+
+        // when
+        redisService.deductRollbackStock(1L, 1L, 2);
+
+        // then
+        verify(soldOutCacheService, never()).publishRestocks(anyList());
+    }
+
+    @Test
+    @DisplayName("관리자 재고 추가 - 재고 키가 있으면 추가하고 재입고 이벤트 발행")
+    @SuppressWarnings("unchecked")
+    void addStock_Success() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("5")))
+                .thenReturn(List.of(8L));
+
+        // when
+        redisService.addStock(1L, 1L, 5);
+
+        // then
+        verify(soldOutCacheService).publishRestock(STOCK_KEY);
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("관리자 재고 추가 - 재고 키가 없으면 키를 만들지 않고 품절/재입고 이벤트도 발행하지 않음")
+    @SuppressWarnings("unchecked")
+    void addStock_MissingKey() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("5")))
+                .thenReturn(List.of(RedisService.STOCK_KEY_MISSING));
+
+        // when
+        redisService.addStock(1L, 1L, 5);
+
+        // then
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+        verify(soldOutCacheService, never()).publishSoldOut(anyString());
+        verify(soldOutCacheService, never()).publishRestock(anyString());
+    }
+}
@@ -0,0 +1,104 @@
+package com.whitedelay.productshop.redis.service;
+
+import com.whitedelay.productshop.redis.config.NodeIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLeaseServiceTest {
+
+    private static final String STOCK_KEY = "test:1-1-stock";
+    private static final String NODE_ID = "node-1";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private SoldOutCacheService soldOutCacheService;
+
+    private StockLeaseService stockLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        stockLeaseService = new StockLeaseService(redisTemplate, redisService, new NodeIdentity(NODE_ID), soldOutCacheService);
+        ReflectionTestUtils.setField(stockLeaseService, "productNamespace", "test");
+        ReflectionTestUtils.setField(stockLeaseService, "leaseLowWater", 100);
+        ReflectionTestUtils.setField(stockLeaseService, "leaseSyncMs", 1000L);
+
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(redisService.getStockKey(1L, 1L)).thenReturn(STOCK_KEY);
+    }
+
+    // 리스 크기 10으로 설정 후 1개 주문 → Redis에서 10개를 가져와 9개 보유
+    private void leaseNine() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("1"), eq("10"), eq("100"))).thenReturn(10L);
+        stockLeaseService.updateLeaseSize(1L, 1L, 10);
+        assertThat(stockLeaseService.deductStock(1L, 1L, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("리스 반납 - 재고 키가 있으면 남은 리스를 Redis 재고로 반납")
+    void returnLease_Success() {
+        // given
+        leaseNine();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("9"))).thenReturn(109L);
+
+        // when
+        stockLeaseService.updateLeaseSize(1L, 1L, 0);
+
+        // then
+        verify(redisService).removeHeldStock(NODE_ID, STOCK_KEY);
+        verify(soldOutCacheService).publishRestocks(List.of(STOCK_KEY));
+    }
+
+    @Test
+    @DisplayName("리스 반납 - 재고 키가 없으면 반납하지 않고 보유 리스만 지움")
+    void returnLease_StockKeyMissing() {
+        // given
+        leaseNine();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("9"))).thenReturn(RedisService.STOCK_KEY_MISSING);
+
+        // when
+        stockLeaseService.updateLeaseSize(1L, 1L, 0);
+
+        // then
+        verify(redisService).removeHeldStock(NODE_ID, STOCK_KEY);
+        verify(soldOutCacheService, never()).publishRestocks(anyCollection());
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    @DisplayName("서버 종료 시 리스 반납 - 재고 키가 없는 옵션은 반납하지 않음")
+    void returnAllLeases_StockKeyMissing() {
+        // given
+        leaseNine();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(STOCK_KEY)), eq("9"))).thenReturn(RedisService.STOCK_KEY_MISSING);
+
+        // when
+        stockLeaseService.returnAllLeases();
+
+        // then
+        verify(redisService).removeHeldStocks(NODE_ID);
+        verify(soldOutCacheService).publishRestocks(List.of());
+        verify(redisTemplate, never()).opsForValue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.whitedelay.productshop.wishlist.service;
+
+import com.whitedelay.productshop.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WishlistCountServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private WishlistCountService wishlistCountService;
+
+    @BeforeEach
+    void setUp() {
+        wishlistCountService = new WishlistCountService(productRepository, transactionTemplate, new SimpleMeterRegistry());
+        wishlistCountService.initMetrics();
+        ReflectionTestUtils.setField(wishlistCountService, "recomputeChunkSize", 1000);
+
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("위시리스트 수 반영 - 상품별 변화량을 합쳐 한 번에 반영")
+    void flush_Success() {
+        // given
+        wishlistCountService.increment(1L);
+        wishlistCountService.increment(1L);
+        wishlistCountService.increment(2L);
+        wishlistCountService.decrement(2L);
+        wishlistCountService.decrement(3L);
+
+        // when
+        wishlistCountService.flush();
+        wishlistCountService.flush();
+
+        // then
+        verify(productRepository, times(1)).addWishlistCounts(Map.of(1L, 2, 3L, -1));
+    }
+
+    @Test
+    @DisplayName("위시리스트 수 반영 실패 - 변화량을 다시 쌓아 다음 주기에 반영")
+    void flush_Failure_Retry() {
+        // given
+        wishlistCountService.increment(1L);
+        doThrow(new RuntimeException("db down")).doNothing().when(productRepository).addWishlistCounts(anyMap());
+
+        // when
+        wishlistCountService.flush();
+        wishlistCountService.increment(1L);
+        wishlistCountService.flush();
+
+        // then
+        verify(productRepository, times(1)).addWishlistCounts(Map.of(1L, 2));
+    }
+
+    @Test
+    @DisplayName("위시리스트 수 다시 계산 - 쌓인 변화량을 먼저 반영하고 상품 아이디 범위별로 계산")
+    void recompute_Success() {
+        // given
+        wishlistCountService.increment(1L);
+        when(productRepository.findMaxProductId()).thenReturn(2500L);
+        when(productRepository.recomputeWishlistCounts(anyLong(), anyLong())).thenReturn(1);
+
+        // when
+        wishlistCountService.recompute();
+
+        // then
+        var inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).addWishlistCounts(Map.of(1L, 1));
+        inOrder.verify(productRepository).findMaxProductId();
+        inOrder.verify(productRepository).recomputeWishlistCounts(0L, 1000L);
+        inOrder.verify(productRepository).recomputeWishlistCounts(1000L, 2000L);
+        inOrder.verify(productRepository).recomputeWishlistCounts(2000L, 2500L);
+        verifyNoMoreInteractions(productRepository);
+    }
+}
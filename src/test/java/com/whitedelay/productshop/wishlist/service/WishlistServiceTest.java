@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -38,6 +39,9 @@ class WishlistServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private WishlistCountService wishlistCountService;
+
     private Member member;
     private Product product1;
     private Product product2;
@@ -86,9 +90,9 @@ class WishlistServiceTest {
         // then
         assertAll(
                 () -> assertThat(result).isTrue(),
-                () -> assertThat(product1.getProductWishlistCount()).isEqualTo(1),
-                () -> verify(wishlistRepository).save(any(Wishlist.class)),
-                () -> verify(productRepository).save(product1)
+                () -> verify(wishlistRepository).saveAndFlush(any(Wishlist.class)),
+                () -> verify(wishlistCountService).increment(product1.getProductId()),
+                () -> verify(productRepository, never()).save(any(Product.class))
         );
     }
 
@@ -103,14 +107,47 @@ class WishlistServiceTest {
         assertThatThrownBy(() -> wishlistService.createWishlistWish(member, product1.getProductId()))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("이미 등록되어있는 상품입니다.");
+        verify(wishlistCountService, never()).increment(anyLong());
+    }
+
+    @Test
+    @DisplayName("위시리스트 상품 추가 실패 - 동시에 추가되어 유니크 제약 위반")
+    void createWishlistWish_DuplicateInsert() {
+        // given
+        when(productRepository.findByProductId(product1.getProductId())).thenReturn(Optional.of(product1));
+        when(wishlistRepository.existsByMemberMemberIdAndProductProductId(member.getMemberId(), product1.getProductId())).thenReturn(false);
+        when(wishlistRepository.saveAndFlush(any(Wishlist.class))).thenThrow(new DataIntegrityViolationException("uk_wishlist_member_product"));
+
+        // when & then
+        assertThatThrownBy(() -> wishlistService.createWishlistWish(member, product1.getProductId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("이미 등록되어있는 상품입니다.");
+        verify(wishlistCountService, never()).increment(anyLong());
     }
 
     @Test
     @DisplayName("위시리스트 상품 삭제")
     void deleteWishlistWish_Success() {
         // given
-        when(productRepository.findByProductId(product1.getProductId())).thenReturn(Optional.of(product1));
-        when(wishlistRepository.findByMemberMemberIdAndProductProductId(member.getMemberId(), product1.getProductId())).thenReturn(Optional.of(wishlist1));
+        when(productRepository.existsById(product1.getProductId())).thenReturn(true);
+        when(wishlistRepository.deleteByMemberIdAndProductId(member.getMemberId(), product1.getProductId())).thenReturn(1);
+
+        // when
+        boolean result = wishlistService.deleteWishlistWish(member, product1.getProductId());
+
+        // then
+        assertAll(
+                () -> assertThat(result).isTrue(),
+                () -> verify(wishlistCountService).decrement(product1.getProductId())
+        );
+    }
+
+    @Test
+    @DisplayName("위시리스트 상품 삭제 - 위시리스트에 없는 상품은 위시리스트 수를 줄이지 않음")
+    void deleteWishlistWish_NotWished() {
+        // given
+        when(productRepository.existsById(product1.getProductId())).thenReturn(true);
+        when(wishlistRepository.deleteByMemberIdAndProductId(member.getMemberId(), product1.getProductId())).thenReturn(0);
 
         // when
         boolean result = wishlistService.deleteWishlistWish(member, product1.getProductId());
@@ -118,7 +155,7 @@ class WishlistServiceTest {
         // then
         assertAll(
                 () -> assertThat(result).isTrue(),
-                () -> verify(wishlistRepository).delete(wishlist1)
+                () -> verify(wishlistCountService, never()).decrement(anyLong())
         );
     }
 
@@ -126,7 +163,7 @@ class WishlistServiceTest {
     @DisplayName("위시리스트 상품 삭제 실패 - 상품이 존재하지 않음")
     void deleteWishlistWish_ProductNotFound() {
         // given
-        when(productRepository.findByProductId(product1.getProductId())).thenReturn(Optional.empty());
+        when(productRepository.existsById(product1.getProductId())).thenReturn(false);
 
         // when & then
         assertThatThrownBy(() -> wishlistService.deleteWishlistWish(member, product1.getProductId()))